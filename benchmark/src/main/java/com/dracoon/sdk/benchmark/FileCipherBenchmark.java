@@ -0,0 +1,165 @@
+package com.dracoon.sdk.benchmark;
+
+import java.security.Provider;
+import java.security.Security;
+import java.util.Random;
+
+import com.dracoon.sdk.crypto.Crypto;
+import com.dracoon.sdk.crypto.model.PlainFileKey;
+import com.dracoon.sdk.internal.crypto.FileCipherFactory;
+import com.dracoon.sdk.internal.crypto.FileDecryptor;
+import com.dracoon.sdk.internal.crypto.FileEncryptor;
+
+/**
+ * This class compares the throughput of the file ciphers: The implementation of the crypto SDK
+ * (default) and the JCE implementation of the JVM (see
+ * {@link com.dracoon.sdk.DracoonClient.Builder#fileCipherProvider(Provider)}).<br>
+ * <br>
+ * The content is processed like in a transfer: Chunk by chunk, in place in a reused buffer. Both
+ * implementations are warmed up first (so that the JIT compiler has compiled the cipher code).
+ * Then, each chunk size is measured several times. The best run is reported.<br>
+ * <br>
+ * Usage (the SDK and its dependencies must be on the class path):<br>
+ * <code>java com.dracoon.sdk.benchmark.FileCipherBenchmark [data size in MiB]</code>
+ */
+public class FileCipherBenchmark {
+
+    private static final int KIB = 1024;
+    private static final int MIB = 1024 * KIB;
+
+    private static final int[] CHUNK_SIZES = {64 * KIB, 256 * KIB, 1 * MIB, 4 * MIB, 16 * MIB};
+
+    private static final int DEFAULT_DATA_SIZE = 64 * MIB;
+    private static final long WARM_UP_TIME = 5000000000L;
+    private static final int WARM_UP_CHUNK_SIZE = 1 * MIB;
+    private static final int WARM_UP_CHUNK_COUNT = 8;
+    private static final int MEASURED_RUNS = 3;
+
+    public static void main(String[] args) throws Exception {
+        long dataSize = args.length > 0 ? Long.parseLong(args[0]) * MIB : DEFAULT_DATA_SIZE;
+
+        FileCipherFactory sdkFactory = FileCipherFactory.create(null);
+        FileCipherFactory jceFactory = FileCipherFactory.create(Security.getProvider("SunJCE"));
+
+        System.out.println(String.format("Data size: %d MiB, Java: %s", dataSize / MIB,
+                System.getProperty("java.version")));
+        warmUp(sdkFactory, jceFactory);
+        System.out.println();
+        System.out.println(String.format("%-10s | %12s | %12s | %12s | %12s", "Chunk size",
+                "SDK enc MB/s", "JCE enc MB/s", "SDK dec MB/s", "JCE dec MB/s"));
+
+        for (int chunkSize : CHUNK_SIZES) {
+            byte[] chunk = createChunk(chunkSize);
+            long chunkCount = Math.max(1L, dataSize / chunkSize);
+            PlainFileKey plainFileKey = Crypto.generateFileKey();
+            byte[] tag = computeTag(jceFactory, plainFileKey, chunk, chunkCount);
+
+            double sdkEnc = measure(() -> encrypt(sdkFactory, plainFileKey, chunk, chunkCount),
+                    chunkSize, chunkCount);
+            double jceEnc = measure(() -> encrypt(jceFactory, plainFileKey, chunk, chunkCount),
+                    chunkSize, chunkCount);
+            double sdkDec = measure(() -> decrypt(sdkFactory, plainFileKey, tag, chunk,
+                    chunkCount), chunkSize, chunkCount);
+            double jceDec = measure(() -> decrypt(jceFactory, plainFileKey, tag, chunk,
+                    chunkCount), chunkSize, chunkCount);
+
+            System.out.println(String.format("%-10s | %12.1f | %12.1f | %12.1f | %12.1f",
+                    formatSize(chunkSize), sdkEnc, jceEnc, sdkDec, jceDec));
+        }
+    }
+
+    // --- Measurement methods ---
+
+    private interface Run {
+        // Returns the time of the measured part in nanoseconds
+        long execute() throws Exception;
+    }
+
+    private static void warmUp(FileCipherFactory sdkFactory, FileCipherFactory jceFactory)
+            throws Exception {
+        byte[] chunk = createChunk(WARM_UP_CHUNK_SIZE);
+        PlainFileKey plainFileKey = Crypto.generateFileKey();
+        byte[] tag = computeTag(jceFactory, plainFileKey, chunk, WARM_UP_CHUNK_COUNT);
+
+        for (FileCipherFactory factory : new FileCipherFactory[]{sdkFactory, jceFactory}) {
+            long startTime = System.nanoTime();
+            while (System.nanoTime() - startTime < WARM_UP_TIME) {
+                encrypt(factory, plainFileKey, chunk, WARM_UP_CHUNK_COUNT);
+                decrypt(factory, plainFileKey, tag, chunk, WARM_UP_CHUNK_COUNT);
+            }
+        }
+    }
+
+    private static double measure(Run run, int chunkSize, long chunkCount) throws Exception {
+        long bestTime = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            bestTime = Math.min(bestTime, run.execute());
+        }
+
+        double bytes = (double) chunkSize * chunkCount;
+        return bytes / 1000000.0 / (bestTime / 1000000000.0);
+    }
+
+    private static long encrypt(FileCipherFactory factory, PlainFileKey plainFileKey,
+            byte[] chunk, long chunkCount) throws Exception {
+        byte[] buffer = createBuffer(chunk.length);
+
+        long startTime = System.nanoTime();
+        FileEncryptor encryptor = factory.createEncryptor(plainFileKey);
+        for (long i = 0; i < chunkCount; i++) {
+            System.arraycopy(chunk, 0, buffer, 0, chunk.length);
+            encryptor.update(buffer, 0, chunk.length, buffer);
+        }
+        encryptor.doFinal();
+        return System.nanoTime() - startTime;
+    }
+
+    private static long decrypt(FileCipherFactory factory, PlainFileKey plainFileKey, byte[] tag,
+            byte[] chunk, long chunkCount) throws Exception {
+        byte[] buffer = createBuffer(chunk.length);
+
+        long startTime = System.nanoTime();
+        FileDecryptor decryptor = factory.createDecryptor(plainFileKey);
+        for (long i = 0; i < chunkCount; i++) {
+            System.arraycopy(chunk, 0, buffer, 0, chunk.length);
+            decryptor.update(buffer, 0, chunk.length, buffer);
+        }
+        decryptor.doFinal(tag);
+        return System.nanoTime() - startTime;
+    }
+
+    // --- Helper methods ---
+
+    // The repeated chunk is used as encrypted content. Its tag is the tag of the encrypted
+    // decryption result. (The JCE decryptor is used, because it does not hold back content until
+    // the tag was verified. Both implementations produce the same tag.)
+    private static byte[] computeTag(FileCipherFactory jceFactory, PlainFileKey plainFileKey,
+            byte[] chunk, long chunkCount) throws Exception {
+        byte[] buffer = createBuffer(chunk.length);
+        FileDecryptor decryptor = jceFactory.createDecryptor(plainFileKey);
+        FileEncryptor encryptor = jceFactory.createEncryptor(plainFileKey);
+        for (long i = 0; i < chunkCount; i++) {
+            System.arraycopy(chunk, 0, buffer, 0, chunk.length);
+            int count = decryptor.update(buffer, 0, chunk.length, buffer);
+            encryptor.update(buffer, 0, count, buffer);
+        }
+        encryptor.doFinal();
+        return encryptor.getTag();
+    }
+
+    private static byte[] createChunk(int chunkSize) {
+        byte[] chunk = new byte[chunkSize];
+        new Random(chunkSize).nextBytes(chunk);
+        return chunk;
+    }
+
+    // Like in a transfer, the buffer leaves room for the overhead of the cipher
+    private static byte[] createBuffer(int chunkSize) {
+        return new byte[chunkSize + FileCipherFactory.MAX_UPDATE_OVERHEAD];
+    }
+
+    private static String formatSize(int size) {
+        return size >= MIB ? (size / MIB) + " MiB" : (size / KIB) + " KiB";
+    }
+
+}
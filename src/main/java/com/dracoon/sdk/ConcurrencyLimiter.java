@@ -0,0 +1,162 @@
+package com.dracoon.sdk;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ConcurrencyLimiter limits the number of requests which are in flight at the same time. The
+ * limit adapts to the observed server behaviour.<br>
+ * <br>
+ * A concurrency limiter can be set via the DracoonClient builder method
+ * {@link DracoonClient.Builder#concurrencyLimiter(ConcurrencyLimiter)}. All requests of the
+ * client (API requests and file transfer requests) take a slot from the limiter before they are
+ * sent. If all slots are taken, the requesting thread waits until a slot is released.<br>
+ * <br>
+ * The limit is adjusted with an additive increase/multiplicative decrease scheme: While the
+ * latency of the requests stays flat and the server responds without errors, the limit is raised
+ * slowly. If the latency of an endpoint rises above twice its usual latency, or if the server
+ * reports an overload (HTTP status 429, 502, 503 or 504) or the connection fails, the limit is
+ * reduced. The usual latency of an endpoint follows lasting latency changes (e.g. due to a
+ * bandwidth limit) with a delay.<br>
+ * <br>
+ * The same instance can be set at multiple clients to limit the overall concurrency of an
+ * application. Batch operations can use {@link #getLimit()} to size their parallelism.
+ */
+@SuppressWarnings("unused")
+public class ConcurrencyLimiter {
+
+    private static final int DEFAULT_MIN_LIMIT = 4;
+    private static final int DEFAULT_MAX_LIMIT = 64;
+
+    private static final double LATENCY_TOLERANCE = 2.0;
+    private static final double LATENCY_SMOOTHING = 0.05;
+    private static final double HIGH_LATENCY_SMOOTHING = 0.01;
+    private static final double DECREASE_FACTOR = 0.75;
+
+    private final int mMinLimit;
+    private final int mMaxLimit;
+
+    private double mLimit;
+    private int mInFlight;
+    private long mDecreaseTime = System.nanoTime();
+
+    private final Map<String, Double> mBaselineLatencies = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new concurrency limiter with a limit between 4 and 64 requests.
+     */
+    public ConcurrencyLimiter() {
+        this(DEFAULT_MIN_LIMIT, DEFAULT_MAX_LIMIT);
+    }
+
+    /**
+     * Constructs a new concurrency limiter. The limit starts at the minimum limit.
+     *
+     * @param minLimit The minimum number of requests in flight. (Must be at least 1.)
+     * @param maxLimit The maximum number of requests in flight. (Must not be smaller than the
+     *                 minimum limit.)
+     */
+    public ConcurrencyLimiter(int minLimit, int maxLimit) {
+        if (minLimit < 1) {
+            throw new IllegalArgumentException("Minimum limit must be at least 1.");
+        }
+        if (maxLimit < minLimit) {
+            throw new IllegalArgumentException("Maximum limit must not be smaller than minimum " +
+                    "limit.");
+        }
+        mMinLimit = minLimit;
+        mMaxLimit = maxLimit;
+        mLimit = minLimit;
+    }
+
+    /**
+     * Returns the current number of requests which may be in flight at the same time.
+     *
+     * @return the current limit
+     */
+    public synchronized int getLimit() {
+        return (int) mLimit;
+    }
+
+    /**
+     * Returns the number of requests which are currently in flight.
+     *
+     * @return the number of requests in flight
+     */
+    public synchronized int getInFlight() {
+        return mInFlight;
+    }
+
+    /**
+     * Takes a slot for one request. Blocks until a slot is available.
+     *
+     * @return the time which was waited in nanoseconds
+     *
+     * @throws InterruptedException If the waiting thread was interrupted.
+     */
+    public synchronized long acquire() throws InterruptedException {
+        long startTime = System.nanoTime();
+        while (mInFlight >= (int) mLimit) {
+            wait();
+        }
+        mInFlight++;
+        return System.nanoTime() - startTime;
+    }
+
+    /**
+     * Releases the slot of a finished request and adapts the limit.
+     *
+     * @param endpoint     The endpoint name. (Latencies are compared per endpoint.)
+     * @param latency      The latency of the request in nanoseconds.
+     * @param isOverloaded <code>true</code> if the request failed due to an overload of the
+     *                     server or the connection; <code>false</code> otherwise.
+     */
+    public void release(String endpoint, long latency, boolean isOverloaded) {
+        boolean isLatencyHigh = updateBaselineLatency(endpoint, latency);
+
+        synchronized (this) {
+            mInFlight--;
+
+            long currentTime = System.nanoTime();
+            if (isOverloaded || isLatencyHigh) {
+                // Decrease at most once per observed round trip. Otherwise, all requests which
+                // were in flight during an overload would shrink the limit one after another.
+                if (currentTime - mDecreaseTime > latency) {
+                    mLimit = Math.max(mMinLimit, mLimit * DECREASE_FACTOR);
+                    mDecreaseTime = currentTime;
+                }
+            } else if (mInFlight + 1 >= (int) mLimit / 2) {
+                // Only raise the limit if it is actually used.
+                mLimit = Math.min(mMaxLimit, mLimit + 1.0 / mLimit);
+            }
+
+            notifyAll();
+        }
+    }
+
+    /**
+     * Releases the slot of a request which was aborted before it could be assessed. The limit is
+     * not adapted.
+     */
+    public synchronized void cancel() {
+        mInFlight--;
+        notifyAll();
+    }
+
+    private boolean updateBaselineLatency(String endpoint, long latency) {
+        String key = endpoint != null ? endpoint : "";
+        Double baseline = mBaselineLatencies.get(key);
+        if (baseline == null) {
+            mBaselineLatencies.put(key, (double) latency);
+            return false;
+        }
+
+        // High samples move the baseline only slowly, so that short congestion is still detected.
+        // But if the latency stays high, the baseline catches up and the limit can rise again.
+        boolean isLatencyHigh = latency > baseline * LATENCY_TOLERANCE;
+        double smoothing = isLatencyHigh ? HIGH_LATENCY_SMOOTHING : LATENCY_SMOOTHING;
+        mBaselineLatencies.put(key, baseline + (latency - baseline) * smoothing);
+        return isLatencyHigh;
+    }
+
+}
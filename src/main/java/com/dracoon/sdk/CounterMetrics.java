@@ -0,0 +1,230 @@
+package com.dracoon.sdk;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CounterMetrics is a {@link Metrics} implementation which aggregates the recorded values in
+ * memory.<br>
+ * <br>
+ * The values are kept in {@link LongAdder} based counters. Recording does not allocate memory
+ * (except for the first request to an endpoint) and does not block under contention. The current
+ * values can be queried at any time, e.g. to export them to a monitoring system.
+ */
+@SuppressWarnings("unused")
+public class CounterMetrics implements Metrics {
+
+    /**
+     * Counters of a single endpoint.
+     */
+    public static class EndpointCounters {
+
+        private final LongAdder mCount = new LongAdder();
+        private final LongAdder mErrorCount = new LongAdder();
+        private final LongAdder mRetryCount = new LongAdder();
+        private final LongAdder mTotalDuration = new LongAdder();
+        private final LongAccumulator mMaxDuration = new LongAccumulator(Long::max, 0L);
+
+        /**
+         * Returns the number of executed requests.
+         *
+         * @return the number of requests
+         */
+        public long getCount() {
+            return mCount.sum();
+        }
+
+        /**
+         * Returns the number of requests which failed or were answered with a status code of 400
+         * or higher.
+         *
+         * @return the number of failed requests
+         */
+        public long getErrorCount() {
+            return mErrorCount.sum();
+        }
+
+        /**
+         * Returns the number of retries.
+         *
+         * @return the number of retries
+         */
+        public long getRetryCount() {
+            return mRetryCount.sum();
+        }
+
+        /**
+         * Returns the total duration of all requests.
+         *
+         * @return the total duration in nanoseconds
+         */
+        public long getTotalDuration() {
+            return mTotalDuration.sum();
+        }
+
+        /**
+         * Returns the maximum duration of a request.
+         *
+         * @return the maximum duration in nanoseconds
+         */
+        public long getMaxDuration() {
+            return mMaxDuration.get();
+        }
+
+    }
+
+    private final Map<String, EndpointCounters> mEndpointCounters = new ConcurrentHashMap<>();
+    private final LongAdder[] mStatusClassCounts = new LongAdder[6];
+    private final LongAdder mRateLimitWaitCount = new LongAdder();
+    private final LongAdder mRateLimitWaitTime = new LongAdder();
+    private final LongAdder mBytesSent = new LongAdder();
+    private final LongAdder mBytesReceived = new LongAdder();
+    private final LongAdder mCryptoTime = new LongAdder();
+    private final LongAdder mTokenRefreshCount = new LongAdder();
+
+    /**
+     * Constructs a new metrics instance with zeroed counters.
+     */
+    public CounterMetrics() {
+        for (int i = 0; i < mStatusClassCounts.length; i++) {
+            mStatusClassCounts[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void recordRequest(String endpoint, int statusCode, long duration) {
+        EndpointCounters counters = getOrCreateEndpointCounters(endpoint);
+        counters.mCount.increment();
+        counters.mTotalDuration.add(duration);
+        counters.mMaxDuration.accumulate(duration);
+        if (statusCode == STATUS_CODE_NONE || statusCode >= 400) {
+            counters.mErrorCount.increment();
+        }
+
+        int statusClass = statusCode / 100;
+        if (statusClass >= 0 && statusClass < mStatusClassCounts.length) {
+            mStatusClassCounts[statusClass].increment();
+        }
+    }
+
+    @Override
+    public void recordRetry(String endpoint) {
+        getOrCreateEndpointCounters(endpoint).mRetryCount.increment();
+    }
+
+    @Override
+    public void recordRateLimitWait(long duration) {
+        mRateLimitWaitCount.increment();
+        mRateLimitWaitTime.add(duration);
+    }
+
+    @Override
+    public void recordBytesSent(long count) {
+        mBytesSent.add(count);
+    }
+
+    @Override
+    public void recordBytesReceived(long count) {
+        mBytesReceived.add(count);
+    }
+
+    @Override
+    public void recordCryptoTime(long duration) {
+        mCryptoTime.add(duration);
+    }
+
+    @Override
+    public void recordTokenRefresh() {
+        mTokenRefreshCount.increment();
+    }
+
+    /**
+     * Returns the counters of all endpoints which were requested so far.
+     *
+     * @return map of endpoint names and counters
+     */
+    public Map<String, EndpointCounters> getEndpointCounters() {
+        return Collections.unmodifiableMap(mEndpointCounters);
+    }
+
+    /**
+     * Returns the number of requests which were answered with a status code of a specific class.
+     *
+     * @param statusClass The status code class. (<code>1</code> to <code>5</code> for 1xx to 5xx;
+     *                    <code>0</code> for requests which failed without response.)
+     *
+     * @return the number of requests
+     */
+    public long getStatusClassCount(int statusClass) {
+        if (statusClass < 0 || statusClass >= mStatusClassCounts.length) {
+            return 0L;
+        }
+        return mStatusClassCounts[statusClass].sum();
+    }
+
+    /**
+     * Returns the number of requests which had to wait for the request rate limiter.
+     *
+     * @return the number of requests
+     */
+    public long getRateLimitWaitCount() {
+        return mRateLimitWaitCount.sum();
+    }
+
+    /**
+     * Returns the time which requests waited for the request rate limiter.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getRateLimitWaitTime() {
+        return mRateLimitWaitTime.sum();
+    }
+
+    /**
+     * Returns the number of bytes which were sent at uploads.
+     *
+     * @return the number of bytes
+     */
+    public long getBytesSent() {
+        return mBytesSent.sum();
+    }
+
+    /**
+     * Returns the number of bytes which were received at downloads.
+     *
+     * @return the number of bytes
+     */
+    public long getBytesReceived() {
+        return mBytesReceived.sum();
+    }
+
+    /**
+     * Returns the time which was spent for file en/decryption.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getCryptoTime() {
+        return mCryptoTime.sum();
+    }
+
+    /**
+     * Returns the number of OAuth token retrievals and refreshes.
+     *
+     * @return the number of token retrievals and refreshes
+     */
+    public long getTokenRefreshCount() {
+        return mTokenRefreshCount.sum();
+    }
+
+    private EndpointCounters getOrCreateEndpointCounters(String endpoint) {
+        EndpointCounters counters = mEndpointCounters.get(endpoint);
+        if (counters == null) {
+            counters = mEndpointCounters.computeIfAbsent(endpoint, e -> new EndpointCounters());
+        }
+        return counters;
+    }
+
+}
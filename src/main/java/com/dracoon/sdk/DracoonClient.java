@@ -6,6 +6,8 @@ import com.dracoon.sdk.error.DracoonFileIOException;
 import com.dracoon.sdk.error.DracoonNetIOException;
 import com.dracoon.sdk.internal.DracoonClientImpl;
 import com.dracoon.sdk.internal.validator.ValidatorUtils;
+import com.dracoon.sdk.model.BatchUploadResult;
+import com.dracoon.sdk.model.BulkOperationResult;
 import com.dracoon.sdk.model.CopyNodesRequest;
 import com.dracoon.sdk.model.CreateDownloadShareRequest;
 import com.dracoon.sdk.model.CreateFolderRequest;
@@ -13,22 +15,36 @@ import com.dracoon.sdk.model.CreateRoomRequest;
 import com.dracoon.sdk.model.CreateUploadShareRequest;
 import com.dracoon.sdk.model.CustomerAccount;
 import com.dracoon.sdk.model.DeleteNodesRequest;
+import com.dracoon.sdk.model.DirectoryDownloadResult;
+import com.dracoon.sdk.model.DirectoryUploadResult;
 import com.dracoon.sdk.model.DownloadShare;
 import com.dracoon.sdk.model.FileDownloadCallback;
 import com.dracoon.sdk.model.FileUploadCallback;
 import com.dracoon.sdk.model.FileUploadRequest;
+import com.dracoon.sdk.model.HashAlgorithm;
 import com.dracoon.sdk.model.MoveNodesRequest;
 import com.dracoon.sdk.model.Node;
 import com.dracoon.sdk.model.NodeList;
+import com.dracoon.sdk.model.ResolutionStrategy;
+import com.dracoon.sdk.model.RequestTimingsListener;
+import com.dracoon.sdk.model.TransferHashListener;
 import com.dracoon.sdk.model.UpdateFileRequest;
 import com.dracoon.sdk.model.UpdateFolderRequest;
 import com.dracoon.sdk.model.UpdateRoomRequest;
 import com.dracoon.sdk.model.UploadShare;
 import com.dracoon.sdk.model.UserAccount;
 
+import java.io.Closeable;
 import java.io.File;
+import java.io.InputStream;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.security.Provider;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * DracoonClient is the main class of the Dracoon SDK. It contains several handlers which group the
@@ -44,10 +60,11 @@ import java.util.Date;
  *                            upload/download files, ...<br>
  * - {@link Shares Shares}:   Not implemented yet<br>
  * <br>
- * New client instances can be created via {@link Builder}.
+ * New client instances can be created via {@link Builder}. A client which is no longer needed
+ * should be closed via {@link #close()}.
  */
 @SuppressWarnings("unused")
-public abstract class DracoonClient {
+public abstract class DracoonClient implements Closeable {
 
     /**
      * Handler to query server information
@@ -245,6 +262,26 @@ public abstract class DracoonClient {
         Node createFolder(CreateFolderRequest request) throws DracoonNetIOException,
                 DracoonApiException;
 
+        /**
+         * Creates folders and all missing parent folders (like <code>mkdir -p</code>).<br>
+         * <br>
+         * The paths are relative to the parent node and use "/" as separator. (e.g.
+         * <code>"projects/2018/reports"</code>) Existing folders are determined with a single
+         * listing of the node tree. Missing folders are created level by level; folders of the
+         * same level are created in parallel.
+         *
+         * @param parentNodeId The ID of the room or folder under which the folders should be
+         *                     created.
+         * @param paths        The relative paths of the folders.
+         *
+         * @return map of the requested paths and the folder nodes
+         *
+         * @throws DracoonNetIOException If a network error occurred.
+         * @throws DracoonApiException   If the API responded with an error.
+         */
+        Map<String, Node> createFolders(long parentNodeId, List<String> paths)
+                throws DracoonNetIOException, DracoonApiException;
+
         /**
          * Updates a folder.
          *
@@ -283,7 +320,10 @@ public abstract class DracoonClient {
                 DracoonApiException;
 
         /**
-         * Copies nodes.
+         * Copies nodes.<br>
+         * <br>
+         * If some of the nodes conflict with existing nodes at the target, the complete request
+         * fails. Use {@link #bulkCopyNodes(CopyNodesRequest)} to get the conflicting nodes.
          *
          * @param request The request with target node ID and IDs of nodes which should be copied.
          *
@@ -295,7 +335,10 @@ public abstract class DracoonClient {
         Node copyNodes(CopyNodesRequest request) throws DracoonNetIOException, DracoonApiException;
 
         /**
-         * Moves nodes.
+         * Moves nodes.<br>
+         * <br>
+         * If some of the nodes conflict with existing nodes at the target, the complete request
+         * fails. Use {@link #bulkMoveNodes(MoveNodesRequest)} to get the conflicting nodes.
          *
          * @param request The request with target node ID and IDs of nodes which should be moved.
          *
@@ -306,6 +349,93 @@ public abstract class DracoonClient {
          */
         Node moveNodes(MoveNodesRequest request) throws DracoonNetIOException, DracoonApiException;
 
+        /**
+         * Deletes a large number of nodes.<br>
+         * <br>
+         * The node IDs are split into batches which are deleted in parallel. If a batch fails
+         * because of single nodes (e.g. a node was not found), the batch is split until these
+         * nodes are isolated. The result contains one entry per node.
+         *
+         * @param request The request with IDs of nodes which should be deleted.
+         *
+         * @return the results of all nodes
+         *
+         * @throws DracoonNetIOException If a network error occurred.
+         * @throws DracoonApiException   If the API responded with an error.
+         */
+        BulkOperationResult bulkDeleteNodes(DeleteNodesRequest request)
+                throws DracoonNetIOException, DracoonApiException;
+
+        /**
+         * Copies a large number of nodes.<br>
+         * <br>
+         * The node IDs are split into batches which are copied in parallel. Nodes which conflict
+         * with existing nodes at the target are reported as conflicts and the rest of their batch
+         * is copied nevertheless. The result contains one entry per node.<br>
+         * <br>
+         * Because copying is not idempotent, a batch is only sent again if it could not be sent at
+         * all. If a batch fails with a network error, its nodes are reported as failed.
+         *
+         * @param request The request with target node ID and IDs of nodes which should be copied.
+         *
+         * @return the results of all nodes
+         *
+         * @throws DracoonNetIOException If a network error occurred.
+         * @throws DracoonApiException   If the API responded with an error.
+         */
+        BulkOperationResult bulkCopyNodes(CopyNodesRequest request)
+                throws DracoonNetIOException, DracoonApiException;
+
+        /**
+         * Moves a large number of nodes.<br>
+         * <br>
+         * The node IDs are split into batches which are moved in parallel. Nodes which conflict
+         * with existing nodes at the target are reported as conflicts and the rest of their batch
+         * is moved nevertheless. The result contains one entry per node.<br>
+         * <br>
+         * Because moving is not idempotent, a batch is only sent again if it could not be sent at
+         * all. If a batch fails with a network error, its nodes are reported as failed.
+         *
+         * @param request The request with target node ID and IDs of nodes which should be moved.
+         *
+         * @return the results of all nodes
+         *
+         * @throws DracoonNetIOException If a network error occurred.
+         * @throws DracoonApiException   If the API responded with an error.
+         */
+        BulkOperationResult bulkMoveNodes(MoveNodesRequest request)
+                throws DracoonNetIOException, DracoonApiException;
+
+        /**
+         * Updates a large number of folders in parallel.<br>
+         * <br>
+         * The result contains one entry per folder with the updated node.
+         *
+         * @param requests The requests with updated information about the folders.
+         *
+         * @return the results of all folders
+         *
+         * @throws DracoonNetIOException If a network error occurred.
+         * @throws DracoonApiException   If the API responded with an error.
+         */
+        BulkOperationResult bulkUpdateFolders(List<UpdateFolderRequest> requests)
+                throws DracoonNetIOException, DracoonApiException;
+
+        /**
+         * Updates a large number of files in parallel.<br>
+         * <br>
+         * The result contains one entry per file with the updated node.
+         *
+         * @param requests The requests with updated information about the files.
+         *
+         * @return the results of all files
+         *
+         * @throws DracoonNetIOException If a network error occurred.
+         * @throws DracoonApiException   If the API responded with an error.
+         */
+        BulkOperationResult bulkUpdateFiles(List<UpdateFileRequest> requests)
+                throws DracoonNetIOException, DracoonApiException;
+
         /**
          * Uploads a file.
          *
@@ -326,6 +456,74 @@ public abstract class DracoonClient {
                 FileUploadCallback callback) throws DracoonFileIOException, DracoonCryptoException,
                 DracoonNetIOException, DracoonApiException;
 
+        /**
+         * Uploads the content of a stream.<br>
+         * <br>
+         * The content is read until the end of the stream. The length is only used for progress
+         * updates. So, streams of unknown length (e.g. pipes) can be uploaded. The stream is not
+         * closed.
+         *
+         * @param id       A ID for the upload. (This ID can be used to keep a reference.)
+         * @param request  The request with information about the file.
+         * @param is       The source stream.
+         * @param length   The length of the content. (<code>-1</code>, if unknown.)
+         * @param callback A callback which get called when the upload was started, finished and
+         *                 so on. (<code>null</code>, if not needed.)
+         *
+         * @return the new node
+         *
+         * @throws DracoonFileIOException If a file error occurred.
+         * @throws DracoonCryptoException If the encryption failed.
+         * @throws DracoonNetIOException  If a network error occurred.
+         * @throws DracoonApiException    If the API responded with an error.
+         */
+        Node uploadFile(String id, FileUploadRequest request, InputStream is, long length,
+                FileUploadCallback callback) throws DracoonFileIOException, DracoonCryptoException,
+                DracoonNetIOException, DracoonApiException;
+
+        /**
+         * Uploads the content of a byte array.
+         *
+         * @param id       A ID for the upload. (This ID can be used to keep a reference.)
+         * @param request  The request with information about the file.
+         * @param data     The content.
+         * @param callback A callback which get called when the upload was started, finished and
+         *                 so on. (<code>null</code>, if not needed.)
+         *
+         * @return the new node
+         *
+         * @throws DracoonFileIOException If a file error occurred.
+         * @throws DracoonCryptoException If the encryption failed.
+         * @throws DracoonNetIOException  If a network error occurred.
+         * @throws DracoonApiException    If the API responded with an error.
+         */
+        Node uploadFile(String id, FileUploadRequest request, byte[] data,
+                FileUploadCallback callback) throws DracoonFileIOException, DracoonCryptoException,
+                DracoonNetIOException, DracoonApiException;
+
+        /**
+         * Uploads the content of a byte buffer.<br>
+         * <br>
+         * The remaining bytes of the buffer (from its position to its limit) are uploaded. The
+         * position of the buffer is not changed.
+         *
+         * @param id       A ID for the upload. (This ID can be used to keep a reference.)
+         * @param request  The request with information about the file.
+         * @param buffer   The content.
+         * @param callback A callback which get called when the upload was started, finished and
+         *                 so on. (<code>null</code>, if not needed.)
+         *
+         * @return the new node
+         *
+         * @throws DracoonFileIOException If a file error occurred.
+         * @throws DracoonCryptoException If the encryption failed.
+         * @throws DracoonNetIOException  If a network error occurred.
+         * @throws DracoonApiException    If the API responded with an error.
+         */
+        Node uploadFile(String id, FileUploadRequest request, ByteBuffer buffer,
+                FileUploadCallback callback) throws DracoonFileIOException, DracoonCryptoException,
+                DracoonNetIOException, DracoonApiException;
+
         /**
          * Starts an asynchronous file upload.
          *
@@ -344,6 +542,135 @@ public abstract class DracoonClient {
                 FileUploadCallback callback) throws DracoonFileIOException, DracoonCryptoException,
                 DracoonNetIOException, DracoonApiException;
 
+        /**
+         * Starts an asynchronous upload of the content of a stream.<br>
+         * <br>
+         * The content is read until the end of the stream. The length is only used for progress
+         * updates. So, streams of unknown length (e.g. pipes) can be uploaded. The stream is not
+         * closed.
+         *
+         * @param id       ID for the upload. (This ID can be used to keep a reference.)
+         * @param request  The request with information about the file.
+         * @param is       The source stream.
+         * @param length   The length of the content. (<code>-1</code>, if unknown.)
+         * @param callback A callback which get called when the upload was started, finished and
+         *                 so on. (<code>null</code>, if not needed.)
+         *
+         * @throws DracoonFileIOException If a file error occurred.
+         * @throws DracoonCryptoException If the encryption failed.
+         * @throws DracoonNetIOException  If a network error occurred.
+         * @throws DracoonApiException    If the API responded with an error.
+         */
+        void startUploadFileAsync(String id, FileUploadRequest request, InputStream is,
+                long length, FileUploadCallback callback) throws DracoonFileIOException,
+                DracoonCryptoException, DracoonNetIOException, DracoonApiException;
+
+        /**
+         * Starts an asynchronous upload of the content of a byte array.<br>
+         * <br>
+         * The array must not be modified until the upload was finished.
+         *
+         * @param id       ID for the upload. (This ID can be used to keep a reference.)
+         * @param request  The request with information about the file.
+         * @param data     The content.
+         * @param callback A callback which get called when the upload was started, finished and
+         *                 so on. (<code>null</code>, if not needed.)
+         *
+         * @throws DracoonFileIOException If a file error occurred.
+         * @throws DracoonCryptoException If the encryption failed.
+         * @throws DracoonNetIOException  If a network error occurred.
+         * @throws DracoonApiException    If the API responded with an error.
+         */
+        void startUploadFileAsync(String id, FileUploadRequest request, byte[] data,
+                FileUploadCallback callback) throws DracoonFileIOException, DracoonCryptoException,
+                DracoonNetIOException, DracoonApiException;
+
+        /**
+         * Starts an asynchronous upload of the content of a byte buffer.<br>
+         * <br>
+         * The remaining bytes of the buffer (from its position to its limit) are uploaded. The
+         * position of the buffer is not changed. The content must not be modified until the
+         * upload was finished.
+         *
+         * @param id       ID for the upload. (This ID can be used to keep a reference.)
+         * @param request  The request with information about the file.
+         * @param buffer   The content.
+         * @param callback A callback which get called when the upload was started, finished and
+         *                 so on. (<code>null</code>, if not needed.)
+         *
+         * @throws DracoonFileIOException If a file error occurred.
+         * @throws DracoonCryptoException If the encryption failed.
+         * @throws DracoonNetIOException  If a network error occurred.
+         * @throws DracoonApiException    If the API responded with an error.
+         */
+        void startUploadFileAsync(String id, FileUploadRequest request, ByteBuffer buffer,
+                FileUploadCallback callback) throws DracoonFileIOException, DracoonCryptoException,
+                DracoonNetIOException, DracoonApiException;
+
+        /**
+         * Uploads a local directory tree.<br>
+         * <br>
+         * The local tree is compared with the remote tree under the target node. Missing
+         * folders are created. Files which are new or changed (different size, or newer and with
+         * a different MD5 hash) are uploaded in parallel. Unchanged files are skipped.<br>
+         * <br>
+         * The callback receives the progress of all uploads summed up. Its methods can get
+         * called from multiple threads. Errors of single files do not abort the upload; they are
+         * returned in the result.
+         *
+         * @param id                 ID for the upload. (This ID can be used to keep a
+         *                           reference.)
+         * @param parentNodeId       The ID of the room or folder into which the directory should
+         *                           be uploaded.
+         * @param directory          The source directory.
+         * @param resolutionStrategy The conflict resolution strategy for the file uploads.
+         * @param callback           A callback which get called when the upload was started,
+         *                           finished and so on. (<code>null</code>, if not needed.)
+         *
+         * @return the result with the uploaded, skipped and failed files
+         *
+         * @throws DracoonFileIOException If a file error occurred.
+         * @throws DracoonCryptoException If the encryption failed.
+         * @throws DracoonNetIOException  If a network error occurred.
+         * @throws DracoonApiException    If the API responded with an error.
+         */
+        DirectoryUploadResult uploadDirectory(String id, long parentNodeId, File directory,
+                ResolutionStrategy resolutionStrategy, FileUploadCallback callback)
+                throws DracoonFileIOException, DracoonCryptoException, DracoonNetIOException,
+                DracoonApiException;
+
+        /**
+         * Uploads many (small) files in one batch.<br>
+         * <br>
+         * Each upload of a file needs several requests (create, upload, complete). For small
+         * files, the duration of an upload is dominated by the latency of these requests. This
+         * method runs the uploads of many files concurrently, so that the requests of different
+         * files overlap. The encryption of each parent node is checked only once and the user key
+         * pair is fetched only once for the whole batch.<br>
+         * <br>
+         * The callback receives the progress of all uploads summed up. Like the callbacks of
+         * single transfers, it is called on the callback executor of the client (see
+         * {@link Builder#callbackExecutor(Executor)}). The node passed to
+         * {@link FileUploadCallback#onFinished(String, Node)} is <code>null</code>. Errors of
+         * single files do not abort the batch; they are returned in the result. Files whose
+         * upload was canceled are returned as failed with a
+         * {@link com.dracoon.sdk.error.DracoonNetIOInterruptedException
+         * DracoonNetIOInterruptedException}.
+         *
+         * @param id       ID for the upload. (This ID can be used to keep a reference.)
+         * @param files    The source files and the requests with information about the new
+         *                 files.
+         * @param callback A callback which get called when the upload was started, finished and
+         *                 so on. (<code>null</code>, if not needed.)
+         *
+         * @return the result with the uploaded and failed files
+         *
+         * @throws DracoonNetIOException If a network error occurred.
+         * @throws DracoonApiException   If the API responded with an error.
+         */
+        BatchUploadResult uploadFiles(String id, Map<File, FileUploadRequest> files,
+                FileUploadCallback callback) throws DracoonNetIOException, DracoonApiException;
+
         /**
          * Cancels an asynchronous file upload.
          *
@@ -369,6 +696,57 @@ public abstract class DracoonClient {
                 FileDownloadCallback callback) throws DracoonNetIOException, DracoonApiException,
                 DracoonCryptoException, DracoonFileIOException;
 
+        /**
+         * Downloads a file which was already retrieved (e.g. via {@link #getNodes(long)}).<br>
+         * <br>
+         * The node provides the encryption state, size and hash of the file. Therefore, they do
+         * not have to be requested again before the download starts. The node must be up to date.
+         * (If the size is unknown, it is taken from the first response.)
+         *
+         * @param id       ID for the download. (This ID can be used to keep a reference.)
+         * @param node     The node of the file.
+         * @param file     The target file.
+         * @param callback A callback which get called when the download was started, finished and
+         *                 so on. (<code>null</code>, if not needed.)
+         *
+         * @throws DracoonNetIOException  If a network error occurred.
+         * @throws DracoonApiException    If the API responded with an error.
+         * @throws DracoonCryptoException If the decryption failed.
+         * @throws DracoonFileIOException If a file error occurred.
+         */
+        void downloadFile(String id, Node node, File file,
+                FileDownloadCallback callback) throws DracoonNetIOException, DracoonApiException,
+                DracoonCryptoException, DracoonFileIOException;
+
+        /**
+         * Downloads a room or folder tree into a local directory.<br>
+         * <br>
+         * The remote tree is compared with the local tree in the target directory. Missing
+         * directories are created. Files which are missing or changed (different size, or newer
+         * and with a different MD5 hash) are downloaded in parallel. Unchanged files are
+         * skipped. The downloads start while the remote tree is still being listed.<br>
+         * <br>
+         * The callback receives the progress of all downloads summed up. (The total grows while
+         * the tree is listed.) Its methods can get called from multiple threads. Errors of
+         * single files do not abort the download; they are returned in the result.
+         *
+         * @param id        ID for the download. (This ID can be used to keep a reference.)
+         * @param nodeId    The ID of the room or folder.
+         * @param directory The target directory.
+         * @param callback  A callback which get called when the download was started, finished
+         *                  and so on. (<code>null</code>, if not needed.)
+         *
+         * @return the result with the downloaded, skipped and failed files
+         *
+         * @throws DracoonNetIOException  If a network error occurred.
+         * @throws DracoonApiException    If the API responded with an error.
+         * @throws DracoonCryptoException If the decryption failed.
+         * @throws DracoonFileIOException If a file error occurred.
+         */
+        DirectoryDownloadResult downloadDirectory(String id, long nodeId, File directory,
+                FileDownloadCallback callback) throws DracoonNetIOException, DracoonApiException,
+                DracoonCryptoException, DracoonFileIOException;
+
         /**
          * Starts an asynchronous file download.
          *
@@ -387,6 +765,27 @@ public abstract class DracoonClient {
                 FileDownloadCallback callback) throws DracoonNetIOException, DracoonApiException,
                 DracoonCryptoException, DracoonFileIOException;
 
+        /**
+         * Starts an asynchronous download of a file which was already retrieved (e.g. via
+         * {@link #getNodes(long)}).<br>
+         * <br>
+         * See {@link #downloadFile(String, Node, File, FileDownloadCallback)}.
+         *
+         * @param id       ID for the download. (This ID can be used to keep a reference.)
+         * @param node     The node of the file.
+         * @param file     The target file.
+         * @param callback A callback which get called when the download was started, finished and
+         *                 so on. (<code>null</code>, if not needed.)
+         *
+         * @throws DracoonNetIOException  If a network error occurred.
+         * @throws DracoonApiException    If the API responded with an error.
+         * @throws DracoonCryptoException If the decryption failed.
+         * @throws DracoonFileIOException If a file error occurred.
+         */
+        void startDownloadFileAsync(String id, Node node, File file,
+                FileDownloadCallback callback) throws DracoonNetIOException, DracoonApiException,
+                DracoonCryptoException, DracoonFileIOException;
+
         /**
          * Cancels an asynchronous file download.
          *
@@ -394,6 +793,88 @@ public abstract class DracoonClient {
          */
         void cancelDownloadFileAsync(String id);
 
+        /**
+         * Opens a stream for reading the content of a file.<br>
+         * <br>
+         * The content is requested in chunks. While the stream is read, the next chunks are
+         * prefetched in the background. (The number of prefetched chunks is bounded. Their
+         * buffers are taken from the transfer buffer pool of the client.) Encrypted
+         * files are decrypted transparently. The integrity of an encrypted file is checked at
+         * the end of the stream; a failed check is signaled with an {@link java.io.IOException
+         * IOException}.<br>
+         * <br>
+         * Errors which occur while reading are signaled with an {@link java.io.IOException
+         * IOException} whose cause is the original
+         * {@link com.dracoon.sdk.error.DracoonException DracoonException}. The stream must be
+         * closed to stop the prefetching and to hand back its buffers.
+         *
+         * @param nodeId The ID of the file.
+         *
+         * @return the stream
+         *
+         * @throws DracoonNetIOException  If a network error occurred.
+         * @throws DracoonApiException    If the API responded with an error.
+         * @throws DracoonCryptoException If the file key could not be decrypted.
+         */
+        InputStream openInputStream(long nodeId) throws DracoonNetIOException,
+                DracoonApiException, DracoonCryptoException;
+
+        /**
+         * Opens a channel for random access to the content of a file.<br>
+         * <br>
+         * Content is requested in blocks of 256 KiB. The 64 most recently used blocks are
+         * cached. See {@link #openByteChannel(long, int, int)}.
+         *
+         * @param nodeId The ID of the file.
+         *
+         * @return the channel
+         *
+         * @throws DracoonNetIOException If a network error occurred.
+         * @throws DracoonApiException   If the API responded with an error.
+         */
+        SeekableByteChannel openByteChannel(long nodeId) throws DracoonNetIOException,
+                DracoonApiException;
+
+        /**
+         * Opens a channel for random access to the content of a file.<br>
+         * <br>
+         * The channel is read-only. Content is requested in blocks when it is read. Recently
+         * used blocks are cached, so that repeated reads of the same region (e.g. a ZIP central
+         * directory or a Parquet footer) do not cause further requests. The cache can use up to
+         * <code>blockSize * cacheSize</code> bytes. The blocks are taken from the transfer buffer
+         * pool of the client (see {@link Builder#transferBufferPool(TransferBufferPool)}). If
+         * the pool runs short of memory, blocks are evicted earlier (also the blocks of idle
+         * channels). The channel must be closed to hand back its blocks.<br>
+         * <br>
+         * Random access is only supported for unencrypted files. For encrypted files, a
+         * {@link DracoonApiException} with the code
+         * {@link com.dracoon.sdk.error.DracoonApiCode#VALIDATION_FILE_ENCRYPTED_NO_RANDOM_ACCESS
+         * VALIDATION_FILE_ENCRYPTED_NO_RANDOM_ACCESS} is thrown. Errors which occur while reading
+         * are signaled with an {@link java.io.IOException IOException} whose cause is the original
+         * {@link com.dracoon.sdk.error.DracoonException DracoonException}.
+         *
+         * @param nodeId    The ID of the file.
+         * @param blockSize The size of a block in bytes. (Must be positive.)
+         * @param cacheSize The maximum number of cached blocks. (Must be positive.)
+         *
+         * @return the channel
+         *
+         * @throws DracoonNetIOException If a network error occurred.
+         * @throws DracoonApiException   If the API responded with an error.
+         */
+        SeekableByteChannel openByteChannel(long nodeId, int blockSize, int cacheSize)
+                throws DracoonNetIOException, DracoonApiException;
+
+        /**
+         * Sets the bandwidth limit of an asynchronous file upload or download. The limit applies
+         * in addition to the client-wide limit and takes effect immediately.
+         *
+         * @param id             The ID of the upload or download.
+         * @param bandwidthLimit The bandwidth limit in bytes per second. (<code>0</code> to
+         *                       disable the limit.)
+         */
+        void setTransferBandwidthLimit(String id, long bandwidthLimit);
+
         /**
          * Searches child nodes of a node by their name.<br>
          * <br>
@@ -565,6 +1046,46 @@ public abstract class DracoonClient {
         mEncryptionPassword = encryptionPassword;
     }
 
+    /**
+     * Returns the client-wide bandwidth limit for uploads.
+     *
+     * @return the bandwidth limit in bytes per second (<code>0</code> if unlimited)
+     */
+    public abstract long getUploadBandwidthLimit();
+
+    /**
+     * Sets the client-wide bandwidth limit for uploads. The limit is shared fairly by all running
+     * uploads and takes effect immediately.
+     *
+     * @param bandwidthLimit The bandwidth limit in bytes per second. (<code>0</code> to disable
+     *                       the limit.)
+     */
+    public abstract void setUploadBandwidthLimit(long bandwidthLimit);
+
+    /**
+     * Returns the client-wide bandwidth limit for downloads.
+     *
+     * @return the bandwidth limit in bytes per second (<code>0</code> if unlimited)
+     */
+    public abstract long getDownloadBandwidthLimit();
+
+    /**
+     * Sets the client-wide bandwidth limit for downloads. The limit is shared fairly by all
+     * running downloads and takes effect immediately.
+     *
+     * @param bandwidthLimit The bandwidth limit in bytes per second. (<code>0</code> to disable
+     *                       the limit.)
+     */
+    public abstract void setDownloadBandwidthLimit(long bandwidthLimit);
+
+    /**
+     * Closes the client and stops its background tasks (e.g. the renewal of OAuth tokens).<br>
+     * <br>
+     * Running transfers are not canceled. The client should not be used after it was closed.
+     */
+    @Override
+    public abstract void close();
+
     /**
      * Get Server handler.
      *
@@ -613,14 +1134,26 @@ public abstract class DracoonClient {
      * Following properties can be set:<br>
      * - Server URL (mandatory): {@link #Builder(URL)}<br>
      * - Logger:                 {@link #log(Log)}<br>
+     * - Metrics:                {@link #metrics(Metrics)}<br>
+     * - Request timings:        {@link #requestTimingsListener(RequestTimingsListener)}<br>
      * - Authorization data:     {@link #auth(DracoonAuth)}<br>
      * - Encryption password:    {@link #encryptionPassword(String)}<br>
-     * - HTTP configuration:     {@link #httpConfig(DracoonHttpConfig)}
+     * - HTTP configuration:     {@link #httpConfig(DracoonHttpConfig)}<br>
+     * - Request rate limiter:   {@link #requestRateLimiter(RequestRateLimiter)}<br>
+     * - Concurrency limiter:    {@link #concurrencyLimiter(ConcurrencyLimiter)}<br>
+     * - Transfer buffers:       {@link #transferBufferPool(TransferBufferPool)}<br>
+     * - Transfer statistics:    {@link #transferStatistics(TransferStatistics)}<br>
+     * - Callback executor:      {@link #callbackExecutor(Executor)}<br>
+     * - File cipher provider:   {@link #fileCipherProvider(Provider)}<br>
+     * - Transfer hashing:       {@link #transferHashAlgorithm(HashAlgorithm)}<br>
+     * - Transfer hashes:        {@link #transferHashListener(TransferHashListener)}<br>
+     * - Warm-up:                {@link #warmUp(boolean)}
      */
     public static class Builder {
 
         private DracoonClientImpl mClient;
         private DracoonHttpConfig mHttpConfig;
+        private boolean mWarmUp;
 
         /**
          * Constructs a new builder for a specific Dracoon server.
@@ -645,6 +1178,34 @@ public abstract class DracoonClient {
             return this;
         }
 
+        /**
+         * Sets the metrics implementation which should be used.
+         *
+         * @param metrics The metrics implementation.
+         *
+         * @return a reference to this object
+         */
+        public Builder metrics(Metrics metrics) {
+            mClient.setMetrics(metrics);
+            return this;
+        }
+
+        /**
+         * Sets the listener which receives the network timings of all requests. (DNS lookup,
+         * connect, TLS handshake, request, time to first byte and response.)<br>
+         * <br>
+         * Timings of upload and download requests contain the transfer ID, the node ID or
+         * upload ID and the chunk offset. Timings are also written to the log at verbose level.
+         *
+         * @param listener The listener.
+         *
+         * @return a reference to this object
+         */
+        public Builder requestTimingsListener(RequestTimingsListener listener) {
+            mClient.setRequestTimingsListener(listener);
+            return this;
+        }
+
         /**
          * Sets the authorization data for accessing protected resources.
          *
@@ -681,6 +1242,171 @@ public abstract class DracoonClient {
             return this;
         }
 
+        /**
+         * Sets the request rate limiter which limits the number of requests per second. (Default:
+         * unlimited)<br>
+         * <br>
+         * The same limiter can be set at multiple clients to share the rate between them.
+         *
+         * @param requestRateLimiter The request rate limiter.
+         *
+         * @return a reference to this object
+         */
+        public Builder requestRateLimiter(RequestRateLimiter requestRateLimiter) {
+            mClient.setRequestRateLimiter(requestRateLimiter);
+            return this;
+        }
+
+        /**
+         * Sets the concurrency limiter which adaptively limits the number of requests in flight.
+         * (Default: unlimited)<br>
+         * <br>
+         * The same limiter can be set at multiple clients to share the limit between them.
+         *
+         * @param concurrencyLimiter The concurrency limiter.
+         *
+         * @return a reference to this object
+         */
+        public Builder concurrencyLimiter(ConcurrencyLimiter concurrencyLimiter) {
+            mClient.setConcurrencyLimiter(concurrencyLimiter);
+            return this;
+        }
+
+        /**
+         * Sets the pool which provides the chunk buffers of uploads and downloads and limits
+         * their memory. (Default: own pool with a limit of a quarter of the maximum heap size)
+         * <br>
+         * <br>
+         * The same pool can be set at multiple clients to share the limit between them.
+         *
+         * @param transferBufferPool The transfer buffer pool.
+         *
+         * @return a reference to this object
+         */
+        public Builder transferBufferPool(TransferBufferPool transferBufferPool) {
+            mClient.setTransferBufferPool(transferBufferPool);
+            return this;
+        }
+
+        /**
+         * Sets the statistics which record the throughput and progress of all uploads and
+         * downloads. (Default: disabled)<br>
+         * <br>
+         * The same statistics can be set at multiple clients to aggregate their transfers.
+         *
+         * @param transferStatistics The transfer statistics.
+         *
+         * @return a reference to this object
+         */
+        public Builder transferStatistics(TransferStatistics transferStatistics) {
+            mClient.setTransferStatistics(transferStatistics);
+            return this;
+        }
+
+        /**
+         * Sets the executor which calls the upload and download callbacks. (Default: a single
+         * background thread per client)<br>
+         * <br>
+         * Callbacks are not called on the transfer threads, so slow callbacks do not slow down
+         * transfers. The callbacks of a transfer are called in order, also if the executor uses
+         * multiple threads. Progress updates which could not be delivered yet are replaced by
+         * newer ones. So, a slow callback receives fewer progress updates. Synchronous uploads
+         * and downloads return after all their callbacks were called.<br>
+         * <br>
+         * The default executor is shut down by {@link DracoonClient#close()}. An executor which
+         * is set here is not shut down by the client.
+         *
+         * @param executor The callback executor.
+         *
+         * @return a reference to this object
+         */
+        public Builder callbackExecutor(Executor executor) {
+            mClient.setCallbackExecutor(executor);
+            return this;
+        }
+
+        /**
+         * Sets the JCE provider which is used to encrypt and decrypt the content of encrypted
+         * files. (Default: implementation of the crypto SDK)<br>
+         * <br>
+         * The implementation of the crypto SDK runs on all platforms, but does not use the AES
+         * and carry-less multiplication instructions of the CPU. The JCE provider of the JVM
+         * (e.g. <code>Security.getProvider("SunJCE")</code>) uses them on most platforms and
+         * therefore encrypts and decrypts considerably faster. The encrypted content is the same
+         * for both implementations.<br>
+         * <br>
+         * The provider must support the transformations <code>AES/GCM/NoPadding</code> and
+         * <code>AES/CTR/NoPadding</code>. Otherwise, {@link #build()} fails with an
+         * {@link IllegalArgumentException}.
+         *
+         * @param provider The JCE provider. (<code>null</code> selects the implementation of the
+         *                 crypto SDK.)
+         *
+         * @return a reference to this object
+         */
+        public Builder fileCipherProvider(Provider provider) {
+            mClient.setFileCipherProvider(provider);
+            return this;
+        }
+
+        /**
+         * Sets the hash algorithm which is used to hash the content of uploads and downloads.
+         * (Default: disabled)<br>
+         * <br>
+         * The hash is computed while the content is transferred. So, no second pass over the
+         * content is needed. If the algorithm is MD5, the hash is compared with the hash of the
+         * server (if available and if the file is not encrypted). A mismatch is signaled with a
+         * {@link com.dracoon.sdk.error.DracoonNetIntegrityException
+         * DracoonNetIntegrityException}.<br>
+         * <br>
+         * The server reports the hash of an upload only after the upload was completed. If the
+         * hashes of an upload do not match, the new node is therefore deleted again. If the
+         * upload overwrote an existing file (resolution strategy
+         * {@link com.dracoon.sdk.model.ResolutionStrategy#OVERWRITE OVERWRITE}), the node is kept
+         * and holds the corrupt content.
+         *
+         * @param algorithm The hash algorithm. (<code>null</code> disables hashing.)
+         *
+         * @return a reference to this object
+         */
+        public Builder transferHashAlgorithm(HashAlgorithm algorithm) {
+            mClient.setTransferHashAlgorithm(algorithm);
+            return this;
+        }
+
+        /**
+         * Sets the listener which receives the content hashes of uploads and downloads. (Hashes
+         * are only computed if a hash algorithm was set. See
+         * {@link #transferHashAlgorithm(HashAlgorithm)}.)
+         *
+         * @param listener The listener.
+         *
+         * @return a reference to this object
+         */
+        public Builder transferHashListener(TransferHashListener listener) {
+            mClient.setTransferHashListener(listener);
+            return this;
+        }
+
+        /**
+         * Enables/disables the warm-up of the client at {@link #build()}.<br>
+         * <br>
+         * If enabled, the server version check, the retrieval of the OAuth tokens and (if an
+         * encryption password was set) the retrieval and check of the user's key pair are
+         * performed in parallel at creation of the client. Otherwise, these steps are performed
+         * at the first request. (Default: disabled)<br>
+         * <br>
+         * Failed warm-up steps are logged and repeated at the first request.
+         *
+         * @param warmUp <code>true</code> to enable warm-up; otherwise <code>false</code>.
+         *
+         * @return a reference to this object
+         */
+        public Builder warmUp(boolean warmUp) {
+            mWarmUp = warmUp;
+            return this;
+        }
+
         /**
          * Creates a new {@link DracoonClient} instance with the supplied configuration.
          *
@@ -689,6 +1415,9 @@ public abstract class DracoonClient {
         public DracoonClient build() {
             mClient.setHttpConfig(mHttpConfig);
             mClient.init();
+            if (mWarmUp) {
+                mClient.warmUp();
+            }
             return mClient;
         }
 
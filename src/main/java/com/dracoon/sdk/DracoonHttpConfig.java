@@ -8,6 +8,8 @@ package com.dracoon.sdk;
  * - HTTP connection timeout (Default: 15 seconds)<br>
  * - HTTP read timeout (Default: 15 seconds)<br>
  * - HTTP write timeout (Default: 15 seconds)<br>
+ * - Upload bandwidth limit (Default: unlimited)<br>
+ * - Download bandwidth limit (Default: unlimited)<br>
  */
 public class DracoonHttpConfig {
 
@@ -15,6 +17,8 @@ public class DracoonHttpConfig {
     private int mConnectTimeout;
     private int mReadTimeout;
     private int mWriteTimeout;
+    private long mUploadBandwidthLimit;
+    private long mDownloadBandwidthLimit;
 
     /**
      * Constructs a default HTTP configuration.
@@ -24,6 +28,8 @@ public class DracoonHttpConfig {
         mConnectTimeout = 15;
         mReadTimeout = 15;
         mWriteTimeout = 15;
+        mUploadBandwidthLimit = 0L;
+        mDownloadBandwidthLimit = 0L;
     }
 
     /**
@@ -98,4 +104,46 @@ public class DracoonHttpConfig {
         this.mWriteTimeout = writeTimeout;
     }
 
+    /**
+     * Returns the bandwidth limit for uploads.
+     *
+     * @return the bandwidth limit in bytes per second (<code>0</code> if unlimited)
+     */
+    public long getUploadBandwidthLimit() {
+        return mUploadBandwidthLimit;
+    }
+
+    /**
+     * Sets the bandwidth limit for uploads. The limit is shared by all uploads of a client.
+     * (The limit can be changed at runtime via
+     * {@link DracoonClient#setUploadBandwidthLimit(long)}.)
+     *
+     * @param uploadBandwidthLimit The bandwidth limit in bytes per second. (<code>0</code> to
+     *                             disable the limit.)
+     */
+    public void setUploadBandwidthLimit(long uploadBandwidthLimit) {
+        this.mUploadBandwidthLimit = uploadBandwidthLimit;
+    }
+
+    /**
+     * Returns the bandwidth limit for downloads.
+     *
+     * @return the bandwidth limit in bytes per second (<code>0</code> if unlimited)
+     */
+    public long getDownloadBandwidthLimit() {
+        return mDownloadBandwidthLimit;
+    }
+
+    /**
+     * Sets the bandwidth limit for downloads. The limit is shared by all downloads of a client.
+     * (The limit can be changed at runtime via
+     * {@link DracoonClient#setDownloadBandwidthLimit(long)}.)
+     *
+     * @param downloadBandwidthLimit The bandwidth limit in bytes per second. (<code>0</code> to
+     *                               disable the limit.)
+     */
+    public void setDownloadBandwidthLimit(long downloadBandwidthLimit) {
+        this.mDownloadBandwidthLimit = downloadBandwidthLimit;
+    }
+
 }
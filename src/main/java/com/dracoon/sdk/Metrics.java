@@ -0,0 +1,75 @@
+package com.dracoon.sdk;
+
+/**
+ * Metrics is the interface for custom metrics implementations of the Dracoon SDK.<br>
+ * <br>
+ * A custom metrics implementation can be set via the DracoonClient builder method
+ * {@link DracoonClient.Builder#metrics(Metrics)}. {@link CounterMetrics} is a ready-to-use
+ * implementation which aggregates the values in memory.<br>
+ * <br>
+ * The methods are called from the threads which execute the requests and transfers. Therefore,
+ * implementations must be thread-safe and should return quickly.
+ */
+@SuppressWarnings("unused")
+public interface Metrics {
+
+    /**
+     * Status code which is recorded for requests which failed without a HTTP response.
+     */
+    int STATUS_CODE_NONE = 0;
+
+    /**
+     * Records an executed request.
+     *
+     * @param endpoint   The endpoint name. (Name of the API method or of the transfer type.)
+     * @param statusCode The HTTP status code, or {@link #STATUS_CODE_NONE}.
+     * @param duration   The duration in nanoseconds.
+     */
+    void recordRequest(String endpoint, int statusCode, long duration);
+
+    /**
+     * Records a retry of a failed request.
+     *
+     * @param endpoint The endpoint name. (Name of the API method or of the transfer type.)
+     */
+    void recordRetry(String endpoint);
+
+    /**
+     * Records time which a request waited for a permit of the request rate limiter.<br>
+     * <br>
+     * The default implementation does nothing. (It exists so that implementations which were
+     * written before this method was added keep working.)
+     *
+     * @param duration The duration in nanoseconds.
+     */
+    default void recordRateLimitWait(long duration) {
+
+    }
+
+    /**
+     * Records bytes which were sent at an upload.
+     *
+     * @param count The number of bytes.
+     */
+    void recordBytesSent(long count);
+
+    /**
+     * Records bytes which were received at a download.
+     *
+     * @param count The number of bytes.
+     */
+    void recordBytesReceived(long count);
+
+    /**
+     * Records time which was spent for file en/decryption.
+     *
+     * @param duration The duration in nanoseconds.
+     */
+    void recordCryptoTime(long duration);
+
+    /**
+     * Records a retrieval or refresh of the OAuth tokens.
+     */
+    void recordTokenRefresh();
+
+}
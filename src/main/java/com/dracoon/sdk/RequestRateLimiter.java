@@ -0,0 +1,62 @@
+package com.dracoon.sdk;
+
+import com.dracoon.sdk.internal.TokenBucket;
+
+/**
+ * RequestRateLimiter limits the number of requests which are sent to the Dracoon server.<br>
+ * <br>
+ * A request rate limiter can be set via the DracoonClient builder method
+ * {@link DracoonClient.Builder#requestRateLimiter(RequestRateLimiter)}. All requests of the
+ * client (including retries and file transfer requests) take a permit from the limiter before
+ * they are sent. If no permit is available, the requesting thread waits until the rate allows
+ * the request. Bursts are therefore smoothed instead of failed.<br>
+ * <br>
+ * The same instance can be set at multiple clients to limit the overall request rate of an
+ * application. The rate can be changed at runtime.
+ */
+@SuppressWarnings("unused")
+public class RequestRateLimiter {
+
+    private static final long MIN_BUCKET_SIZE = 1L;
+
+    private final TokenBucket mTokenBucket;
+
+    /**
+     * Constructs a new request rate limiter.
+     *
+     * @param rate The maximum number of requests per second. (<code>0</code> means unlimited.)
+     */
+    public RequestRateLimiter(long rate) {
+        mTokenBucket = new TokenBucket(rate, MIN_BUCKET_SIZE);
+    }
+
+    /**
+     * Returns the maximum number of requests per second.
+     *
+     * @return the maximum number of requests per second (<code>0</code> means unlimited)
+     */
+    public long getRate() {
+        return mTokenBucket.getRate();
+    }
+
+    /**
+     * Sets the maximum number of requests per second.
+     *
+     * @param rate The maximum number of requests per second. (<code>0</code> means unlimited.)
+     */
+    public void setRate(long rate) {
+        mTokenBucket.setRate(rate);
+    }
+
+    /**
+     * Takes a permit for one request. Blocks until the rate allows the request.
+     *
+     * @return the time which was waited in nanoseconds
+     *
+     * @throws InterruptedException If the waiting thread was interrupted.
+     */
+    public long acquire() throws InterruptedException {
+        return mTokenBucket.acquire(1L);
+    }
+
+}
@@ -0,0 +1,242 @@
+package com.dracoon.sdk;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TransferBufferPool provides the chunk buffers of uploads, downloads, download streams and byte
+ * channels and limits the memory which is used by them.<br>
+ * <br>
+ * A transfer buffer pool can be set via the DracoonClient builder method
+ * {@link DracoonClient.Builder#transferBufferPool(TransferBufferPool)}. If no pool is set, each
+ * client creates its own pool with the default memory limit.<br>
+ * <br>
+ * Buffers are organized in size classes (powers of two between 4 KiB and 1 GiB). Released
+ * buffers are kept and handed out again, so that the chunks of transfers do not need to be
+ * allocated again and again. If the memory limit is reached, a transfer waits before it reads its
+ * next chunk until another transfer released a buffer. Kept buffers which are not used are
+ * dropped if memory for a buffer of another size class is needed.<br>
+ * <br>
+ * Download streams and byte channels keep buffers while they are open (prefetched chunks and
+ * cached blocks). If the memory limit is reached, the pool asks them to hand back these buffers
+ * (see {@link BufferKeeper}). So, idle streams and channels do not block other transfers.<br>
+ * <br>
+ * The same instance can be set at multiple clients to limit the overall transfer memory of an
+ * application.
+ */
+@SuppressWarnings("unused")
+public class TransferBufferPool {
+
+    private static final int MIN_SIZE_SHIFT = 12;
+    private static final int MAX_SIZE_SHIFT = 30;
+
+    private static final int DEFAULT_MEMORY_LIMIT_DIVISOR = 4;
+
+    private static final long KEEPER_TRIM_INTERVAL = TimeUnit.SECONDS.toNanos(1L);
+
+    /**
+     * A holder of buffers which are kept for later use, like the cached blocks of a byte channel
+     * or the prefetched chunks of a download stream.<br>
+     * <br>
+     * If a buffer is requested and the memory limit is reached, the pool asks the registered
+     * keepers to hand back their kept buffers. (If memory is still missing, keepers are asked
+     * again at most every second while the request waits.)
+     */
+    public interface BufferKeeper {
+
+        /**
+         * Hands back the kept buffers via {@link TransferBufferPool#release(byte[])}. Buffers
+         * which are currently in use are not handed back.<br>
+         * <br>
+         * The method is called by the thread which requested a buffer. It must not wait for
+         * other threads.
+         */
+        void trimBuffers();
+
+    }
+
+    private final long mMemoryLimit;
+
+    private long mMemoryInUse;
+    private long mMemoryPooled;
+
+    private final List<Deque<byte[]>> mFreeBuffers = new ArrayList<>();
+    private final Set<BufferKeeper> mKeepers = new LinkedHashSet<>();
+
+    /**
+     * Constructs a new transfer buffer pool with a memory limit of a quarter of the maximum heap
+     * size.
+     */
+    public TransferBufferPool() {
+        this(Runtime.getRuntime().maxMemory() / DEFAULT_MEMORY_LIMIT_DIVISOR);
+    }
+
+    /**
+     * Constructs a new transfer buffer pool.
+     *
+     * @param memoryLimit The maximum number of bytes of all buffers (in use and kept). (Must be
+     *                    positive. A single buffer larger than the limit is still handed out if
+     *                    no other buffer is in use.)
+     */
+    public TransferBufferPool(long memoryLimit) {
+        if (memoryLimit <= 0L) {
+            throw new IllegalArgumentException("Memory limit must be positive.");
+        }
+        mMemoryLimit = memoryLimit;
+        for (int i = MIN_SIZE_SHIFT; i <= MAX_SIZE_SHIFT; i++) {
+            mFreeBuffers.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Returns the maximum number of bytes of all buffers.
+     *
+     * @return the memory limit
+     */
+    public long getMemoryLimit() {
+        return mMemoryLimit;
+    }
+
+    /**
+     * Returns the number of bytes of the buffers which are currently in use.
+     *
+     * @return the number of bytes in use
+     */
+    public synchronized long getMemoryInUse() {
+        return mMemoryInUse;
+    }
+
+    /**
+     * Returns the number of bytes of the buffers which are currently kept for reuse.
+     *
+     * @return the number of bytes kept
+     */
+    public synchronized long getMemoryPooled() {
+        return mMemoryPooled;
+    }
+
+    /**
+     * Registers a keeper of buffers.
+     *
+     * @param keeper The keeper.
+     */
+    public synchronized void addKeeper(BufferKeeper keeper) {
+        mKeepers.add(keeper);
+    }
+
+    /**
+     * Unregisters a keeper of buffers.
+     *
+     * @param keeper The keeper.
+     */
+    public synchronized void removeKeeper(BufferKeeper keeper) {
+        mKeepers.remove(keeper);
+    }
+
+    /**
+     * Takes a buffer of at least the requested size. Blocks until enough memory is available.
+     * (If the memory limit is reached, the registered keepers are asked to hand back their kept
+     * buffers first.)<br>
+     * <br>
+     * The returned buffer can be larger than requested. It must be handed back via
+     * {@link #release(byte[])} once it is no longer used.
+     *
+     * @param size The minimum size of the buffer. (Must be between 1 and 1 GiB.)
+     *
+     * @return the buffer
+     *
+     * @throws InterruptedException If the waiting thread was interrupted.
+     */
+    public byte[] acquire(int size) throws InterruptedException {
+        int sizeClass = getSizeClass(size);
+        int bufferSize = 1 << (sizeClass + MIN_SIZE_SHIFT);
+
+        long trimTime = 0L;
+        while (true) {
+            List<BufferKeeper> keepers;
+            synchronized (this) {
+                if (mMemoryInUse == 0L || mMemoryInUse + bufferSize <= mMemoryLimit) {
+                    mMemoryInUse = mMemoryInUse + bufferSize;
+
+                    byte[] buffer = mFreeBuffers.get(sizeClass).poll();
+                    if (buffer != null) {
+                        mMemoryPooled = mMemoryPooled - bufferSize;
+                        return buffer;
+                    }
+
+                    trimPool(mMemoryLimit - mMemoryInUse);
+                    break;
+                }
+
+                long trimWaitTime = trimTime != 0L ? KEEPER_TRIM_INTERVAL -
+                        (System.nanoTime() - trimTime) : 0L;
+                if (mKeepers.isEmpty()) {
+                    wait();
+                    continue;
+                } else if (trimWaitTime > 0L) {
+                    TimeUnit.NANOSECONDS.timedWait(this, trimWaitTime);
+                    continue;
+                }
+                keepers = new ArrayList<>(mKeepers);
+            }
+
+            // Keepers hand back their buffers via release(). Therefore, they are asked outside of
+            // the lock.
+            trimTime = System.nanoTime();
+            for (BufferKeeper keeper : keepers) {
+                keeper.trimBuffers();
+            }
+        }
+
+        // Allocation happens outside of the lock, so that other transfers are not blocked
+        return new byte[bufferSize];
+    }
+
+    /**
+     * Hands back a buffer which was taken via {@link #acquire(int)}.
+     *
+     * @param buffer The buffer.
+     */
+    public synchronized void release(byte[] buffer) {
+        if (buffer == null) {
+            return;
+        }
+
+        int bufferSize = buffer.length;
+        mMemoryInUse = mMemoryInUse - bufferSize;
+
+        int sizeClass = getSizeClass(bufferSize);
+        if (bufferSize == 1 << (sizeClass + MIN_SIZE_SHIFT) &&
+                mMemoryInUse + mMemoryPooled + bufferSize <= mMemoryLimit) {
+            mFreeBuffers.get(sizeClass).push(buffer);
+            mMemoryPooled = mMemoryPooled + bufferSize;
+        }
+
+        notifyAll();
+    }
+
+    // Drops kept buffers (largest first) until they fit into the given number of bytes
+    private void trimPool(long maxPooled) {
+        for (int i = mFreeBuffers.size() - 1; i >= 0 && mMemoryPooled > maxPooled; i--) {
+            Deque<byte[]> freeBuffers = mFreeBuffers.get(i);
+            while (!freeBuffers.isEmpty() && mMemoryPooled > maxPooled) {
+                mMemoryPooled = mMemoryPooled - freeBuffers.pop().length;
+            }
+        }
+    }
+
+    private static int getSizeClass(int size) {
+        if (size <= 0 || size > 1 << MAX_SIZE_SHIFT) {
+            throw new IllegalArgumentException("Buffer size must be between 1 and " +
+                    (1 << MAX_SIZE_SHIFT) + ".");
+        }
+        int shift = 32 - Integer.numberOfLeadingZeros(size - 1);
+        return Math.max(shift, MIN_SIZE_SHIFT) - MIN_SIZE_SHIFT;
+    }
+
+}
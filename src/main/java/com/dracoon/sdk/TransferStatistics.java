@@ -0,0 +1,383 @@
+package com.dracoon.sdk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TransferStatistics keeps statistics of the uploads and downloads of one or more clients.<br>
+ * <br>
+ * A statistics instance can be set via the DracoonClient builder method
+ * {@link DracoonClient.Builder#transferStatistics(TransferStatistics)}. The same instance can be
+ * set at multiple clients to get the statistics of all transfers of an application.<br>
+ * <br>
+ * Transfers only update counters. Throughput values are moving averages which are computed when
+ * they are queried. Therefore, the statistics can be queried at any time (e.g. to export them to
+ * a monitoring system) without slowing down the transfers. The throughput of a transfer or
+ * direction is averaged over the smoothing time; older samples lose weight exponentially.<br>
+ * <br>
+ * The methods {@link #startTransfer(String, Direction, long)},
+ * {@link Transfer#setBytesTransferred(long)}, {@link Transfer#setBytesTotal(long)} and
+ * {@link #finishTransfer(Transfer, boolean)} are called by the SDK.
+ */
+@SuppressWarnings("unused")
+public class TransferStatistics {
+
+    private static final long DEFAULT_SMOOTHING_TIME = 5000L;
+
+    private static final long NANOS_PER_MILLI = 1000000L;
+    private static final long NANOS_PER_SECOND = 1000000000L;
+
+    /**
+     * Transfer direction.
+     */
+    public enum Direction {
+        UPLOAD,
+        DOWNLOAD
+    }
+
+    // Exponentially weighted moving average of a byte counter. The average is only updated when
+    // it is queried. The weight of the new interval depends on its length, so that the result
+    // does not depend on how often the average is queried.
+    private static class RateEstimator {
+
+        private final double mSmoothingTime;
+
+        private long mSampleTime;
+        private long mSampleBytes;
+        private double mRate = -1.0;
+
+        RateEstimator(long smoothingTime, long startTime) {
+            mSmoothingTime = smoothingTime * NANOS_PER_MILLI;
+            mSampleTime = startTime;
+        }
+
+        synchronized long getRate(long bytes, long time) {
+            long interval = time - mSampleTime;
+            if (interval <= 0L) {
+                return Math.max(0L, (long) mRate);
+            }
+
+            double intervalRate = (double) (bytes - mSampleBytes) * NANOS_PER_SECOND / interval;
+            if (mRate < 0.0) {
+                mRate = intervalRate;
+            } else {
+                double weight = 1.0 - Math.exp(-interval / mSmoothingTime);
+                mRate = mRate + (intervalRate - mRate) * weight;
+            }
+
+            mSampleTime = time;
+            mSampleBytes = bytes;
+            return (long) mRate;
+        }
+
+    }
+
+    /**
+     * Statistics of a single transfer.
+     */
+    public static class Transfer {
+
+        private final TransferStatistics mStatistics;
+        private final String mId;
+        private final Direction mDirection;
+        private final long mStartTime;
+        private final RateEstimator mRateEstimator;
+
+        private volatile long mBytesTotal;
+        private volatile long mBytesTransferred;
+
+        private Transfer(TransferStatistics statistics, String id, Direction direction,
+                long bytesTotal) {
+            mStatistics = statistics;
+            mId = id;
+            mDirection = direction;
+            mStartTime = System.currentTimeMillis();
+            mRateEstimator = new RateEstimator(statistics.mSmoothingTime, System.nanoTime());
+            mBytesTotal = bytesTotal;
+        }
+
+        /**
+         * Returns the ID of the transfer.
+         *
+         * @return the transfer ID
+         */
+        public String getId() {
+            return mId;
+        }
+
+        /**
+         * Returns the direction of the transfer.
+         *
+         * @return the direction
+         */
+        public Direction getDirection() {
+            return mDirection;
+        }
+
+        /**
+         * Returns the start time of the transfer.
+         *
+         * @return the start time in milliseconds since epoch
+         */
+        public long getStartTime() {
+            return mStartTime;
+        }
+
+        /**
+         * Returns the size of the transferred content.
+         *
+         * @return the size in bytes (<code>-1</code> if unknown)
+         */
+        public long getBytesTotal() {
+            return mBytesTotal;
+        }
+
+        /**
+         * Sets the size of the transferred content, once it is known.
+         *
+         * @param bytesTotal The size in bytes.
+         */
+        public void setBytesTotal(long bytesTotal) {
+            mBytesTotal = bytesTotal;
+        }
+
+        /**
+         * Returns the number of bytes which were transferred so far.
+         *
+         * @return the number of bytes
+         */
+        public long getBytesTransferred() {
+            return mBytesTransferred;
+        }
+
+        /**
+         * Sets the number of bytes which were transferred so far. (If a chunk is repeated, the
+         * value can decrease.)
+         *
+         * @param bytesTransferred The number of bytes.
+         */
+        public void setBytesTransferred(long bytesTransferred) {
+            long previousBytesTransferred = mBytesTransferred;
+            mBytesTransferred = bytesTransferred;
+            if (bytesTransferred > previousBytesTransferred) {
+                mStatistics.getBytesCounter(mDirection).add(bytesTransferred -
+                        previousBytesTransferred);
+            }
+        }
+
+        /**
+         * Returns the number of bytes which still have to be transferred.
+         *
+         * @return the number of bytes (<code>-1</code> if the size is unknown)
+         */
+        public long getBytesRemaining() {
+            long bytesTotal = mBytesTotal;
+            return bytesTotal >= 0L ? Math.max(0L, bytesTotal - mBytesTransferred) : -1L;
+        }
+
+        /**
+         * Returns the average throughput of the transfer.
+         *
+         * @return the throughput in bytes per second
+         */
+        public long getThroughput() {
+            return mRateEstimator.getRate(mBytesTransferred, System.nanoTime());
+        }
+
+        /**
+         * Returns the estimated remaining time of the transfer.
+         *
+         * @return the remaining time in milliseconds (<code>-1</code> if it cannot be estimated)
+         */
+        public long getEta() {
+            return estimateTime(getBytesRemaining(), getThroughput());
+        }
+
+    }
+
+    private final long mSmoothingTime;
+
+    private final Set<Transfer> mActiveTransfers = ConcurrentHashMap.newKeySet();
+    private final LongAdder mBytesUploaded = new LongAdder();
+    private final LongAdder mBytesDownloaded = new LongAdder();
+    private final LongAdder mFinishedCount = new LongAdder();
+    private final LongAdder mFailedCount = new LongAdder();
+    private final RateEstimator mUploadRateEstimator;
+    private final RateEstimator mDownloadRateEstimator;
+
+    /**
+     * Constructs a new statistics instance with a smoothing time of 5 seconds.
+     */
+    public TransferStatistics() {
+        this(DEFAULT_SMOOTHING_TIME);
+    }
+
+    /**
+     * Constructs a new statistics instance.
+     *
+     * @param smoothingTime The time over which throughput values are averaged in milliseconds.
+     *                      (Must be positive.)
+     */
+    public TransferStatistics(long smoothingTime) {
+        if (smoothingTime <= 0L) {
+            throw new IllegalArgumentException("Smoothing time must be positive.");
+        }
+        mSmoothingTime = smoothingTime;
+        long startTime = System.nanoTime();
+        mUploadRateEstimator = new RateEstimator(smoothingTime, startTime);
+        mDownloadRateEstimator = new RateEstimator(smoothingTime, startTime);
+    }
+
+    /**
+     * Registers a new transfer.
+     *
+     * @param id         The ID of the transfer.
+     * @param direction  The direction of the transfer.
+     * @param bytesTotal The size of the transferred content. (<code>-1</code> if unknown.)
+     *
+     * @return the statistics of the transfer
+     */
+    public Transfer startTransfer(String id, Direction direction, long bytesTotal) {
+        Transfer transfer = new Transfer(this, id, direction, bytesTotal);
+        mActiveTransfers.add(transfer);
+        return transfer;
+    }
+
+    /**
+     * Unregisters a finished, failed or canceled transfer.
+     *
+     * @param transfer   The statistics of the transfer.
+     * @param successful <code>true</code> if the transfer finished successfully;
+     *                   <code>false</code> otherwise.
+     */
+    public void finishTransfer(Transfer transfer, boolean successful) {
+        if (!mActiveTransfers.remove(transfer)) {
+            return;
+        }
+        if (successful) {
+            mFinishedCount.increment();
+        } else {
+            mFailedCount.increment();
+        }
+    }
+
+    /**
+     * Returns the statistics of all running transfers.
+     *
+     * @return list of transfer statistics
+     */
+    public List<Transfer> getActiveTransfers() {
+        return new ArrayList<>(mActiveTransfers);
+    }
+
+    /**
+     * Returns the number of running transfers.
+     *
+     * @return the number of transfers
+     */
+    public int getActiveCount() {
+        return mActiveTransfers.size();
+    }
+
+    /**
+     * Returns the number of transfers which finished successfully.
+     *
+     * @return the number of transfers
+     */
+    public long getFinishedCount() {
+        return mFinishedCount.sum();
+    }
+
+    /**
+     * Returns the number of transfers which failed or were canceled.
+     *
+     * @return the number of transfers
+     */
+    public long getFailedCount() {
+        return mFailedCount.sum();
+    }
+
+    /**
+     * Returns the number of bytes which still have to be transferred by the running transfers.
+     * (Transfers whose size is not known yet are not included.)
+     *
+     * @return the number of bytes
+     */
+    public long getQueuedBytes() {
+        long queuedBytes = 0L;
+        for (Transfer transfer : mActiveTransfers) {
+            long bytesRemaining = transfer.getBytesRemaining();
+            if (bytesRemaining > 0L) {
+                queuedBytes = queuedBytes + bytesRemaining;
+            }
+        }
+        return queuedBytes;
+    }
+
+    /**
+     * Returns the number of bytes which were transferred in a direction so far.
+     *
+     * @param direction The direction.
+     *
+     * @return the number of bytes
+     */
+    public long getBytesTransferred(Direction direction) {
+        return getBytesCounter(direction).sum();
+    }
+
+    /**
+     * Returns the average throughput of all transfers of a direction.
+     *
+     * @param direction The direction.
+     *
+     * @return the throughput in bytes per second
+     */
+    public long getThroughput(Direction direction) {
+        RateEstimator rateEstimator = direction == Direction.UPLOAD ? mUploadRateEstimator :
+                mDownloadRateEstimator;
+        return rateEstimator.getRate(getBytesTransferred(direction), System.nanoTime());
+    }
+
+    /**
+     * Returns the estimated time until all running transfers are finished. (Transfers whose size
+     * is not known yet are not included.)
+     *
+     * @return the remaining time in milliseconds (<code>-1</code> if it cannot be estimated)
+     */
+    public long getEta() {
+        long eta = -1L;
+        for (Direction direction : Direction.values()) {
+            long queuedBytes = 0L;
+            for (Transfer transfer : mActiveTransfers) {
+                long bytesRemaining = transfer.getBytesRemaining();
+                if (transfer.mDirection == direction && bytesRemaining > 0L) {
+                    queuedBytes = queuedBytes + bytesRemaining;
+                }
+            }
+            if (queuedBytes == 0L) {
+                continue;
+            }
+            long directionEta = estimateTime(queuedBytes, getThroughput(direction));
+            if (directionEta < 0L) {
+                return -1L;
+            }
+            eta = Math.max(eta, directionEta);
+        }
+        return Math.max(eta, 0L);
+    }
+
+    private LongAdder getBytesCounter(Direction direction) {
+        return direction == Direction.UPLOAD ? mBytesUploaded : mBytesDownloaded;
+    }
+
+    private static long estimateTime(long bytes, long throughput) {
+        if (bytes < 0L || throughput <= 0L) {
+            return bytes == 0L ? 0L : -1L;
+        }
+        return bytes * 1000L / throughput;
+    }
+
+}
@@ -67,6 +67,7 @@ public enum DracoonApiCode {
     VALIDATION_ROOM_NOT_ENCRYPTED(-3118, "Room not encrypted."),
     VALIDATION_SOURCE_ROOM_ENCRYPTED(-3119, "Encrypted files can\'t be copied or moved to an not encrypted room."),
     VALIDATION_TARGET_ROOM_ENCRYPTED(-3120, "Not encrypted files can\'t be copied or moved to an encrypted room."),
+    VALIDATION_FILE_ENCRYPTED_NO_RANDOM_ACCESS(-3121, "Encrypted files can\'t be accessed randomly."),
     // Shares
     VALIDATION_DL_SHARE_CAN_NOT_CREATE_ON_ENCRYPTED_ROOM_FOLDER(-3200, "A download share can\'t be created on a encrypted room or folder."),
     VALIDATION_UL_SHARE_NAME_ALREADY_EXISTS(-3201, "Upload share name already exits."),
@@ -0,0 +1,42 @@
+package com.dracoon.sdk.error;
+
+/**
+ * Signals that the content of a transfer does not match the hash reported by the server.
+ */
+public class DracoonNetIntegrityException extends DracoonNetIOException {
+
+    private static final long serialVersionUID = 4217730923406316812L;
+
+    /**
+     * Constructs a new exception with <code>null</code> as its detail message. The cause is not
+     * initialized, and may subsequently be initialized by a call to {@link #initCause}.
+     */
+    public DracoonNetIntegrityException() {
+
+    }
+
+    /**
+     * Constructs a new exception with the specified detail message. The cause is not initialized,
+     * and may subsequently be initialized by a call to {@link #initCause}.
+     *
+     * @param message The detail message. The detail message is saved for later retrieval by the
+     *                {@link #getMessage()} method.
+     */
+    public DracoonNetIntegrityException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new exception with the specified detail message and cause.<br>
+     *
+     * @param message The detail message (which is saved for later retrieval by the
+     *                {@link #getMessage()} method).
+     * @param cause The cause (which is saved for later retrieval by the
+     *              {@link #getCause()} method). (A <code>null</code> value is permitted, and
+     *              indicates that the cause is nonexistent or unknown.)
+     */
+    public DracoonNetIntegrityException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
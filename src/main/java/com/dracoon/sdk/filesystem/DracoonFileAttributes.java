@@ -0,0 +1,104 @@
+package com.dracoon.sdk.filesystem;
+
+import com.dracoon.sdk.model.Node;
+import com.dracoon.sdk.model.NodeType;
+
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+class DracoonFileAttributes implements BasicFileAttributes {
+
+    static final String VIEW_BASIC = "basic";
+
+    private static final FileTime EPOCH = FileTime.fromMillis(0L);
+
+    private final Node mNode;
+
+    // A node of null represents the root directory
+    DracoonFileAttributes(Node node) {
+        mNode = node;
+    }
+
+    @Override
+    public FileTime lastModifiedTime() {
+        if (mNode == null) {
+            return EPOCH;
+        }
+        Date date = mNode.getUpdatedAt() != null ? mNode.getUpdatedAt() : mNode.getCreatedAt();
+        return toFileTime(date);
+    }
+
+    @Override
+    public FileTime lastAccessTime() {
+        return lastModifiedTime();
+    }
+
+    @Override
+    public FileTime creationTime() {
+        return mNode != null ? toFileTime(mNode.getCreatedAt()) : EPOCH;
+    }
+
+    @Override
+    public boolean isRegularFile() {
+        return mNode != null && mNode.getType() == NodeType.FILE;
+    }
+
+    @Override
+    public boolean isDirectory() {
+        return !isRegularFile();
+    }
+
+    @Override
+    public boolean isSymbolicLink() {
+        return false;
+    }
+
+    @Override
+    public boolean isOther() {
+        return false;
+    }
+
+    @Override
+    public long size() {
+        return mNode != null && mNode.getSize() != null ? mNode.getSize() : 0L;
+    }
+
+    @Override
+    public Object fileKey() {
+        return mNode != null ? mNode.getId() : 0L;
+    }
+
+    Map<String, Object> toMap(String attributes) {
+        Map<String, Object> all = new HashMap<>();
+        all.put("lastModifiedTime", lastModifiedTime());
+        all.put("lastAccessTime", lastAccessTime());
+        all.put("creationTime", creationTime());
+        all.put("size", size());
+        all.put("isRegularFile", isRegularFile());
+        all.put("isDirectory", isDirectory());
+        all.put("isSymbolicLink", isSymbolicLink());
+        all.put("isOther", isOther());
+        all.put("fileKey", fileKey());
+
+        Map<String, Object> map = new HashMap<>();
+        for (String name : attributes.split(",")) {
+            name = name.trim();
+            if (name.equals("*")) {
+                map.putAll(all);
+            } else if (all.containsKey(name)) {
+                map.put(name, all.get(name));
+            } else {
+                throw new IllegalArgumentException("Unknown attribute '" + name + "'.");
+            }
+        }
+        return map;
+    }
+
+    private static FileTime toFileTime(Date date) {
+        return date != null ? FileTime.fromMillis(date.getTime()) : EPOCH;
+    }
+
+}
@@ -0,0 +1,213 @@
+package com.dracoon.sdk.filesystem;
+
+import com.dracoon.sdk.DracoonClient;
+
+import java.nio.file.FileStore;
+import java.nio.file.FileSystem;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.UserPrincipalLookupService;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+final class DracoonFileSystem extends FileSystem {
+
+    private static final String SYNTAX_GLOB = "glob";
+    private static final String SYNTAX_REGEX = "regex";
+
+    private static final Set<Character> REGEX_META_CHARS = new HashSet<>();
+    static {
+        for (char c : "\\^$.|?*+()[]{}".toCharArray()) {
+            REGEX_META_CHARS.add(c);
+        }
+    }
+
+    private final DracoonFileSystemProvider mProvider;
+    private final String mAuthority;
+    private final DracoonClient mClient;
+    private final NodeResolver mNodeResolver;
+    private final DracoonPath mRootPath;
+
+    private volatile boolean mIsOpen = true;
+
+    DracoonFileSystem(DracoonFileSystemProvider provider, String authority, DracoonClient client,
+            long cacheTtl) {
+        mProvider = provider;
+        mAuthority = authority;
+        mClient = client;
+        mNodeResolver = new NodeResolver(client.nodes(), cacheTtl);
+        mRootPath = DracoonPath.parse(this, DracoonPath.SEPARATOR);
+    }
+
+    String getAuthority() {
+        return mAuthority;
+    }
+
+    DracoonClient getClient() {
+        return mClient;
+    }
+
+    NodeResolver getNodeResolver() {
+        return mNodeResolver;
+    }
+
+    DracoonPath getRootPath() {
+        return mRootPath;
+    }
+
+    // --- FileSystem methods ---
+
+    @Override
+    public DracoonFileSystemProvider provider() {
+        return mProvider;
+    }
+
+    @Override
+    public void close() {
+        if (!mIsOpen) {
+            return;
+        }
+        mIsOpen = false;
+        mNodeResolver.clear();
+        mProvider.removeFileSystem(mAuthority);
+    }
+
+    @Override
+    public boolean isOpen() {
+        return mIsOpen;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return false;
+    }
+
+    @Override
+    public String getSeparator() {
+        return DracoonPath.SEPARATOR;
+    }
+
+    @Override
+    public Iterable<Path> getRootDirectories() {
+        return Collections.singletonList(mRootPath);
+    }
+
+    @Override
+    public Iterable<FileStore> getFileStores() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Set<String> supportedFileAttributeViews() {
+        return Collections.singleton(DracoonFileAttributes.VIEW_BASIC);
+    }
+
+    @Override
+    public Path getPath(String first, String... more) {
+        StringBuilder sb = new StringBuilder(first);
+        for (String segment : more) {
+            if (!segment.isEmpty()) {
+                sb.append(DracoonPath.SEPARATOR).append(segment);
+            }
+        }
+        return DracoonPath.parse(this, sb.toString());
+    }
+
+    @Override
+    public PathMatcher getPathMatcher(String syntaxAndPattern) {
+        int pos = syntaxAndPattern.indexOf(':');
+        if (pos <= 0) {
+            throw new IllegalArgumentException("Syntax and pattern must be separated by ':'.");
+        }
+
+        String syntax = syntaxAndPattern.substring(0, pos);
+        String pattern = syntaxAndPattern.substring(pos + 1);
+        String regex;
+        if (syntax.equalsIgnoreCase(SYNTAX_GLOB)) {
+            regex = globToRegex(pattern);
+        } else if (syntax.equalsIgnoreCase(SYNTAX_REGEX)) {
+            regex = pattern;
+        } else {
+            throw new UnsupportedOperationException("Syntax '" + syntax + "' is not supported.");
+        }
+
+        Pattern p = Pattern.compile(regex);
+        return path -> p.matcher(path.toString()).matches();
+    }
+
+    @Override
+    public UserPrincipalLookupService getUserPrincipalLookupService() {
+        throw new UnsupportedOperationException("User principals are not supported.");
+    }
+
+    @Override
+    public WatchService newWatchService() {
+        throw new UnsupportedOperationException("Watching paths is not supported.");
+    }
+
+    // --- Helper methods ---
+
+    private static String globToRegex(String glob) {
+        StringBuilder sb = new StringBuilder();
+        boolean inGroup = false;
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            switch (c) {
+                case '*':
+                    if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                        sb.append(".*");
+                        i++;
+                    } else {
+                        sb.append("[^/]*");
+                    }
+                    break;
+                case '?':
+                    sb.append("[^/]");
+                    break;
+                case '{':
+                    sb.append("(?:");
+                    inGroup = true;
+                    break;
+                case '}':
+                    sb.append(')');
+                    inGroup = false;
+                    break;
+                case ',':
+                    sb.append(inGroup ? "|" : ",");
+                    break;
+                case '[':
+                    int end = glob.indexOf(']', i + 1);
+                    if (end < 0) {
+                        throw new IllegalArgumentException("Missing ']' in glob pattern.");
+                    }
+                    String set = glob.substring(i + 1, end);
+                    if (set.startsWith("!")) {
+                        set = "^" + set.substring(1);
+                    }
+                    sb.append('[').append(set.replace("\\", "\\\\")).append(']');
+                    i = end;
+                    break;
+                case '\\':
+                    if (i + 1 < glob.length()) {
+                        i++;
+                    }
+                    appendLiteral(sb, glob.charAt(i));
+                    break;
+                default:
+                    appendLiteral(sb, c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void appendLiteral(StringBuilder sb, char c) {
+        if (REGEX_META_CHARS.contains(c)) {
+            sb.append('\\');
+        }
+        sb.append(c);
+    }
+
+}
@@ -0,0 +1,696 @@
+package com.dracoon.sdk.filesystem;
+
+import com.dracoon.sdk.DracoonClient;
+import com.dracoon.sdk.error.DracoonException;
+import com.dracoon.sdk.internal.DracoonConstants;
+import com.dracoon.sdk.model.CopyNodesRequest;
+import com.dracoon.sdk.model.CreateFolderRequest;
+import com.dracoon.sdk.model.DeleteNodesRequest;
+import com.dracoon.sdk.model.FileUploadRequest;
+import com.dracoon.sdk.model.MoveNodesRequest;
+import com.dracoon.sdk.model.Node;
+import com.dracoon.sdk.model.NodePermissions;
+import com.dracoon.sdk.model.NodeType;
+import com.dracoon.sdk.model.ResolutionStrategy;
+import com.dracoon.sdk.model.UpdateFileRequest;
+import com.dracoon.sdk.model.UpdateFolderRequest;
+import com.dracoon.sdk.model.UpdateRoomRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.AccessMode;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.ClosedFileSystemException;
+import java.nio.file.CopyOption;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileStore;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.ProviderMismatchException;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.FileAttributeView;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.spi.FileSystemProvider;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * FileSystemProvider for the scheme <code>dracoon</code>.<br>
+ * <br>
+ * The provider makes rooms, folders and files available via the NIO file API, so that code which
+ * uses {@link java.nio.file.Files Files} (e.g. {@code Files.walk}, {@code Files.copy},
+ * {@code Files.newByteChannel}) can operate on DRACOON nodes. Rooms are the directories below the
+ * root directory.<br>
+ * <br>
+ * File systems are created with a URI of the form <code>dracoon://&lt;host&gt;</code> and an
+ * environment which contains the {@link DracoonClient} under the key {@link #ENV_CLIENT}:<br>
+ * <br>
+ * <code>
+ * Map&lt;String, Object&gt; env = Collections.singletonMap("client", client);<br>
+ * FileSystem fs = FileSystems.newFileSystem(URI.create("dracoon://dracoon.team"), env);<br>
+ * Files.walk(fs.getPath("/Room/Folder")).forEach(System.out::println);
+ * </code><br>
+ * <br>
+ * Notes:<br>
+ * - Node metadata is cached. Changes which are made outside of the file system become visible
+ *   when the cache entries expired. (See {@link #ENV_CACHE_TTL}.)<br>
+ * - Files are written sequentially. The content is uploaded while it is written and the file is
+ *   created when the channel or stream is closed. Appending is not supported.<br>
+ * - Rooms can not be created via the file system. Files can not be stored in the root
+ *   directory.<br>
+ * - Only the <code>basic</code> file attribute view is supported. Attributes are read-only.
+ */
+public class DracoonFileSystemProvider extends FileSystemProvider {
+
+    /**
+     * The URI scheme of the provider.
+     */
+    public static final String SCHEME = "dracoon";
+
+    /**
+     * Environment key for the {@link DracoonClient} which is used by the file system.
+     * (Mandatory.)
+     */
+    public static final String ENV_CLIENT = "client";
+
+    /**
+     * Environment key for the time to live of cached node metadata in milliseconds.
+     * (Optional; Default: 30 seconds)
+     */
+    public static final String ENV_CACHE_TTL = "cacheTtl";
+
+    private static final String STREAM_ID_PREFIX = "fs-copy-";
+    private static final String TEMP_NAME_PREFIX = ".dracoon-move-";
+
+    private final Map<String, DracoonFileSystem> mFileSystems = new HashMap<>();
+
+    /**
+     * Constructs a new file system provider.
+     */
+    public DracoonFileSystemProvider() {
+
+    }
+
+    // --- File system methods ---
+
+    @Override
+    public String getScheme() {
+        return SCHEME;
+    }
+
+    @Override
+    public FileSystem newFileSystem(URI uri, Map<String, ?> env) {
+        String authority = getAuthority(uri);
+
+        Object client = env.get(ENV_CLIENT);
+        if (!(client instanceof DracoonClient)) {
+            throw new IllegalArgumentException("Environment must contain a DRACOON client.");
+        }
+
+        long cacheTtl = DracoonConstants.DEFAULT_FILE_SYSTEM_CACHE_TTL;
+        Object ttl = env.get(ENV_CACHE_TTL);
+        if (ttl instanceof Number) {
+            cacheTtl = ((Number) ttl).longValue();
+        } else if (ttl != null) {
+            throw new IllegalArgumentException("Cache TTL must be a number.");
+        }
+        if (cacheTtl < 0L) {
+            throw new IllegalArgumentException("Cache TTL must be 0 or positive.");
+        }
+
+        synchronized (mFileSystems) {
+            if (mFileSystems.containsKey(authority)) {
+                throw new FileSystemAlreadyExistsException(authority);
+            }
+            DracoonFileSystem fileSystem = new DracoonFileSystem(this, authority,
+                    (DracoonClient) client, cacheTtl);
+            mFileSystems.put(authority, fileSystem);
+            return fileSystem;
+        }
+    }
+
+    @Override
+    public FileSystem getFileSystem(URI uri) {
+        String authority = getAuthority(uri);
+        synchronized (mFileSystems) {
+            DracoonFileSystem fileSystem = mFileSystems.get(authority);
+            if (fileSystem == null) {
+                throw new FileSystemNotFoundException(authority);
+            }
+            return fileSystem;
+        }
+    }
+
+    @Override
+    public Path getPath(URI uri) {
+        String path = uri.getPath();
+        return getFileSystem(uri).getPath(path != null && !path.isEmpty() ? path :
+                DracoonPath.SEPARATOR);
+    }
+
+    void removeFileSystem(String authority) {
+        synchronized (mFileSystems) {
+            mFileSystems.remove(authority);
+        }
+    }
+
+    private static String getAuthority(URI uri) {
+        if (!SCHEME.equalsIgnoreCase(uri.getScheme())) {
+            throw new IllegalArgumentException("URI scheme must be '" + SCHEME + "'.");
+        }
+        if (uri.getAuthority() == null || uri.getAuthority().isEmpty()) {
+            throw new IllegalArgumentException("URI must contain an authority.");
+        }
+        return uri.getAuthority().toLowerCase();
+    }
+
+    // --- Content methods ---
+
+    @Override
+    public InputStream newInputStream(Path path, OpenOption... options) throws IOException {
+        for (OpenOption option : options) {
+            if (option == StandardOpenOption.WRITE || option == StandardOpenOption.APPEND) {
+                throw new UnsupportedOperationException("Option '" + option + "' is not " +
+                        "supported for input streams.");
+            }
+        }
+
+        DracoonPath p = toNormalizedPath(path);
+        Node node = resolveFile(p);
+        return openInputStream(p, node);
+    }
+
+    @Override
+    public SeekableByteChannel newByteChannel(Path path, Set<? extends OpenOption> options,
+            FileAttribute<?>... attrs) throws IOException {
+        if (attrs.length > 0) {
+            throw new UnsupportedOperationException("File attributes are not supported.");
+        }
+        if (options.contains(StandardOpenOption.APPEND)) {
+            throw new UnsupportedOperationException("Appending to files is not supported.");
+        }
+
+        DracoonPath p = toNormalizedPath(path);
+        boolean write = options.contains(StandardOpenOption.WRITE);
+        if (write && options.contains(StandardOpenOption.READ)) {
+            throw new UnsupportedOperationException("Files can not be opened for reading and " +
+                    "writing.");
+        }
+
+        return write ? newWriteChannel(p, options) : newReadChannel(p);
+    }
+
+    private SeekableByteChannel newReadChannel(DracoonPath path) throws IOException {
+        Node node = resolveFile(path);
+        long size = node.getSize() != null ? node.getSize() : 0L;
+
+        // Random access is only possible for unencrypted files
+        if (!Boolean.TRUE.equals(node.isEncrypted())) {
+            try {
+                return getNodes(path).openByteChannel(node.getId());
+            } catch (DracoonException e) {
+                throw NodeResolver.toIOException(path, e);
+            }
+        }
+
+        return new StreamByteChannel(() -> openInputStream(path, node), size);
+    }
+
+    private SeekableByteChannel newWriteChannel(DracoonPath path,
+            Set<? extends OpenOption> options) throws IOException {
+        NodeResolver resolver = getResolver(path);
+
+        DracoonPath parentPath = path.getParent();
+        if (parentPath == null) {
+            throw new FileSystemException(path.toString(), null, "Root directory can not " +
+                    "be written.");
+        }
+        Node parent = resolver.resolveDirectory(parentPath);
+        if (parent == null) {
+            throw new FileSystemException(path.toString(), null, "Files can not be stored in " +
+                    "the root directory.");
+        }
+
+        Node existing = resolveOrNull(path);
+        boolean createNew = options.contains(StandardOpenOption.CREATE_NEW);
+        if (existing != null) {
+            if (createNew) {
+                throw new FileAlreadyExistsException(path.toString());
+            }
+            if (existing.getType() != NodeType.FILE) {
+                throw new FileSystemException(path.toString(), null, "Is a directory.");
+            }
+        } else if (!createNew && !options.contains(StandardOpenOption.CREATE)) {
+            throw new NoSuchFileException(path.toString());
+        }
+
+        String name = existing != null ? existing.getName() : path.getFileName().toString();
+        FileUploadRequest request = new FileUploadRequest.Builder(parent.getId(), name)
+                .resolutionStrategy(createNew ? ResolutionStrategy.FAIL :
+                        ResolutionStrategy.OVERWRITE)
+                .build();
+
+        resolver.invalidate(path);
+        return new UploadByteChannel(getNodes(path), path, request, node -> {
+            resolver.invalidate(path);
+            if (node != null) {
+                resolver.put(path, node);
+            }
+        });
+    }
+
+    private InputStream openInputStream(DracoonPath path, Node node) throws IOException {
+        try {
+            return getNodes(path).openInputStream(node.getId());
+        } catch (DracoonException e) {
+            throw NodeResolver.toIOException(path, e);
+        }
+    }
+
+    // --- Directory methods ---
+
+    @Override
+    public DirectoryStream<Path> newDirectoryStream(Path dir,
+            DirectoryStream.Filter<? super Path> filter) throws IOException {
+        DracoonPath p = toNormalizedPath(dir);
+        NodeResolver resolver = getResolver(p);
+        Node node = resolver.resolveDirectory(p);
+        return new NodeDirectoryStream(resolver, p, node, filter);
+    }
+
+    @Override
+    public void createDirectory(Path dir, FileAttribute<?>... attrs) throws IOException {
+        if (attrs.length > 0) {
+            throw new UnsupportedOperationException("File attributes are not supported.");
+        }
+
+        DracoonPath p = toNormalizedPath(dir);
+        NodeResolver resolver = getResolver(p);
+        if (p.isRoot() || resolveOrNull(p) != null) {
+            throw new FileAlreadyExistsException(p.toString());
+        }
+
+        Node parent = resolver.resolveDirectory(p.getParent());
+        if (parent == null) {
+            throw new FileSystemException(p.toString(), null, "Rooms can not be created via " +
+                    "the file system.");
+        }
+
+        CreateFolderRequest request = new CreateFolderRequest.Builder(parent.getId(),
+                p.getFileName().toString()).build();
+        Node node;
+        try {
+            node = getNodes(p).createFolder(request);
+        } catch (DracoonException e) {
+            throw NodeResolver.toIOException(p, e);
+        }
+
+        resolver.invalidate(p);
+        resolver.put(p, node);
+    }
+
+    @Override
+    public void delete(Path path) throws IOException {
+        DracoonPath p = toNormalizedPath(path);
+        NodeResolver resolver = getResolver(p);
+        Node node = resolver.resolve(p);
+        if (node == null) {
+            throw new FileSystemException(p.toString(), null, "Root directory can not be " +
+                    "deleted.");
+        }
+
+        if (node.getType() != NodeType.FILE &&
+                !resolver.listChildrenPage(p, node, 0L).getItems().isEmpty()) {
+            throw new DirectoryNotEmptyException(p.toString());
+        }
+
+        deleteNode(p, node);
+    }
+
+    private void deleteNode(DracoonPath path, Node node) throws IOException {
+        DeleteNodesRequest request = new DeleteNodesRequest.Builder(
+                Collections.singletonList(node.getId())).build();
+        try {
+            getNodes(path).deleteNodes(request);
+        } catch (DracoonException e) {
+            throw NodeResolver.toIOException(path, e);
+        } finally {
+            getResolver(path).invalidate(path);
+        }
+    }
+
+    // --- Copy and move methods ---
+
+    @Override
+    public void copy(Path source, Path target, CopyOption... options) throws IOException {
+        transfer(source, target, options, false);
+    }
+
+    @Override
+    public void move(Path source, Path target, CopyOption... options) throws IOException {
+        transfer(source, target, options, true);
+    }
+
+    private void transfer(Path source, Path target, CopyOption[] options, boolean move)
+            throws IOException {
+        List<CopyOption> opts = Arrays.asList(options);
+        if (move && opts.contains(StandardCopyOption.ATOMIC_MOVE)) {
+            throw new AtomicMoveNotSupportedException(source.toString(), target.toString(),
+                    "Atomic moves are not supported.");
+        }
+        boolean replace = opts.contains(StandardCopyOption.REPLACE_EXISTING);
+
+        DracoonPath src = toNormalizedPath(source);
+        DracoonPath tgt = toNormalizedPath(target);
+        if (src.getFileSystem() != tgt.getFileSystem()) {
+            throw new ProviderMismatchException();
+        }
+        if (src.isRoot() || tgt.isRoot()) {
+            throw new FileSystemException(src.toString(), tgt.toString(), "Root directory can " +
+                    "not be copied or moved.");
+        }
+
+        NodeResolver resolver = getResolver(src);
+        Node srcNode = resolver.resolve(src);
+        Node srcParent = resolver.resolve(src.getParent());
+        Node tgtParent = resolver.resolveDirectory(tgt.getParent());
+        String tgtName = tgt.getFileName().toString();
+        boolean sameParent = NodeResolver.getId(srcParent) == NodeResolver.getId(tgtParent);
+        boolean rename = !tgtName.equals(srcNode.getName());
+
+        if (srcNode.getType() != NodeType.FILE && tgt.startsWith(src) && !tgt.equals(src)) {
+            throw new FileSystemException(src.toString(), tgt.toString(), "Directory can not " +
+                    "be copied or moved into itself.");
+        }
+
+        if (tgtParent == null && !(move && sameParent)) {
+            throw new FileSystemException(src.toString(), tgt.toString(), "Nodes can not be " +
+                    "copied or moved to the root directory.");
+        }
+
+        Node tgtNode = resolveOrNull(tgt);
+        if (tgtNode != null && tgtNode.getId().equals(srcNode.getId())) {
+            // Source and target are the same node (e.g. a rename which only changes the case)
+            if (move && rename) {
+                renameNode(src, srcNode, tgtName);
+                resolver.invalidate(src);
+            }
+            return;
+        }
+        if (tgtNode != null) {
+            if (!replace) {
+                throw new FileAlreadyExistsException(tgt.toString());
+            }
+            if (tgtNode.getType() != NodeType.FILE &&
+                    !resolver.listChildrenPage(tgt, tgtNode, 0L).getItems().isEmpty()) {
+                throw new DirectoryNotEmptyException(tgt.toString());
+            }
+            // Files are replaced by the server (see resolution strategy below), so the target is
+            // kept if the operation fails. Only directories, files which are replaced by a
+            // directory and targets of renames (which have no resolution strategy) are deleted.
+            if (tgtNode.getType() != NodeType.FILE || srcNode.getType() != NodeType.FILE ||
+                    (move && rename)) {
+                deleteNode(tgt, tgtNode);
+            }
+        }
+
+        ResolutionStrategy resolutionStrategy = replace ? ResolutionStrategy.OVERWRITE :
+                ResolutionStrategy.FAIL;
+
+        try {
+            if (move && !sameParent && rename) {
+                // An existing target was deleted above
+                moveAndRenameNode(src, srcNode, tgt, tgtParent, tgtName);
+            } else if (move && !sameParent) {
+                moveNode(src, srcNode, tgtParent, resolutionStrategy);
+            } else if (move) {
+                if (rename) {
+                    renameNode(tgt, srcNode, tgtName);
+                }
+            } else if (!sameParent && !rename) {
+                getNodes(src).copyNodes(new CopyNodesRequest.Builder(tgtParent.getId())
+                        .addSourceNodeId(srcNode.getId())
+                        .resolutionStrategy(resolutionStrategy)
+                        .build());
+            } else if (srcNode.getType() == NodeType.FILE) {
+                // The API can not copy nodes under a different name, so the content is streamed
+                copyFileContent(src, srcNode, tgtParent, tgtName, resolutionStrategy);
+            } else {
+                throw new FileSystemException(src.toString(), tgt.toString(), "Directories can " +
+                        "only be copied to another directory under the same name.");
+            }
+        } catch (DracoonException e) {
+            throw NodeResolver.toIOException(src, e);
+        } finally {
+            if (move) {
+                resolver.invalidate(src);
+            }
+            resolver.invalidate(tgt);
+        }
+    }
+
+    private void moveNode(DracoonPath src, Node srcNode, Node tgtParent,
+            ResolutionStrategy resolutionStrategy) throws DracoonException {
+        getNodes(src).moveNodes(new MoveNodesRequest.Builder(tgtParent.getId())
+                .addSourceNodeId(srcNode.getId())
+                .resolutionStrategy(resolutionStrategy)
+                .build());
+    }
+
+    // The API can not move nodes under a different name, so the node is moved under its name and
+    // renamed afterwards. If a node with this name exists in the target directory, the node is
+    // renamed to a temporary name first. (Otherwise, the move would fail or, with a resolution
+    // strategy, affect an unrelated node.)
+    private void moveAndRenameNode(DracoonPath src, Node srcNode, DracoonPath tgt,
+            Node tgtParent, String tgtName) throws IOException, DracoonException {
+        DracoonPath conflictPath = (DracoonPath) tgt.resolveSibling(srcNode.getName());
+        boolean isConflict = resolveOrNull(conflictPath) != null;
+        if (isConflict) {
+            renameNode(src, srcNode, TEMP_NAME_PREFIX + UUID.randomUUID().toString());
+        }
+
+        try {
+            moveNode(src, srcNode, tgtParent, ResolutionStrategy.FAIL);
+        } catch (DracoonException e) {
+            if (isConflict) {
+                try {
+                    renameNode(src, srcNode, srcNode.getName());
+                } catch (IOException re) {
+                    e.addSuppressed(re);
+                }
+            }
+            throw e;
+        }
+
+        renameNode(tgt, srcNode, tgtName);
+    }
+
+    private void renameNode(DracoonPath path, Node node, String name) throws IOException {
+        DracoonClient.Nodes nodes = getNodes(path);
+        try {
+            switch (node.getType()) {
+                case ROOM:
+                    nodes.updateRoom(new UpdateRoomRequest.Builder(node.getId()).name(name)
+                            .build());
+                    break;
+                case FOLDER:
+                    nodes.updateFolder(new UpdateFolderRequest.Builder(node.getId()).name(name)
+                            .build());
+                    break;
+                default:
+                    nodes.updateFile(new UpdateFileRequest.Builder(node.getId()).name(name)
+                            .build());
+            }
+        } catch (DracoonException e) {
+            throw NodeResolver.toIOException(path, e);
+        }
+    }
+
+    private void copyFileContent(DracoonPath src, Node srcNode, Node tgtParent, String tgtName,
+            ResolutionStrategy resolutionStrategy) throws IOException, DracoonException {
+        FileUploadRequest request = new FileUploadRequest.Builder(tgtParent.getId(), tgtName)
+                .resolutionStrategy(resolutionStrategy)
+                .build();
+        long length = srcNode.getSize() != null ? srcNode.getSize() : -1L;
+        String id = STREAM_ID_PREFIX + UUID.randomUUID().toString();
+        try (InputStream is = openInputStream(src, srcNode)) {
+            getNodes(src).uploadFile(id, request, is, length, null);
+        }
+    }
+
+    // --- Attribute methods ---
+
+    @Override
+    public boolean isSameFile(Path path, Path path2) throws IOException {
+        DracoonPath p = toNormalizedPath(path);
+        if (!(path2 instanceof DracoonPath) || path2.getFileSystem() != p.getFileSystem()) {
+            return false;
+        }
+        DracoonPath p2 = toNormalizedPath(path2);
+        if (p.equals(p2)) {
+            return true;
+        }
+        NodeResolver resolver = getResolver(p);
+        return NodeResolver.getId(resolver.resolve(p)) == NodeResolver.getId(resolver.resolve(p2));
+    }
+
+    @Override
+    public boolean isHidden(Path path) {
+        return false;
+    }
+
+    @Override
+    public FileStore getFileStore(Path path) {
+        throw new UnsupportedOperationException("File stores are not supported.");
+    }
+
+    @Override
+    public void checkAccess(Path path, AccessMode... modes) throws IOException {
+        DracoonPath p = toNormalizedPath(path);
+        Node node = getResolver(p).resolve(p);
+        if (node == null) {
+            return;
+        }
+
+        NodePermissions permissions = node.getPermissions();
+        boolean isFile = node.getType() == NodeType.FILE;
+        for (AccessMode mode : modes) {
+            Boolean granted;
+            switch (mode) {
+                case READ:
+                    granted = permissions != null ? permissions.getRead() : null;
+                    break;
+                case WRITE:
+                    granted = permissions != null ? (isFile ? permissions.getChange() :
+                            permissions.getCreate()) : null;
+                    break;
+                default:
+                    granted = !isFile;
+            }
+            if (Boolean.FALSE.equals(granted)) {
+                throw new AccessDeniedException(p.toString());
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V extends FileAttributeView> V getFileAttributeView(Path path, Class<V> type,
+            LinkOption... options) {
+        if (type != BasicFileAttributeView.class) {
+            return null;
+        }
+
+        DracoonPath p = toNormalizedPath(path);
+        return (V) new BasicFileAttributeView() {
+            @Override
+            public String name() {
+                return DracoonFileAttributes.VIEW_BASIC;
+            }
+
+            @Override
+            public BasicFileAttributes readAttributes() throws IOException {
+                return new DracoonFileAttributes(getResolver(p).resolve(p));
+            }
+
+            @Override
+            public void setTimes(FileTime lastModifiedTime, FileTime lastAccessTime,
+                    FileTime createTime) {
+                throw new UnsupportedOperationException("Attributes are read-only.");
+            }
+        };
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <A extends BasicFileAttributes> A readAttributes(Path path, Class<A> type,
+            LinkOption... options) throws IOException {
+        if (type != BasicFileAttributes.class) {
+            throw new UnsupportedOperationException("Attributes of type '" +
+                    type.getSimpleName() + "' are not supported.");
+        }
+
+        DracoonPath p = toNormalizedPath(path);
+        return (A) new DracoonFileAttributes(getResolver(p).resolve(p));
+    }
+
+    @Override
+    public Map<String, Object> readAttributes(Path path, String attributes,
+            LinkOption... options) throws IOException {
+        String view = DracoonFileAttributes.VIEW_BASIC;
+        int pos = attributes.indexOf(':');
+        if (pos > -1) {
+            view = attributes.substring(0, pos);
+            attributes = attributes.substring(pos + 1);
+        }
+        if (!view.equals(DracoonFileAttributes.VIEW_BASIC)) {
+            throw new UnsupportedOperationException("View '" + view + "' is not supported.");
+        }
+
+        DracoonPath p = toNormalizedPath(path);
+        return new DracoonFileAttributes(getResolver(p).resolve(p)).toMap(attributes);
+    }
+
+    @Override
+    public void setAttribute(Path path, String attribute, Object value, LinkOption... options) {
+        throw new UnsupportedOperationException("Attributes are read-only.");
+    }
+
+    // --- Helper methods ---
+
+    private static DracoonPath toNormalizedPath(Path path) {
+        if (!(path instanceof DracoonPath)) {
+            throw new ProviderMismatchException();
+        }
+        DracoonPath p = (DracoonPath) path;
+        if (!p.getFileSystem().isOpen()) {
+            throw new ClosedFileSystemException();
+        }
+        return p.toAbsolutePath().normalize();
+    }
+
+    private static NodeResolver getResolver(DracoonPath path) {
+        return path.getFileSystem().getNodeResolver();
+    }
+
+    private static DracoonClient.Nodes getNodes(DracoonPath path) {
+        return path.getFileSystem().getClient().nodes();
+    }
+
+    private static Node resolveFile(DracoonPath path) throws IOException {
+        Node node = getResolver(path).resolve(path);
+        if (node == null || node.getType() != NodeType.FILE) {
+            throw new FileSystemException(path.toString(), null, "Is a directory.");
+        }
+        return node;
+    }
+
+    private static Node resolveOrNull(DracoonPath path) throws IOException {
+        try {
+            return getResolver(path).resolve(path);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+}
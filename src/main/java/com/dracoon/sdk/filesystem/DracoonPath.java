@@ -0,0 +1,306 @@
+package com.dracoon.sdk.filesystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.ProviderMismatchException;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+final class DracoonPath implements Path {
+
+    static final String SEPARATOR = "/";
+
+    private final DracoonFileSystem mFileSystem;
+    private final boolean mIsAbsolute;
+    private final List<String> mNames;
+
+    private DracoonPath(DracoonFileSystem fileSystem, boolean isAbsolute, List<String> names) {
+        mFileSystem = fileSystem;
+        mIsAbsolute = isAbsolute;
+        mNames = names;
+    }
+
+    static DracoonPath parse(DracoonFileSystem fileSystem, String path) {
+        if (path.indexOf('\u0000') > -1) {
+            throw new InvalidPathException(path, "Path must not contain NUL characters.");
+        }
+
+        List<String> names = new ArrayList<>();
+        for (String name : path.split(SEPARATOR)) {
+            if (!name.isEmpty()) {
+                names.add(name);
+            }
+        }
+        return new DracoonPath(fileSystem, path.startsWith(SEPARATOR),
+                Collections.unmodifiableList(names));
+    }
+
+    List<String> getNames() {
+        return mNames;
+    }
+
+    boolean isRoot() {
+        return mIsAbsolute && mNames.isEmpty();
+    }
+
+    // --- Path methods ---
+
+    @Override
+    public DracoonFileSystem getFileSystem() {
+        return mFileSystem;
+    }
+
+    @Override
+    public boolean isAbsolute() {
+        return mIsAbsolute;
+    }
+
+    @Override
+    public DracoonPath getRoot() {
+        return mIsAbsolute ? mFileSystem.getRootPath() : null;
+    }
+
+    @Override
+    public DracoonPath getFileName() {
+        if (mNames.isEmpty()) {
+            return null;
+        }
+        return createPath(false, mNames.subList(mNames.size() - 1, mNames.size()));
+    }
+
+    @Override
+    public DracoonPath getParent() {
+        if (mNames.isEmpty() || (!mIsAbsolute && mNames.size() == 1)) {
+            return null;
+        }
+        return createPath(mIsAbsolute, mNames.subList(0, mNames.size() - 1));
+    }
+
+    @Override
+    public int getNameCount() {
+        return mNames.size();
+    }
+
+    @Override
+    public DracoonPath getName(int index) {
+        if (index < 0 || index >= mNames.size()) {
+            throw new IllegalArgumentException("Invalid name index.");
+        }
+        return createPath(false, mNames.subList(index, index + 1));
+    }
+
+    @Override
+    public DracoonPath subpath(int beginIndex, int endIndex) {
+        if (beginIndex < 0 || endIndex > mNames.size() || beginIndex >= endIndex) {
+            throw new IllegalArgumentException("Invalid name indexes.");
+        }
+        return createPath(false, mNames.subList(beginIndex, endIndex));
+    }
+
+    @Override
+    public boolean startsWith(Path other) {
+        if (!(other instanceof DracoonPath) || other.getFileSystem() != mFileSystem) {
+            return false;
+        }
+        DracoonPath path = (DracoonPath) other;
+        return path.mIsAbsolute == mIsAbsolute && path.mNames.size() <= mNames.size() &&
+                mNames.subList(0, path.mNames.size()).equals(path.mNames);
+    }
+
+    @Override
+    public boolean startsWith(String other) {
+        return startsWith(parse(mFileSystem, other));
+    }
+
+    @Override
+    public boolean endsWith(Path other) {
+        if (!(other instanceof DracoonPath) || other.getFileSystem() != mFileSystem) {
+            return false;
+        }
+        DracoonPath path = (DracoonPath) other;
+        if (path.mIsAbsolute) {
+            return equals(path);
+        }
+        return path.mNames.size() <= mNames.size() && mNames.subList(mNames.size() -
+                path.mNames.size(), mNames.size()).equals(path.mNames);
+    }
+
+    @Override
+    public boolean endsWith(String other) {
+        return endsWith(parse(mFileSystem, other));
+    }
+
+    @Override
+    public DracoonPath normalize() {
+        List<String> names = new ArrayList<>();
+        for (String name : mNames) {
+            if (name.equals(".")) {
+                continue;
+            }
+            if (name.equals("..")) {
+                if (!names.isEmpty() && !names.get(names.size() - 1).equals("..")) {
+                    names.remove(names.size() - 1);
+                    continue;
+                } else if (mIsAbsolute) {
+                    continue;
+                }
+            }
+            names.add(name);
+        }
+        return createPath(mIsAbsolute, names);
+    }
+
+    @Override
+    public DracoonPath resolve(Path other) {
+        DracoonPath path = checkPath(other);
+        if (path.mIsAbsolute) {
+            return path;
+        }
+        if (path.mNames.isEmpty()) {
+            return this;
+        }
+        List<String> names = new ArrayList<>(mNames);
+        names.addAll(path.mNames);
+        return createPath(mIsAbsolute, names);
+    }
+
+    @Override
+    public DracoonPath resolve(String other) {
+        return resolve(parse(mFileSystem, other));
+    }
+
+    @Override
+    public Path resolveSibling(Path other) {
+        DracoonPath parent = getParent();
+        return parent != null ? parent.resolve(other) : checkPath(other);
+    }
+
+    @Override
+    public Path resolveSibling(String other) {
+        return resolveSibling(parse(mFileSystem, other));
+    }
+
+    @Override
+    public DracoonPath relativize(Path other) {
+        DracoonPath path = checkPath(other);
+        if (path.mIsAbsolute != mIsAbsolute) {
+            throw new IllegalArgumentException("Paths must be both absolute or both relative.");
+        }
+
+        int commonCnt = 0;
+        while (commonCnt < mNames.size() && commonCnt < path.mNames.size() &&
+                mNames.get(commonCnt).equals(path.mNames.get(commonCnt))) {
+            commonCnt++;
+        }
+
+        List<String> names = new ArrayList<>();
+        for (int i = commonCnt; i < mNames.size(); i++) {
+            names.add("..");
+        }
+        names.addAll(path.mNames.subList(commonCnt, path.mNames.size()));
+        return createPath(false, names);
+    }
+
+    @Override
+    public URI toUri() {
+        try {
+            return new URI(DracoonFileSystemProvider.SCHEME, mFileSystem.getAuthority(),
+                    toAbsolutePath().toString(), null, null);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("URI of path could not be created.", e);
+        }
+    }
+
+    @Override
+    public DracoonPath toAbsolutePath() {
+        return mIsAbsolute ? this : createPath(true, mNames);
+    }
+
+    @Override
+    public DracoonPath toRealPath(LinkOption... options) throws IOException {
+        DracoonPath path = toAbsolutePath().normalize();
+        mFileSystem.getNodeResolver().resolve(path);
+        return path;
+    }
+
+    @Override
+    public File toFile() {
+        throw new UnsupportedOperationException("Path is not associated with the default " +
+                "file system.");
+    }
+
+    @Override
+    public WatchKey register(WatchService watcher, WatchEvent.Kind<?>[] events,
+            WatchEvent.Modifier... modifiers) {
+        throw new UnsupportedOperationException("Watching paths is not supported.");
+    }
+
+    @Override
+    public WatchKey register(WatchService watcher, WatchEvent.Kind<?>... events) {
+        throw new UnsupportedOperationException("Watching paths is not supported.");
+    }
+
+    @Override
+    public Iterator<Path> iterator() {
+        List<Path> paths = new ArrayList<>();
+        for (int i = 0; i < mNames.size(); i++) {
+            paths.add(getName(i));
+        }
+        return paths.iterator();
+    }
+
+    @Override
+    public int compareTo(Path other) {
+        return toString().compareTo(checkPath(other).toString());
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof DracoonPath)) {
+            return false;
+        }
+        DracoonPath path = (DracoonPath) other;
+        return path.mFileSystem == mFileSystem && path.mIsAbsolute == mIsAbsolute &&
+                path.mNames.equals(mNames);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(new Object[]{mFileSystem, mIsAbsolute, mNames});
+    }
+
+    @Override
+    public String toString() {
+        String path = String.join(SEPARATOR, mNames);
+        return mIsAbsolute ? SEPARATOR + path : path;
+    }
+
+    // --- Helper methods ---
+
+    private DracoonPath createPath(boolean isAbsolute, List<String> names) {
+        return new DracoonPath(mFileSystem, isAbsolute, Collections.unmodifiableList(
+                new ArrayList<>(names)));
+    }
+
+    private DracoonPath checkPath(Path path) {
+        if (!(path instanceof DracoonPath) || path.getFileSystem() != mFileSystem) {
+            throw new ProviderMismatchException();
+        }
+        return (DracoonPath) path;
+    }
+
+}
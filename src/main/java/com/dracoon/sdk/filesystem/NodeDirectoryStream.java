@@ -0,0 +1,100 @@
+package com.dracoon.sdk.filesystem;
+
+import com.dracoon.sdk.model.Node;
+import com.dracoon.sdk.model.NodeList;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+class NodeDirectoryStream implements DirectoryStream<Path> {
+
+    private final NodeResolver mResolver;
+    private final DracoonPath mDirPath;
+    private final Node mDir;
+    private final Filter<? super Path> mFilter;
+
+    private boolean mIsClosed;
+    private boolean mIsIteratorReturned;
+
+    NodeDirectoryStream(NodeResolver resolver, DracoonPath dirPath, Node dir,
+            Filter<? super Path> filter) {
+        mResolver = resolver;
+        mDirPath = dirPath;
+        mDir = dir;
+        mFilter = filter;
+    }
+
+    @Override
+    public synchronized Iterator<Path> iterator() {
+        if (mIsClosed) {
+            throw new IllegalStateException("Directory stream is closed.");
+        }
+        if (mIsIteratorReturned) {
+            throw new IllegalStateException("Iterator was already returned.");
+        }
+        mIsIteratorReturned = true;
+        return new NodeIterator();
+    }
+
+    @Override
+    public synchronized void close() {
+        mIsClosed = true;
+    }
+
+    private synchronized boolean isClosed() {
+        return mIsClosed;
+    }
+
+    // Pages are requested lazily, so that large directories are not listed at once
+    private class NodeIterator implements Iterator<Path> {
+
+        private final Deque<Path> mPaths = new ArrayDeque<>();
+        private long mOffset;
+        private long mTotal = -1L;
+
+        @Override
+        public boolean hasNext() {
+            while (mPaths.isEmpty() && !isClosed() && (mTotal < 0L || mOffset < mTotal)) {
+                fetchPage();
+            }
+            return !mPaths.isEmpty() && !isClosed();
+        }
+
+        @Override
+        public Path next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return mPaths.poll();
+        }
+
+        private void fetchPage() {
+            try {
+                NodeList nodeList = mResolver.listChildrenPage(mDirPath, mDir, mOffset);
+                mTotal = nodeList.getTotal() != null ? nodeList.getTotal() : 0L;
+                if (nodeList.getItems().isEmpty()) {
+                    mTotal = mOffset;
+                    return;
+                }
+                mOffset = mOffset + nodeList.getItems().size();
+
+                for (Node node : nodeList.getItems()) {
+                    Path path = mDirPath.resolve(node.getName());
+                    if (mFilter == null || mFilter.accept(path)) {
+                        mPaths.add(path);
+                    }
+                }
+            } catch (IOException e) {
+                throw new DirectoryIteratorException(e);
+            }
+        }
+
+    }
+
+}
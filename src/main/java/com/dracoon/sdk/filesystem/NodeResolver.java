@@ -0,0 +1,230 @@
+package com.dracoon.sdk.filesystem;
+
+import com.dracoon.sdk.DracoonClient;
+import com.dracoon.sdk.error.DracoonApiCode;
+import com.dracoon.sdk.error.DracoonApiException;
+import com.dracoon.sdk.error.DracoonException;
+import com.dracoon.sdk.error.DracoonNetIOInterruptedException;
+import com.dracoon.sdk.model.Node;
+import com.dracoon.sdk.model.NodeList;
+import com.dracoon.sdk.model.NodeType;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+class NodeResolver {
+
+    static final int PAGE_SIZE = 500;
+
+    private static class CacheEntry<T> {
+        final T mValue;
+        final long mCreatedAt;
+
+        CacheEntry(T value) {
+            mValue = value;
+            mCreatedAt = System.currentTimeMillis();
+        }
+    }
+
+    private final DracoonClient.Nodes mNodes;
+    private final long mCacheTtl;
+
+    // Node metadata by normalized path
+    private final Map<String, CacheEntry<Node>> mNodeCache = new ConcurrentHashMap<>();
+    // Paths of directories whose children were completely listed
+    private final Map<String, CacheEntry<Boolean>> mListingCache = new ConcurrentHashMap<>();
+
+    NodeResolver(DracoonClient.Nodes nodes, long cacheTtl) {
+        mNodes = nodes;
+        mCacheTtl = cacheTtl;
+    }
+
+    // --- Resolve methods ---
+
+    // Returns null for the root path
+    Node resolve(DracoonPath path) throws IOException {
+        path = path.toAbsolutePath().normalize();
+        if (path.isRoot()) {
+            return null;
+        }
+
+        String key = getCacheKey(path);
+        Node node = getCached(mNodeCache, key);
+        if (node != null) {
+            return node;
+        }
+
+        DracoonPath parentPath = path.getParent();
+        Node parent = resolve(parentPath);
+        if (parent != null && parent.getType() == NodeType.FILE) {
+            throw new NoSuchFileException(path.toString());
+        }
+
+        // If the parent was listed recently, the node does not exist
+        String parentKey = getCacheKey(parentPath);
+        if (getCached(mListingCache, parentKey) == null) {
+            listChildren(parentPath, parent);
+            node = getCached(mNodeCache, key);
+        }
+
+        if (node == null) {
+            throw new NoSuchFileException(path.toString());
+        }
+        return node;
+    }
+
+    Node resolveDirectory(DracoonPath path) throws IOException {
+        Node node = resolve(path);
+        if (node != null && node.getType() == NodeType.FILE) {
+            throw new NotDirectoryException(path.toString());
+        }
+        return node;
+    }
+
+    static long getId(Node node) {
+        return node != null ? node.getId() : 0L;
+    }
+
+    // --- Listing methods ---
+
+    // Lists one page of the children of a directory and adds them to the cache
+    NodeList listChildrenPage(DracoonPath dirPath, Node dir, long offset) throws IOException {
+        NodeList nodeList;
+        try {
+            nodeList = mNodes.getNodes(getId(dir), offset, PAGE_SIZE);
+        } catch (DracoonException e) {
+            throw toIOException(dirPath, e);
+        }
+
+        for (Node child : nodeList.getItems()) {
+            mNodeCache.put(getCacheKey(dirPath.resolve(child.getName())),
+                    new CacheEntry<>(child));
+        }
+        return nodeList;
+    }
+
+    private void listChildren(DracoonPath dirPath, Node dir) throws IOException {
+        long offset = 0L;
+        long total;
+        do {
+            NodeList nodeList = listChildrenPage(dirPath, dir, offset);
+            total = nodeList.getTotal() != null ? nodeList.getTotal() : 0L;
+            offset = offset + nodeList.getItems().size();
+            if (nodeList.getItems().isEmpty()) {
+                break;
+            }
+        } while (offset < total);
+
+        mListingCache.put(getCacheKey(dirPath), new CacheEntry<>(Boolean.TRUE));
+    }
+
+    // --- Cache methods ---
+
+    void put(DracoonPath path, Node node) {
+        mNodeCache.put(getCacheKey(path.toAbsolutePath().normalize()), new CacheEntry<>(node));
+    }
+
+    // Removes a path and all paths below it from the cache. The listing of the parent
+    // directory is invalidated as well.
+    void invalidate(DracoonPath path) {
+        path = path.toAbsolutePath().normalize();
+        String key = getCacheKey(path);
+        invalidatePrefix(mNodeCache, key);
+        invalidatePrefix(mListingCache, key);
+
+        DracoonPath parentPath = path.getParent();
+        if (parentPath != null) {
+            mListingCache.remove(getCacheKey(parentPath));
+        }
+    }
+
+    void clear() {
+        mNodeCache.clear();
+        mListingCache.clear();
+    }
+
+    private <T> T getCached(Map<String, CacheEntry<T>> cache, String key) {
+        CacheEntry<T> entry = cache.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() - entry.mCreatedAt > mCacheTtl) {
+            cache.remove(key, entry);
+            return null;
+        }
+        return entry.mValue;
+    }
+
+    private static <T> void invalidatePrefix(Map<String, CacheEntry<T>> cache, String key) {
+        String prefix = key.endsWith(DracoonPath.SEPARATOR) ? key : key + DracoonPath.SEPARATOR;
+        Iterator<String> keys = cache.keySet().iterator();
+        while (keys.hasNext()) {
+            String k = keys.next();
+            if (k.equals(key) || k.startsWith(prefix)) {
+                keys.remove();
+            }
+        }
+    }
+
+    // Node names are case-insensitive on the server
+    private static String getCacheKey(DracoonPath path) {
+        return path.toString().toLowerCase(Locale.ROOT);
+    }
+
+    // --- Error methods ---
+
+    static IOException toIOException(DracoonPath path, DracoonException e) {
+        String file = path != null ? path.toString() : null;
+        FileSystemException fse = null;
+        if (e instanceof DracoonApiException) {
+            DracoonApiCode code = ((DracoonApiException) e).getCode();
+            switch (code) {
+                case SERVER_NODE_NOT_FOUND:
+                case SERVER_ROOM_NOT_FOUND:
+                case SERVER_FOLDER_NOT_FOUND:
+                case SERVER_FILE_NOT_FOUND:
+                case SERVER_SOURCE_NODE_NOT_FOUND:
+                case SERVER_TARGET_NODE_NOT_FOUND:
+                case SERVER_TARGET_ROOM_NOT_FOUND:
+                    fse = new NoSuchFileException(file, null, e.getMessage());
+                    break;
+                case VALIDATION_NODE_ALREADY_EXISTS:
+                case VALIDATION_ROOM_ALREADY_EXISTS:
+                case VALIDATION_FOLDER_ALREADY_EXISTS:
+                case VALIDATION_FILE_ALREADY_EXISTS:
+                    fse = new FileAlreadyExistsException(file, null, e.getMessage());
+                    break;
+                default:
+                    if (isPermissionError(code)) {
+                        fse = new AccessDeniedException(file, null, e.getMessage());
+                    }
+            }
+        } else if (e instanceof DracoonNetIOInterruptedException) {
+            InterruptedIOException iioe = new InterruptedIOException(e.getMessage());
+            iioe.initCause(e);
+            return iioe;
+        }
+
+        if (fse == null) {
+            fse = new FileSystemException(file, null, e.getMessage());
+        }
+        fse.initCause(e);
+        return fse;
+    }
+
+    private static boolean isPermissionError(DracoonApiCode code) {
+        return code == DracoonApiCode.AUTH_OAUTH_CLIENT_NO_PERMISSION ||
+                (code.getNumber() <= DracoonApiCode.PERMISSION_UNKNOWN_ERROR.getNumber() &&
+                code.getNumber() > DracoonApiCode.PERMISSION_UNKNOWN_ERROR.getNumber() - 1000);
+    }
+
+}
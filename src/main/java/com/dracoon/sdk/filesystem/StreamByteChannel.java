@@ -0,0 +1,138 @@
+package com.dracoon.sdk.filesystem;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+
+// Read-only channel for content which can only be read sequentially (e.g. encrypted files). Seeks
+// forward skip content, seeks backward reopen the stream.
+class StreamByteChannel implements SeekableByteChannel {
+
+    interface StreamOpener {
+        InputStream open() throws IOException;
+    }
+
+    private static final int SKIP_BUFFER_SIZE = 8 * 1024;
+
+    private final StreamOpener mOpener;
+    private final long mSize;
+
+    private InputStream mStream;
+    private long mStreamPosition;
+    private long mPosition;
+    private boolean mIsOpen = true;
+
+    StreamByteChannel(StreamOpener opener, long size) {
+        mOpener = opener;
+        mSize = size;
+    }
+
+    @Override
+    public synchronized int read(ByteBuffer dst) throws IOException {
+        assertOpen();
+        if (mPosition >= mSize) {
+            return -1;
+        }
+        if (!dst.hasRemaining()) {
+            return 0;
+        }
+
+        seekStream();
+
+        int count = (int) Math.min(dst.remaining(), mSize - mPosition);
+        byte[] b = new byte[count];
+        int bytesRead = mStream.read(b, 0, count);
+        if (bytesRead < 0) {
+            return -1;
+        }
+        dst.put(b, 0, bytesRead);
+        mPosition = mPosition + bytesRead;
+        mStreamPosition = mPosition;
+        return bytesRead;
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public synchronized long position() throws IOException {
+        assertOpen();
+        return mPosition;
+    }
+
+    @Override
+    public synchronized SeekableByteChannel position(long newPosition) throws IOException {
+        if (newPosition < 0L) {
+            throw new IllegalArgumentException("Position must be 0 or positive.");
+        }
+        assertOpen();
+        mPosition = newPosition;
+        return this;
+    }
+
+    @Override
+    public synchronized long size() throws IOException {
+        assertOpen();
+        return mSize;
+    }
+
+    @Override
+    public SeekableByteChannel truncate(long size) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public synchronized boolean isOpen() {
+        return mIsOpen;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!mIsOpen) {
+            return;
+        }
+        mIsOpen = false;
+        closeStream();
+    }
+
+    private void assertOpen() throws ClosedChannelException {
+        if (!mIsOpen) {
+            throw new ClosedChannelException();
+        }
+    }
+
+    private void seekStream() throws IOException {
+        if (mStream != null && mPosition < mStreamPosition) {
+            closeStream();
+        }
+        if (mStream == null) {
+            mStream = mOpener.open();
+            mStreamPosition = 0L;
+        }
+
+        // Skipping is done by reading, because the stream might not support skips
+        byte[] b = new byte[SKIP_BUFFER_SIZE];
+        while (mStreamPosition < mPosition) {
+            int count = (int) Math.min(b.length, mPosition - mStreamPosition);
+            int bytesRead = mStream.read(b, 0, count);
+            if (bytesRead < 0) {
+                throw new IOException("Unexpected end of stream.");
+            }
+            mStreamPosition = mStreamPosition + bytesRead;
+        }
+    }
+
+    private void closeStream() throws IOException {
+        if (mStream != null) {
+            InputStream stream = mStream;
+            mStream = null;
+            stream.close();
+        }
+    }
+
+}
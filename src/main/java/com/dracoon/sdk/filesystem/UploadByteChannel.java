@@ -0,0 +1,162 @@
+package com.dracoon.sdk.filesystem;
+
+import com.dracoon.sdk.DracoonClient;
+import com.dracoon.sdk.error.DracoonException;
+import com.dracoon.sdk.model.FileUploadRequest;
+import com.dracoon.sdk.model.Node;
+
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonReadableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.util.UUID;
+
+// Write-only channel which streams the written content to an upload. The upload runs in a
+// background thread and reads from a pipe; the resulting node is available after the channel
+// was closed. Errors of the upload are signaled at the next write or at close.
+class UploadByteChannel implements SeekableByteChannel {
+
+    interface UploadListener {
+        void onUploadFinished(Node node);
+    }
+
+    private static final int PIPE_SIZE = 256 * 1024;
+    private static final String UPLOAD_ID_PREFIX = "fs-upload-";
+
+    private final DracoonPath mPath;
+    private final UploadListener mListener;
+
+    private final PipedOutputStream mOutputStream;
+    private final Thread mUploadThread;
+
+    private volatile Node mNode;
+    private volatile Exception mError;
+
+    private long mPosition;
+    private boolean mIsOpen = true;
+
+    UploadByteChannel(DracoonClient.Nodes nodes, DracoonPath path, FileUploadRequest request,
+            UploadListener listener) throws IOException {
+        mPath = path;
+        mListener = listener;
+
+        PipedInputStream is = new PipedInputStream(PIPE_SIZE);
+        mOutputStream = new PipedOutputStream(is);
+
+        String id = UPLOAD_ID_PREFIX + UUID.randomUUID().toString();
+        mUploadThread = new Thread(() -> {
+            try {
+                mNode = nodes.uploadFile(id, request, is, -1L, null);
+            } catch (DracoonException | RuntimeException e) {
+                mError = e;
+            } finally {
+                // Unblocks the writer, if the upload stopped early
+                try {
+                    is.close();
+                } catch (IOException e) {
+                    // Nothing to do here
+                }
+            }
+        }, "dracoon-fs-upload-" + id);
+        mUploadThread.setDaemon(true);
+        mUploadThread.start();
+    }
+
+    @Override
+    public int read(ByteBuffer dst) {
+        throw new NonReadableChannelException();
+    }
+
+    @Override
+    public synchronized int write(ByteBuffer src) throws IOException {
+        assertOpen();
+
+        int count = src.remaining();
+        byte[] b = new byte[count];
+        src.get(b);
+        try {
+            mOutputStream.write(b);
+        } catch (IOException e) {
+            throwUploadError();
+            throw e;
+        }
+        mPosition = mPosition + count;
+        return count;
+    }
+
+    @Override
+    public synchronized long position() throws IOException {
+        assertOpen();
+        return mPosition;
+    }
+
+    @Override
+    public synchronized SeekableByteChannel position(long newPosition) throws IOException {
+        assertOpen();
+        if (newPosition != mPosition) {
+            throw new UnsupportedOperationException("Uploads can only be written sequentially.");
+        }
+        return this;
+    }
+
+    @Override
+    public synchronized long size() throws IOException {
+        assertOpen();
+        return mPosition;
+    }
+
+    @Override
+    public SeekableByteChannel truncate(long size) {
+        throw new UnsupportedOperationException("Uploads can not be truncated.");
+    }
+
+    @Override
+    public synchronized boolean isOpen() {
+        return mIsOpen;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!mIsOpen) {
+            return;
+        }
+        mIsOpen = false;
+
+        try {
+            mOutputStream.close();
+        } catch (IOException e) {
+            // Error is signaled below
+        }
+
+        try {
+            mUploadThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            mUploadThread.interrupt();
+            throw new IOException("Upload of file was interrupted.", e);
+        }
+
+        throwUploadError();
+        if (mListener != null) {
+            mListener.onUploadFinished(mNode);
+        }
+    }
+
+    private void assertOpen() throws ClosedChannelException {
+        if (!mIsOpen) {
+            throw new ClosedChannelException();
+        }
+    }
+
+    private void throwUploadError() throws IOException {
+        if (mError instanceof DracoonException) {
+            throw NodeResolver.toIOException(mPath, (DracoonException) mError);
+        } else if (mError != null) {
+            throw new IOException("Upload of file failed.", mError);
+        }
+    }
+
+}
@@ -0,0 +1,263 @@
+package com.dracoon.sdk.internal;
+
+import com.dracoon.sdk.Log;
+import com.dracoon.sdk.crypto.model.UserKeyPair;
+import com.dracoon.sdk.crypto.model.UserPublicKey;
+import com.dracoon.sdk.error.DracoonApiException;
+import com.dracoon.sdk.error.DracoonCryptoException;
+import com.dracoon.sdk.error.DracoonException;
+import com.dracoon.sdk.error.DracoonFileIOException;
+import com.dracoon.sdk.error.DracoonNetIOException;
+import com.dracoon.sdk.error.DracoonNetIOInterruptedException;
+import com.dracoon.sdk.model.BatchUploadResult;
+import com.dracoon.sdk.model.FileUploadCallback;
+import com.dracoon.sdk.model.FileUploadRequest;
+import com.dracoon.sdk.model.Node;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+class BatchFileUploader {
+
+    private static final String LOG_TAG = BatchFileUploader.class.getSimpleName();
+
+    private static final String ID_SEPARATOR = "/";
+
+    // Uploads of small files are dominated by request latency and not by bandwidth. Therefore,
+    // more uploads than the client parallelism are run at the same time, so that the requests of
+    // different files are interleaved on the connections. (The number of concurrent requests is
+    // still bounded by the concurrency limiter of the client, if one is set.)
+    private static final int CONCURRENCY_FACTOR = 4;
+
+    private final DracoonClientImpl mClient;
+    private final DracoonNodesImpl mNodes;
+    private final Log mLog;
+    private final int mConcurrency;
+
+    private final String mId;
+    private final Map<File, FileUploadRequest> mFiles;
+    private final CallbackDispatcher<FileUploadCallback> mCallbackDispatcher;
+
+    private final JobProgress mProgress = new JobProgress(this::notifyRunning);
+
+    BatchFileUploader(DracoonClientImpl client, String id, Map<File, FileUploadRequest> files,
+            FileUploadCallback callback) {
+        mClient = client;
+        mNodes = client.getNodesImpl();
+        mLog = client.getLog();
+        mConcurrency = client.getParallelism() * CONCURRENCY_FACTOR;
+
+        mId = id;
+        mFiles = files;
+        mCallbackDispatcher = new CallbackDispatcher<>(client.getCallbackExecutor(), mLog);
+        mCallbackDispatcher.addCallback(callback);
+    }
+
+    BatchUploadResult upload() throws DracoonNetIOException {
+        notifyStarted();
+        try {
+            BatchUploadResult result = uploadInternally();
+            notifyFinished();
+            return result;
+        } catch (DracoonNetIOInterruptedException e) {
+            notifyCanceled();
+            throw e;
+        } finally {
+            awaitCallbacks();
+        }
+    }
+
+    private BatchUploadResult uploadInternally() throws DracoonNetIOException {
+        Map<File, Node> uploadedFiles = Collections.synchronizedMap(new LinkedHashMap<>());
+        Map<File, DracoonException> failedFiles = Collections.synchronizedMap(
+                new LinkedHashMap<>());
+
+        for (File file : mFiles.keySet()) {
+            mProgress.addBytesTotal(file.length());
+        }
+
+        try (TaskGroup group = new TaskGroup(mClient, "batch-upload", mConcurrency)) {
+            // Fetch and check the key pair while the parents are checked (see
+            // DracoonNodesImpl.createUpload)
+            DracoonAccountImpl account = mClient.getAccountImpl();
+            Future<UserKeyPair> keyPairFuture = null;
+            if (mClient.getEncryptionPassword() != null && !account.isUserKeyPairChecked()) {
+                keyPairFuture = group.submit(account::getAndCheckUserKeyPair);
+            }
+
+            // Check the encryption of every parent only once (concurrently)
+            Map<Long, Future<Boolean>> parentChecks = new HashMap<>();
+            for (FileUploadRequest request : mFiles.values()) {
+                long parentId = request.getParentId();
+                if (!parentChecks.containsKey(parentId)) {
+                    parentChecks.put(parentId, group.submit(() ->
+                            mNodes.isNodeEncrypted(parentId)));
+                }
+            }
+
+            Map<Long, Boolean> encryptedParents = new HashMap<>();
+            Map<Long, DracoonException> failedParents = new HashMap<>();
+            for (Map.Entry<Long, Future<Boolean>> parentCheck : parentChecks.entrySet()) {
+                try {
+                    encryptedParents.put(parentCheck.getKey(), getResult(parentCheck.getValue()));
+                } catch (DracoonNetIOInterruptedException e) {
+                    throw e;
+                } catch (DracoonException e) {
+                    failedParents.put(parentCheck.getKey(), e);
+                }
+            }
+
+            // Fetch and check the key pair only once for all encrypted uploads
+            UserPublicKey userPublicKey = null;
+            DracoonException keyPairError = null;
+            if (encryptedParents.containsValue(Boolean.TRUE)) {
+                try {
+                    UserKeyPair userKeyPair = keyPairFuture != null ? getResult(keyPairFuture) :
+                            account.getAndCheckUserKeyPair();
+                    userPublicKey = userKeyPair.getUserPublicKey();
+                } catch (DracoonNetIOInterruptedException e) {
+                    throw e;
+                } catch (DracoonException e) {
+                    keyPairError = e;
+                }
+            }
+
+            // Upload files: The create, upload and complete requests of the files overlap
+            List<Future<Void>> futures = new ArrayList<>();
+            int fileCnt = 0;
+            for (Map.Entry<File, FileUploadRequest> entry : mFiles.entrySet()) {
+                File file = entry.getKey();
+                FileUploadRequest request = entry.getValue();
+                String fileId = mId + ID_SEPARATOR + fileCnt++;
+
+                DracoonException parentError = failedParents.get(request.getParentId());
+                boolean isEncrypted = Boolean.TRUE.equals(encryptedParents.get(
+                        request.getParentId()));
+                if (parentError != null) {
+                    failedFiles.put(file, parentError);
+                    continue;
+                }
+                if (isEncrypted && keyPairError != null) {
+                    failedFiles.put(file, keyPairError);
+                    continue;
+                }
+
+                UserPublicKey publicKey = isEncrypted ? userPublicKey : null;
+                futures.add(group.submit(() -> {
+                    try {
+                        Node node = uploadFile(fileId, file, request, publicKey);
+                        if (node != null) {
+                            uploadedFiles.put(file, node);
+                        } else {
+                            // The upload was canceled (e.g. due to an interrupt)
+                            String errorText = String.format("Upload of file '%s' in batch " +
+                                    "upload '%s' was canceled.", file, mId);
+                            mLog.d(LOG_TAG, errorText);
+                            failedFiles.put(file, new DracoonNetIOInterruptedException(
+                                    errorText));
+                        }
+                    } catch (DracoonException e) {
+                        failedFiles.put(file, e);
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<Void> future : futures) {
+                getResult(future);
+            }
+        } catch (InterruptedException e) {
+            throw createInterruptedException(e);
+        } catch (DracoonNetIOInterruptedException e) {
+            throw e;
+        } catch (DracoonException e) {
+            // Cannot happen: Upload tasks catch all errors
+            throw new IllegalStateException(e);
+        }
+
+        BatchUploadResult result = new BatchUploadResult();
+        result.setUploadedFiles(new LinkedHashMap<>(uploadedFiles));
+        result.setFailedFiles(new LinkedHashMap<>(failedFiles));
+        return result;
+    }
+
+    private <T> T getResult(Future<T> future) throws DracoonException {
+        try {
+            return TaskGroup.getResult(future);
+        } catch (InterruptedException e) {
+            throw createInterruptedException(e);
+        }
+    }
+
+    private DracoonNetIOInterruptedException createInterruptedException(InterruptedException e) {
+        Thread.currentThread().interrupt();
+        String errorText = String.format("Batch upload '%s' interrupted.", mId);
+        mLog.d(LOG_TAG, errorText);
+        return new DracoonNetIOInterruptedException(errorText, e);
+    }
+
+    // --- Upload methods ---
+
+    private Node uploadFile(String fileId, File file, FileUploadRequest request,
+            UserPublicKey userPublicKey) throws DracoonFileIOException, DracoonCryptoException,
+            DracoonNetIOException, DracoonApiException {
+        long length = file.length();
+
+        InputStream is = mNodes.getFileInputStream(file);
+        try {
+            FileUpload upload;
+            if (userPublicKey != null) {
+                upload = new EncFileUpload(mClient, fileId, request, is, length, userPublicKey);
+            } else {
+                upload = new FileUpload(mClient, fileId, request, is, length);
+            }
+
+            upload.addCallback(mProgress.createUploadCallback(length));
+
+            return upload.runSync();
+        } finally {
+            try {
+                is.close();
+            } catch (IOException e) {
+                mLog.w(LOG_TAG, String.format("File '%s' could not be closed.", file));
+            }
+        }
+    }
+
+    // --- Callback helper methods ---
+
+    private void notifyStarted() {
+        mCallbackDispatcher.dispatch(callback -> callback.onStarted(mId));
+    }
+
+    private void notifyRunning(long bytesSend, long bytesTotal) {
+        mCallbackDispatcher.dispatchProgress(callback -> callback.onRunning(mId, bytesSend,
+                bytesTotal));
+    }
+
+    private void notifyFinished() {
+        mCallbackDispatcher.dispatch(callback -> callback.onFinished(mId, null));
+    }
+
+    private void notifyCanceled() {
+        mCallbackDispatcher.dispatch(callback -> callback.onCanceled(mId));
+    }
+
+    // The batch upload returns after its callbacks were called
+    private void awaitCallbacks() {
+        try {
+            mCallbackDispatcher.awaitDelivery();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,236 @@
+package com.dracoon.sdk.internal;
+
+import com.dracoon.sdk.Log;
+import com.dracoon.sdk.error.DracoonApiCode;
+import com.dracoon.sdk.error.DracoonApiException;
+import com.dracoon.sdk.error.DracoonException;
+import com.dracoon.sdk.error.DracoonNetIOException;
+import com.dracoon.sdk.error.DracoonNetIOInterruptedException;
+import com.dracoon.sdk.internal.model.ApiConflictNode;
+import com.dracoon.sdk.model.BulkOperationResult;
+import com.dracoon.sdk.model.Node;
+import com.dracoon.sdk.model.NodeOperationResult;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+class BulkNodesExecutor {
+
+    private static final String LOG_TAG = BulkNodesExecutor.class.getSimpleName();
+
+    private static final int PARTITION_SIZE = 500;
+
+    // Errors which are caused by single nodes of a partition. If a partition fails with one of
+    // these errors, it is split until the causing nodes are isolated. (Errors which usually apply
+    // to all nodes of a partition, like missing permissions at the room, fail the whole
+    // partition. Splitting would only repeat the same error for every node.)
+    private static final Set<DracoonApiCode> NODE_ERROR_CODES = EnumSet.of(
+            DracoonApiCode.SERVER_NODE_NOT_FOUND,
+            DracoonApiCode.SERVER_ROOM_NOT_FOUND,
+            DracoonApiCode.SERVER_FOLDER_NOT_FOUND,
+            DracoonApiCode.SERVER_FILE_NOT_FOUND,
+            DracoonApiCode.SERVER_SOURCE_NODE_NOT_FOUND,
+            DracoonApiCode.VALIDATION_NODES_NOT_IN_SAME_PARENT,
+            DracoonApiCode.VALIDATION_CAN_NOT_COPY_ROOM,
+            DracoonApiCode.VALIDATION_CAN_NOT_MOVE_ROOM,
+            DracoonApiCode.VALIDATION_CAN_NOT_COPY_TO_CHILD,
+            DracoonApiCode.VALIDATION_CAN_NOT_MOVE_TO_CHILD,
+            DracoonApiCode.VALIDATION_CAN_NOT_COPY_NODE_TO_OWN_PLACE_WITHOUT_RENAME,
+            DracoonApiCode.VALIDATION_CAN_NOT_MOVE_NODE_TO_OWN_PLACE,
+            DracoonApiCode.VALIDATION_USER_HAS_NO_FILE_KEY);
+
+    interface PartitionOperation {
+        void execute(List<Long> nodeIds, List<ApiConflictNode> conflictNodes)
+                throws DracoonNetIOException, DracoonApiException;
+    }
+
+    interface NodeOperation<T> {
+        Node execute(T item) throws DracoonNetIOException, DracoonApiException;
+    }
+
+    private final DracoonClientImpl mClient;
+    private final Log mLog;
+    private final int mParallelism;
+
+    BulkNodesExecutor(DracoonClientImpl client) {
+        mClient = client;
+        mLog = client.getLog();
+        mParallelism = client.getParallelism();
+    }
+
+    // --- Execution methods ---
+
+    BulkOperationResult executePartitioned(List<Long> nodeIds, PartitionOperation operation)
+            throws DracoonNetIOException {
+        List<Callable<List<NodeOperationResult>>> tasks = new ArrayList<>();
+        for (int i = 0; i < nodeIds.size(); i += PARTITION_SIZE) {
+            List<Long> partition = nodeIds.subList(i, Math.min(i + PARTITION_SIZE,
+                    nodeIds.size()));
+            tasks.add(() -> executePartition(partition, operation));
+        }
+
+        return executeTasks(tasks);
+    }
+
+    <T> BulkOperationResult executeEach(List<T> items, Function<T, Long> nodeIdGetter,
+            NodeOperation<T> operation) throws DracoonNetIOException {
+        List<Callable<List<NodeOperationResult>>> tasks = new ArrayList<>();
+        for (T item : items) {
+            tasks.add(() -> executeNode(nodeIdGetter.apply(item), item, operation));
+        }
+
+        return executeTasks(tasks);
+    }
+
+    private BulkOperationResult executeTasks(List<Callable<List<NodeOperationResult>>> tasks)
+            throws DracoonNetIOException {
+        List<NodeOperationResult> results = new ArrayList<>();
+
+        BulkOperationResult bulkResult = new BulkOperationResult();
+        bulkResult.setResults(results);
+
+        if (tasks.isEmpty()) {
+            return bulkResult;
+        }
+
+        try (TaskGroup group = new TaskGroup(mClient, "bulk", mParallelism)) {
+            for (List<NodeOperationResult> taskResults : group.invokeAll(tasks)) {
+                results.addAll(taskResults);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            String errorText = "Bulk operation interrupted.";
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonNetIOInterruptedException(errorText, e);
+        } catch (DracoonException e) {
+            // Cannot happen: Tasks catch all errors
+            throw new IllegalStateException(e);
+        }
+
+        return bulkResult;
+    }
+
+    // --- Partition methods ---
+
+    private List<NodeOperationResult> executePartition(List<Long> nodeIds,
+            PartitionOperation operation) {
+        Map<Long, NodeOperationResult> results = new HashMap<>();
+        processPartition(nodeIds, operation, results);
+
+        List<NodeOperationResult> orderedResults = new ArrayList<>(nodeIds.size());
+        for (Long nodeId : nodeIds) {
+            orderedResults.add(results.get(nodeId));
+        }
+        return orderedResults;
+    }
+
+    // Failed requests are not repeated here: Network errors are already retried by the HTTP
+    // helper, and copy and move requests are not idempotent.
+    private void processPartition(List<Long> nodeIds, PartitionOperation operation,
+            Map<Long, NodeOperationResult> results) {
+        List<Long> remainingNodeIds = nodeIds;
+
+        while (true) {
+            List<ApiConflictNode> conflictNodes = new ArrayList<>();
+            try {
+                operation.execute(remainingNodeIds, conflictNodes);
+                for (Long nodeId : remainingNodeIds) {
+                    results.put(nodeId, createSucceededResult(nodeId, null));
+                }
+                return;
+            } catch (DracoonNetIOException e) {
+                addFailedResults(remainingNodeIds, e, results);
+                return;
+            } catch (DracoonApiException e) {
+                // Conflicting nodes are reported; the rest of the partition is sent again.
+                Set<Long> conflictNodeIds = new HashSet<>();
+                for (ApiConflictNode conflictNode : conflictNodes) {
+                    if (conflictNode.nodeId != null && remainingNodeIds.contains(
+                            conflictNode.nodeId)) {
+                        conflictNodeIds.add(conflictNode.nodeId);
+                        results.put(conflictNode.nodeId, createConflictResult(conflictNode));
+                    }
+                }
+                if (!conflictNodeIds.isEmpty()) {
+                    List<Long> nonConflictNodeIds = new ArrayList<>();
+                    for (Long nodeId : remainingNodeIds) {
+                        if (!conflictNodeIds.contains(nodeId)) {
+                            nonConflictNodeIds.add(nodeId);
+                        }
+                    }
+                    if (nonConflictNodeIds.isEmpty()) {
+                        return;
+                    }
+                    remainingNodeIds = nonConflictNodeIds;
+                    continue;
+                }
+
+                if (NODE_ERROR_CODES.contains(e.getCode()) && remainingNodeIds.size() > 1) {
+                    int middle = remainingNodeIds.size() / 2;
+                    processPartition(remainingNodeIds.subList(0, middle), operation, results);
+                    processPartition(remainingNodeIds.subList(middle, remainingNodeIds.size()),
+                            operation, results);
+                    return;
+                }
+
+                addFailedResults(remainingNodeIds, e, results);
+                return;
+            }
+        }
+    }
+
+    private <T> List<NodeOperationResult> executeNode(Long nodeId, T item,
+            NodeOperation<T> operation) {
+        List<NodeOperationResult> results = new ArrayList<>(1);
+        try {
+            Node node = operation.execute(item);
+            results.add(createSucceededResult(nodeId, node));
+        } catch (DracoonNetIOException | DracoonApiException e) {
+            results.add(createFailedResult(nodeId, e));
+        }
+        return results;
+    }
+
+    // --- Result helper methods ---
+
+    private static void addFailedResults(List<Long> nodeIds, DracoonException e,
+            Map<Long, NodeOperationResult> results) {
+        for (Long nodeId : nodeIds) {
+            results.put(nodeId, createFailedResult(nodeId, e));
+        }
+    }
+
+    private static NodeOperationResult createSucceededResult(Long nodeId, Node node) {
+        NodeOperationResult result = new NodeOperationResult();
+        result.setNodeId(nodeId);
+        result.setStatus(NodeOperationResult.Status.SUCCEEDED);
+        result.setNode(node);
+        return result;
+    }
+
+    private static NodeOperationResult createConflictResult(ApiConflictNode conflictNode) {
+        NodeOperationResult result = new NodeOperationResult();
+        result.setNodeId(conflictNode.nodeId);
+        result.setStatus(NodeOperationResult.Status.CONFLICT);
+        result.setConflictName(conflictNode.name);
+        result.setConflictErrorCode(conflictNode.errorCode);
+        result.setConflictErrorMessage(conflictNode.errorMessage);
+        return result;
+    }
+
+    private static NodeOperationResult createFailedResult(Long nodeId, DracoonException e) {
+        NodeOperationResult result = new NodeOperationResult();
+        result.setNodeId(nodeId);
+        result.setStatus(NodeOperationResult.Status.FAILED);
+        result.setException(e);
+        return result;
+    }
+
+}
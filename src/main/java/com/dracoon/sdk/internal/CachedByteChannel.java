@@ -0,0 +1,223 @@
+package com.dracoon.sdk.internal;
+
+import com.dracoon.sdk.TransferBufferPool;
+import com.dracoon.sdk.error.DracoonException;
+import com.dracoon.sdk.error.DracoonNetIOInterruptedException;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// The cached blocks are handed back to the transfer buffer pool if the pool runs out of memory
+// (see trimBuffers). So, an idle channel does not block other transfers.
+class CachedByteChannel implements SeekableByteChannel, TransferBufferPool.BufferKeeper {
+
+    private final FileRangeReader mReader;
+    private final TransferBufferPool mBufferPool;
+    private final long mSize;
+    private final int mBlockSize;
+    private final int mCacheSize;
+
+    // Least recently used blocks are evicted first. The block buffers are taken from the
+    // transfer buffer pool (and can therefore be larger than the block size).
+    private final Map<Long, byte[]> mBlocks = new LinkedHashMap<>(16, 0.75f, true);
+
+    // A lock (instead of synchronized methods) allows the pool to skip a busy channel
+    private final ReentrantLock mLock = new ReentrantLock();
+
+    private long mPosition;
+    private boolean mIsOpen = true;
+
+    CachedByteChannel(FileRangeReader reader, TransferBufferPool bufferPool, long size,
+            int blockSize, int cacheSize) {
+        mReader = reader;
+        mBufferPool = bufferPool;
+        mSize = size;
+        mBlockSize = blockSize;
+        mCacheSize = cacheSize;
+
+        mBufferPool.addKeeper(this);
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        mLock.lock();
+        try {
+            assertOpen();
+
+            if (mPosition >= mSize) {
+                return -1;
+            }
+
+            int bytesReadTotal = 0;
+            while (dst.hasRemaining() && mPosition < mSize) {
+                long blockIndex = mPosition / mBlockSize;
+                int blockOffset = (int) (mPosition % mBlockSize);
+                byte[] block = getBlock(blockIndex);
+
+                int count = Math.min(dst.remaining(), getBlockLength(blockIndex) - blockOffset);
+                dst.put(block, blockOffset, count);
+
+                mPosition = mPosition + count;
+                bytesReadTotal = bytesReadTotal + count;
+            }
+            return bytesReadTotal;
+        } finally {
+            mLock.unlock();
+        }
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public long position() throws IOException {
+        mLock.lock();
+        try {
+            assertOpen();
+            return mPosition;
+        } finally {
+            mLock.unlock();
+        }
+    }
+
+    @Override
+    public SeekableByteChannel position(long newPosition) throws IOException {
+        if (newPosition < 0L) {
+            throw new IllegalArgumentException("Position cannot be negative.");
+        }
+        mLock.lock();
+        try {
+            assertOpen();
+            mPosition = newPosition;
+            return this;
+        } finally {
+            mLock.unlock();
+        }
+    }
+
+    @Override
+    public long size() throws IOException {
+        mLock.lock();
+        try {
+            assertOpen();
+            return mSize;
+        } finally {
+            mLock.unlock();
+        }
+    }
+
+    @Override
+    public SeekableByteChannel truncate(long size) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public boolean isOpen() {
+        mLock.lock();
+        try {
+            return mIsOpen;
+        } finally {
+            mLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        mLock.lock();
+        try {
+            mIsOpen = false;
+            releaseBlocks();
+        } finally {
+            mLock.unlock();
+        }
+        mBufferPool.removeKeeper(this);
+    }
+
+    // Called by the buffer pool if it runs out of memory. A channel which is being read keeps its
+    // blocks. (If the pool is called by the read of this channel itself, the blocks are handed
+    // back too. The read does not use them while it waits for a new block.)
+    @Override
+    public void trimBuffers() {
+        if (!mLock.tryLock()) {
+            return;
+        }
+        try {
+            releaseBlocks();
+        } finally {
+            mLock.unlock();
+        }
+    }
+
+    private void assertOpen() throws ClosedChannelException {
+        if (!mIsOpen) {
+            throw new ClosedChannelException();
+        }
+    }
+
+    // --- Block methods ---
+
+    private byte[] getBlock(long blockIndex) throws IOException {
+        byte[] block = mBlocks.get(blockIndex);
+        if (block != null) {
+            return block;
+        }
+
+        int count = getBlockLength(blockIndex);
+        evictBlocks(count);
+
+        try {
+            block = mBufferPool.acquire(count);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Read of file was interrupted.");
+        }
+
+        try {
+            mReader.read(blockIndex * mBlockSize, count, block);
+        } catch (DracoonNetIOInterruptedException e) {
+            mBufferPool.release(block);
+            InterruptedIOException ioe = new InterruptedIOException(e.getMessage());
+            ioe.initCause(e);
+            throw ioe;
+        } catch (DracoonException e) {
+            mBufferPool.release(block);
+            throw new IOException(e.getMessage(), e);
+        }
+
+        mBlocks.put(blockIndex, block);
+        return block;
+    }
+
+    private void releaseBlocks() {
+        for (byte[] block : mBlocks.values()) {
+            mBufferPool.release(block);
+        }
+        mBlocks.clear();
+    }
+
+    private int getBlockLength(long blockIndex) {
+        return (int) Math.min(mBlockSize, mSize - blockIndex * mBlockSize);
+    }
+
+    // Makes room for a new block. Blocks are also evicted if the pool has no memory left for the
+    // new block. Otherwise, the channel would wait for memory which is held by its own cache.
+    private void evictBlocks(int count) {
+        Iterator<byte[]> blocks = mBlocks.values().iterator();
+        while (blocks.hasNext() && (mBlocks.size() >= mCacheSize ||
+                mBufferPool.getMemoryInUse() + count > mBufferPool.getMemoryLimit())) {
+            mBufferPool.release(blocks.next());
+            blocks.remove();
+        }
+    }
+
+}
@@ -0,0 +1,165 @@
+package com.dracoon.sdk.internal;
+
+import com.dracoon.sdk.Log;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+// Delivers the events of a transfer to its callbacks on the callback executor of the client.
+// This way, slow callbacks do not block the transfer thread.
+// - Events are delivered in the order in which they occurred. (Also if the executor uses several
+//   threads: A dispatcher runs at most one delivery task at a time.)
+// - Progress events are coalesced: If the previous progress event has not been delivered yet,
+//   it is replaced by the new one. So, a slow callback only receives fewer progress events.
+// - Progress events are delivered at most every 100 ms.
+class CallbackDispatcher<T> {
+
+    private static final String LOG_TAG = CallbackDispatcher.class.getSimpleName();
+
+    private static final long PROGRESS_UPDATE_INTERVAL = TimeUnit.MILLISECONDS.toNanos(100L);
+
+    private static final ThreadLocal<Boolean> sIsDelivering = ThreadLocal.withInitial(
+            () -> false);
+
+    interface Event<T> {
+        void deliver(T callback);
+    }
+
+    private final Executor mExecutor;
+    private final Log mLog;
+
+    private final List<T> mCallbacks = new CopyOnWriteArrayList<>();
+
+    private final Queue<Event<T>> mEvents = new ArrayDeque<>();
+    private Event<T> mProgressEvent;
+    private long mProgressTime = System.nanoTime();
+    private boolean mIsScheduled;
+
+    CallbackDispatcher(Executor executor, Log log) {
+        mExecutor = executor;
+        mLog = log;
+    }
+
+    void addCallback(T callback) {
+        if (callback != null) {
+            mCallbacks.add(callback);
+        }
+    }
+
+    void removeCallback(T callback) {
+        if (callback != null) {
+            mCallbacks.remove(callback);
+        }
+    }
+
+    void dispatch(Event<T> event) {
+        if (mCallbacks.isEmpty()) {
+            return;
+        }
+
+        boolean schedule;
+        synchronized (this) {
+            // A pending progress event occurred before this event
+            if (mProgressEvent != null) {
+                mEvents.add(mProgressEvent);
+                mProgressEvent = null;
+            }
+            mEvents.add(event);
+            schedule = markScheduled();
+        }
+        if (schedule) {
+            schedule();
+        }
+    }
+
+    void dispatchProgress(Event<T> event) {
+        if (mCallbacks.isEmpty()) {
+            return;
+        }
+
+        boolean schedule;
+        synchronized (this) {
+            if (mProgressEvent == null) {
+                long currentTime = System.nanoTime();
+                if (currentTime - mProgressTime < PROGRESS_UPDATE_INTERVAL) {
+                    return;
+                }
+                mProgressTime = currentTime;
+            }
+            mProgressEvent = event;
+            schedule = markScheduled();
+        }
+        if (schedule) {
+            schedule();
+        }
+    }
+
+    // Waits until all events which occurred so far were delivered. (If called from a callback,
+    // it does not wait, because the events could only be delivered after the callback returned.)
+    void awaitDelivery() throws InterruptedException {
+        if (sIsDelivering.get()) {
+            return;
+        }
+        synchronized (this) {
+            while (mIsScheduled) {
+                wait();
+            }
+        }
+    }
+
+    private boolean markScheduled() {
+        if (mIsScheduled) {
+            return false;
+        }
+        mIsScheduled = true;
+        return true;
+    }
+
+    private void schedule() {
+        try {
+            mExecutor.execute(this::deliver);
+        } catch (RejectedExecutionException e) {
+            // If the executor was shut down, events are delivered on the current thread
+            mLog.w(LOG_TAG, "Callback executor rejected delivery. Delivering on current thread.");
+            deliver();
+        }
+    }
+
+    private void deliver() {
+        boolean wasDelivering = sIsDelivering.get();
+        sIsDelivering.set(true);
+        try {
+            Event<T> event;
+            while ((event = nextEvent()) != null) {
+                for (T callback : mCallbacks) {
+                    try {
+                        event.deliver(callback);
+                    } catch (RuntimeException e) {
+                        mLog.w(LOG_TAG, "Callback failed!", e);
+                    }
+                }
+            }
+        } finally {
+            sIsDelivering.set(wasDelivering);
+        }
+    }
+
+    private synchronized Event<T> nextEvent() {
+        Event<T> event = mEvents.poll();
+        if (event == null) {
+            event = mProgressEvent;
+            mProgressEvent = null;
+        }
+        if (event == null) {
+            mIsScheduled = false;
+            notifyAll();
+        }
+        return event;
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.dracoon.sdk.internal;
+
+import com.dracoon.sdk.error.DracoonApiException;
+import com.dracoon.sdk.error.DracoonCryptoException;
+import com.dracoon.sdk.error.DracoonFileIOException;
+import com.dracoon.sdk.error.DracoonNetIOException;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+// Runs an independent step (e.g. a request) in a separate thread, so that it overlaps with the
+// steps of the calling thread. Errors of the step are rethrown when the result is awaited.
+// The steps run on the task threads of the client. If no thread is free, the step is run
+// directly by the calling thread. (Queued steps would wait behind the steps of other transfers,
+// while the calling thread sits idle.)
+class ConcurrentTask<T> {
+
+    private final FutureTask<T> mTask;
+
+    private ConcurrentTask(FutureTask<T> task) {
+        mTask = task;
+    }
+
+    static <T> ConcurrentTask<T> start(TaskExecutor executor, String name,
+            Callable<T> callable) {
+        FutureTask<T> task = new FutureTask<>(callable);
+        executor.execute(name, task);
+        return new ConcurrentTask<>(task);
+    }
+
+    static void cancel(ConcurrentTask<?> task) {
+        if (task != null) {
+            task.mTask.cancel(true);
+        }
+    }
+
+    T await() throws DracoonNetIOException, DracoonApiException, DracoonCryptoException,
+            DracoonFileIOException, InterruptedException {
+        try {
+            return mTask.get();
+        } catch (InterruptedException e) {
+            mTask.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof DracoonNetIOException) {
+                throw (DracoonNetIOException) cause;
+            } else if (cause instanceof DracoonApiException) {
+                throw (DracoonApiException) cause;
+            } else if (cause instanceof DracoonCryptoException) {
+                throw (DracoonCryptoException) cause;
+            } else if (cause instanceof DracoonFileIOException) {
+                throw (DracoonFileIOException) cause;
+            } else if (cause instanceof InterruptedException) {
+                throw (InterruptedException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+}
@@ -0,0 +1,344 @@
+package com.dracoon.sdk.internal;
+
+import com.dracoon.sdk.Log;
+import com.dracoon.sdk.crypto.model.UserKeyPair;
+import com.dracoon.sdk.crypto.model.UserPrivateKey;
+import com.dracoon.sdk.error.DracoonApiCode;
+import com.dracoon.sdk.error.DracoonApiException;
+import com.dracoon.sdk.error.DracoonCryptoException;
+import com.dracoon.sdk.error.DracoonException;
+import com.dracoon.sdk.error.DracoonFileIOException;
+import com.dracoon.sdk.error.DracoonNetIOException;
+import com.dracoon.sdk.error.DracoonNetIOInterruptedException;
+import com.dracoon.sdk.internal.model.ApiNode;
+import com.dracoon.sdk.internal.util.DateUtils;
+import com.dracoon.sdk.internal.util.HashUtils;
+import com.dracoon.sdk.model.DirectoryDownloadResult;
+import com.dracoon.sdk.model.FileDownloadCallback;
+import com.dracoon.sdk.model.Node;
+import com.dracoon.sdk.model.NodeType;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class DirectoryDownloader {
+
+    private static final String LOG_TAG = DirectoryDownloader.class.getSimpleName();
+
+    private static final String PATH_SEPARATOR = "/";
+    private static final String TEMP_FILE_SUFFIX = ".part";
+
+    private final DracoonClientImpl mClient;
+    private final DracoonNodesImpl mNodes;
+    private final Log mLog;
+    private final int mParallelism;
+
+    private final String mId;
+    private final long mNodeId;
+    private final File mDirectory;
+    private final Path mDirectoryPath;
+    private final FileDownloadCallback mCallback;
+
+    private String mRootPath;
+    private UserPrivateKey mUserPrivateKey;
+
+    private final List<String> mDownloadedFiles = Collections.synchronizedList(
+            new ArrayList<>());
+    private final List<String> mSkippedFiles = Collections.synchronizedList(new ArrayList<>());
+    private final Map<String, DracoonException> mFailedFiles = Collections.synchronizedMap(
+            new LinkedHashMap<>());
+
+    private final JobProgress mProgress = new JobProgress(this::notifyRunning);
+
+    DirectoryDownloader(DracoonClientImpl client, String id, long nodeId, File directory,
+            FileDownloadCallback callback) {
+        mClient = client;
+        mNodes = client.getNodesImpl();
+        mLog = client.getLog();
+        mParallelism = client.getParallelism();
+
+        mId = id;
+        mNodeId = nodeId;
+        mDirectory = directory;
+        mDirectoryPath = directory.toPath().toAbsolutePath().normalize();
+        mCallback = callback;
+    }
+
+    DirectoryDownloadResult download() throws DracoonFileIOException, DracoonCryptoException,
+            DracoonNetIOException, DracoonApiException {
+        notifyStarted();
+        try {
+            downloadInternally();
+            notifyFinished();
+        } catch (DracoonNetIOInterruptedException e) {
+            notifyCanceled();
+            throw e;
+        } catch (DracoonFileIOException | DracoonCryptoException | DracoonNetIOException |
+                DracoonApiException e) {
+            notifyFailed(e);
+            throw e;
+        }
+
+        DirectoryDownloadResult result = new DirectoryDownloadResult();
+        result.setDownloadedFiles(new ArrayList<>(mDownloadedFiles));
+        result.setSkippedFiles(new ArrayList<>(mSkippedFiles));
+        result.setFailedFiles(new LinkedHashMap<>(mFailedFiles));
+        return result;
+    }
+
+    private void downloadInternally() throws DracoonFileIOException, DracoonCryptoException,
+            DracoonNetIOException, DracoonApiException {
+        Node node = mNodes.getNode(mNodeId);
+        if (node.getType() == NodeType.FILE) {
+            String errorText = String.format("Directory download '%s' failed! Node '%d' is not " +
+                    "a room or folder.", mId, mNodeId);
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonApiException(DracoonApiCode.SERVER_FOLDER_NOT_FOUND);
+        }
+        mRootPath = appendSeparator(node.getParentPath()) + node.getName() + PATH_SEPARATOR;
+
+        createDirectory(mDirectory);
+
+        // Downloads are started while the tree is still being listed. The listing waits while all
+        // downloads of the group are running, so that large trees are not held in memory
+        // completely. (Failures of single files are recorded by processFile.)
+        try (TaskGroup group = new TaskGroup(mClient, "download", mParallelism)) {
+            mNodes.<DracoonException>forEachNodeInternally(mNodeId, -1, null, apiNode -> {
+                String path = getRelativePath(apiNode);
+                if (path == null) {
+                    return;
+                }
+
+                File file = resolveFile(path);
+                if (!NodeType.FILE.getValue().equals(apiNode.type)) {
+                    createDirectory(file);
+                    return;
+                }
+
+                if (Boolean.TRUE.equals(apiNode.isEncrypted) && mUserPrivateKey == null) {
+                    UserKeyPair userKeyPair = mClient.getAccountImpl().getAndCheckUserKeyPair();
+                    mUserPrivateKey = userKeyPair.getUserPrivateKey();
+                }
+
+                submitDownload(group, path, file, apiNode);
+            });
+
+            group.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            String errorText = String.format("Directory download '%s' interrupted.", mId);
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonNetIOInterruptedException(errorText, e);
+        } catch (DracoonFileIOException | DracoonCryptoException | DracoonNetIOException |
+                DracoonApiException e) {
+            throw e;
+        } catch (DracoonException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void submitDownload(TaskGroup group, String path, File file, ApiNode apiNode)
+            throws DracoonNetIOInterruptedException {
+        try {
+            group.submit(() -> {
+                processFile(path, file, apiNode);
+                return null;
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            String errorText = String.format("Directory download '%s' interrupted.", mId);
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonNetIOInterruptedException(errorText, e);
+        }
+    }
+
+    // --- Path methods ---
+
+    private String getRelativePath(ApiNode apiNode) {
+        String path = appendSeparator(apiNode.parentPath) + apiNode.name;
+        if (!path.regionMatches(true, 0, mRootPath, 0, mRootPath.length()) ||
+                path.length() == mRootPath.length()) {
+            mLog.w(LOG_TAG, String.format("Node '%d' is not part of the tree of node '%d'.",
+                    apiNode.id, mNodeId));
+            return null;
+        }
+        return path.substring(mRootPath.length());
+    }
+
+    private File resolveFile(String path) throws DracoonFileIOException {
+        Path filePath = mDirectoryPath.resolve(path.replace(PATH_SEPARATOR, File.separator))
+                .normalize();
+        if (!filePath.startsWith(mDirectoryPath)) {
+            String errorText = String.format("Path '%s' is outside of directory '%s'!", path,
+                    mDirectory);
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonFileIOException(errorText);
+        }
+        return filePath.toFile();
+    }
+
+    private static String appendSeparator(String path) {
+        if (path == null || path.isEmpty()) {
+            return PATH_SEPARATOR;
+        }
+        return path.endsWith(PATH_SEPARATOR) ? path : path + PATH_SEPARATOR;
+    }
+
+    private void createDirectory(File directory) throws DracoonFileIOException {
+        if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory()) {
+            String errorText = String.format("Creation of directory '%s' failed!", directory);
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonFileIOException(errorText);
+        }
+    }
+
+    // --- Change detection methods ---
+
+    private boolean isFileChanged(File localFile, ApiNode remoteFile)
+            throws DracoonFileIOException {
+        if (!localFile.isFile()) {
+            return true;
+        }
+
+        if (remoteFile.size == null || remoteFile.size != localFile.length()) {
+            return true;
+        }
+
+        Date remoteDate = DateUtils.parseDate(remoteFile.updatedAt != null ?
+                remoteFile.updatedAt : remoteFile.createdAt);
+        if (remoteDate != null && localFile.lastModified() >= remoteDate.getTime()) {
+            return false;
+        }
+
+        // Remote file is newer, but has the same size: Compare the content, if possible.
+        if (remoteFile.hash == null) {
+            return true;
+        }
+
+        try {
+            String localHash = HashUtils.computeHash(HashUtils.ALGORITHM_MD5, localFile);
+            return !localHash.equalsIgnoreCase(remoteFile.hash);
+        } catch (IOException e) {
+            String errorText = String.format("Hash calculation of file '%s' failed!", localFile);
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonFileIOException(errorText, e);
+        }
+    }
+
+    // --- Download methods ---
+
+    private void processFile(String path, File file, ApiNode remoteFile) {
+        try {
+            if (!isFileChanged(file, remoteFile)) {
+                mSkippedFiles.add(path);
+                return;
+            }
+
+            mProgress.addBytesTotal(remoteFile.size != null ? remoteFile.size : 0L);
+
+            downloadFile(path, file, remoteFile);
+            mDownloadedFiles.add(path);
+        } catch (DracoonException e) {
+            mFailedFiles.put(path, e);
+        }
+    }
+
+    private void downloadFile(String path, File file, ApiNode remoteFile)
+            throws DracoonFileIOException, DracoonCryptoException, DracoonNetIOException,
+            DracoonApiException {
+        String id = mId + PATH_SEPARATOR + path;
+        long length = remoteFile.size != null ? remoteFile.size : 0L;
+
+        // The file is downloaded to a temporary file first. So, an aborted download never
+        // replaces an existing file.
+        File tempFile = new File(file.getParentFile(), file.getName() + TEMP_FILE_SUFFIX);
+        AtomicBoolean isCanceled = new AtomicBoolean();
+
+        try {
+            try (OutputStream os = mNodes.getFileOutputStream(tempFile)) {
+                FileDownload download;
+                if (Boolean.TRUE.equals(remoteFile.isEncrypted)) {
+                    download = new EncFileDownload(mClient, id, remoteFile.id, os,
+                            mUserPrivateKey);
+                } else {
+                    download = new FileDownload(mClient, id, remoteFile.id, os);
+                }
+
+                // Size and hash are known from the listing
+                download.setFileInfo(remoteFile.size, remoteFile.hash);
+
+                download.addCallback(mProgress.createDownloadCallback(length, isCanceled));
+
+                download.runSync();
+            }
+
+            if (isCanceled.get()) {
+                String errorText = String.format("Download '%s' interrupted.", id);
+                mLog.d(LOG_TAG, errorText);
+                throw new DracoonNetIOInterruptedException(errorText);
+            }
+
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            String errorText = String.format("Write of file '%s' failed!", file);
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonFileIOException(errorText, e);
+        } finally {
+            if (tempFile.exists() && !tempFile.delete()) {
+                mLog.w(LOG_TAG, String.format("File '%s' could not be deleted.", tempFile));
+            }
+        }
+
+        // The modification date is used to detect changes at the next download.
+        Date remoteDate = DateUtils.parseDate(remoteFile.updatedAt != null ?
+                remoteFile.updatedAt : remoteFile.createdAt);
+        if (remoteDate != null && !file.setLastModified(remoteDate.getTime())) {
+            mLog.w(LOG_TAG, String.format("Modification date of file '%s' could not be set.",
+                    file));
+        }
+    }
+
+    // --- Callback helper methods ---
+
+    private void notifyStarted() {
+        if (mCallback != null) {
+            mCallback.onStarted(mId);
+        }
+    }
+
+    private void notifyRunning(long bytesRead, long bytesTotal) {
+        if (mCallback != null) {
+            mCallback.onRunning(mId, bytesRead, bytesTotal);
+        }
+    }
+
+    private void notifyFinished() {
+        if (mCallback != null) {
+            mCallback.onFinished(mId);
+        }
+    }
+
+    private void notifyCanceled() {
+        if (mCallback != null) {
+            mCallback.onCanceled(mId);
+        }
+    }
+
+    private void notifyFailed(DracoonException e) {
+        if (mCallback != null) {
+            mCallback.onFailed(mId, e);
+        }
+    }
+
+}
@@ -0,0 +1,375 @@
+package com.dracoon.sdk.internal;
+
+import com.dracoon.sdk.Log;
+import com.dracoon.sdk.crypto.model.UserKeyPair;
+import com.dracoon.sdk.crypto.model.UserPublicKey;
+import com.dracoon.sdk.error.DracoonApiException;
+import com.dracoon.sdk.error.DracoonCryptoException;
+import com.dracoon.sdk.error.DracoonException;
+import com.dracoon.sdk.error.DracoonFileIOException;
+import com.dracoon.sdk.error.DracoonNetIOException;
+import com.dracoon.sdk.error.DracoonNetIOInterruptedException;
+import com.dracoon.sdk.internal.model.ApiNode;
+import com.dracoon.sdk.internal.util.DateUtils;
+import com.dracoon.sdk.internal.util.HashUtils;
+import com.dracoon.sdk.model.DirectoryUploadResult;
+import com.dracoon.sdk.model.FileUploadCallback;
+import com.dracoon.sdk.model.FileUploadRequest;
+import com.dracoon.sdk.model.Node;
+import com.dracoon.sdk.model.NodeType;
+import com.dracoon.sdk.model.ResolutionStrategy;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.stream.Stream;
+
+class DirectoryUploader {
+
+    private static final String LOG_TAG = DirectoryUploader.class.getSimpleName();
+
+    private static final String PATH_SEPARATOR = "/";
+
+    private static class LocalFile {
+        final String mPath;
+        final File mFile;
+        final long mLength;
+
+        LocalFile(String path, File file, long length) {
+            mPath = path;
+            mFile = file;
+            mLength = length;
+        }
+    }
+
+    private final DracoonClientImpl mClient;
+    private final DracoonNodesImpl mNodes;
+    private final Log mLog;
+    private final int mParallelism;
+
+    private final String mId;
+    private final long mParentNodeId;
+    private final File mDirectory;
+    private final ResolutionStrategy mResolutionStrategy;
+    private final FileUploadCallback mCallback;
+
+    private final JobProgress mProgress = new JobProgress(this::notifyRunning);
+
+    DirectoryUploader(DracoonClientImpl client, String id, long parentNodeId, File directory,
+            ResolutionStrategy resolutionStrategy, FileUploadCallback callback) {
+        mClient = client;
+        mNodes = client.getNodesImpl();
+        mLog = client.getLog();
+        mParallelism = client.getParallelism();
+
+        mId = id;
+        mParentNodeId = parentNodeId;
+        mDirectory = directory;
+        mResolutionStrategy = resolutionStrategy;
+        mCallback = callback;
+    }
+
+    DirectoryUploadResult upload() throws DracoonFileIOException, DracoonCryptoException,
+            DracoonNetIOException, DracoonApiException {
+        notifyStarted();
+        try {
+            Node parentNode = mNodes.getNode(mParentNodeId);
+            DirectoryUploadResult result = uploadInternally(parentNode.isEncrypted());
+            notifyFinished(parentNode);
+            return result;
+        } catch (DracoonNetIOInterruptedException e) {
+            notifyCanceled();
+            throw e;
+        } catch (DracoonFileIOException | DracoonCryptoException | DracoonNetIOException |
+                DracoonApiException e) {
+            notifyFailed(e);
+            throw e;
+        }
+    }
+
+    private DirectoryUploadResult uploadInternally(boolean isEncryptedUpload)
+            throws DracoonFileIOException, DracoonCryptoException, DracoonNetIOException,
+            DracoonApiException {
+        // Walk local tree
+        List<String> localFolders = new ArrayList<>();
+        List<LocalFile> localFiles = new ArrayList<>();
+        walkDirectory(localFolders, localFiles);
+
+        // List remote tree and index it by relative path
+        List<ApiNode> remoteNodes = mNodes.getAllNodesInternally(mParentNodeId, -1, null);
+        Map<String, ApiNode> remoteFiles = indexRemoteFiles(remoteNodes);
+
+        // Create missing folders
+        Map<String, Node> folders = new HashMap<>();
+        if (!localFolders.isEmpty()) {
+            FolderTreeCreator creator = new FolderTreeCreator(mClient);
+            folders = creator.createFolders(mParentNodeId, localFolders, remoteNodes);
+        }
+
+        // Determine new and changed files
+        List<String> skippedFiles = new ArrayList<>();
+        List<LocalFile> changedFiles = new ArrayList<>();
+        for (LocalFile localFile : localFiles) {
+            ApiNode remoteFile = remoteFiles.get(normalizePath(localFile.mPath));
+            if (isFileChanged(localFile, remoteFile)) {
+                changedFiles.add(localFile);
+                mProgress.addBytesTotal(localFile.mLength);
+            } else {
+                skippedFiles.add(localFile.mPath);
+            }
+        }
+
+        // Upload new and changed files
+        UserPublicKey userPublicKey = null;
+        if (!changedFiles.isEmpty() && isEncryptedUpload) {
+            UserKeyPair userKeyPair = mClient.getAccountImpl().getAndCheckUserKeyPair();
+            userPublicKey = userKeyPair.getUserPublicKey();
+        }
+
+        Map<String, DracoonException> failedFiles = Collections.synchronizedMap(
+                new LinkedHashMap<>());
+        List<String> uploadedFiles = Collections.synchronizedList(new ArrayList<>());
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (LocalFile localFile : changedFiles) {
+            Node parentFolder = folders.get(getParentPath(localFile.mPath));
+            long parentNodeId = parentFolder != null ? parentFolder.getId() : mParentNodeId;
+            UserPublicKey publicKey = userPublicKey;
+            tasks.add(() -> {
+                try {
+                    uploadFile(localFile, parentNodeId, publicKey);
+                    uploadedFiles.add(localFile.mPath);
+                } catch (DracoonException e) {
+                    failedFiles.put(localFile.mPath, e);
+                }
+                return null;
+            });
+        }
+        executeTasks(tasks);
+
+        DirectoryUploadResult result = new DirectoryUploadResult();
+        result.setUploadedFiles(new ArrayList<>(uploadedFiles));
+        result.setSkippedFiles(skippedFiles);
+        result.setFailedFiles(new LinkedHashMap<>(failedFiles));
+        return result;
+    }
+
+    // --- Tree methods ---
+
+    private void walkDirectory(List<String> folders, List<LocalFile> files)
+            throws DracoonFileIOException {
+        Path root = mDirectory.toPath();
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.forEach(path -> {
+                if (path.equals(root)) {
+                    return;
+                }
+                String relativePath = root.relativize(path).toString()
+                        .replace(File.separatorChar, '/');
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                } catch (IOException e) {
+                    mLog.w(LOG_TAG, String.format("Attributes of '%s' could not be read.",
+                            relativePath));
+                    return;
+                }
+                if (attributes.isDirectory()) {
+                    folders.add(relativePath);
+                } else if (attributes.isRegularFile()) {
+                    files.add(new LocalFile(relativePath, path.toFile(), attributes.size()));
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            String errorText = String.format("Read of directory '%s' failed!", mDirectory);
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonFileIOException(errorText, e);
+        }
+    }
+
+    private Map<String, ApiNode> indexRemoteFiles(List<ApiNode> remoteNodes) {
+        Map<Long, ApiNode> nodesById = new HashMap<>();
+        for (ApiNode apiNode : remoteNodes) {
+            nodesById.put(apiNode.id, apiNode);
+        }
+
+        Map<Long, String> pathsById = new HashMap<>();
+        Map<String, ApiNode> files = new HashMap<>();
+        for (ApiNode apiNode : remoteNodes) {
+            if (!NodeType.FILE.getValue().equals(apiNode.type)) {
+                continue;
+            }
+            String path = getRemotePath(apiNode, nodesById, pathsById);
+            if (path != null) {
+                files.put(normalizePath(path), apiNode);
+            }
+        }
+        return files;
+    }
+
+    private String getRemotePath(ApiNode apiNode, Map<Long, ApiNode> nodesById,
+            Map<Long, String> pathsById) {
+        String path = pathsById.get(apiNode.id);
+        if (path != null) {
+            return path;
+        }
+
+        if (apiNode.parentId == null) {
+            return null;
+        } else if (apiNode.parentId == mParentNodeId) {
+            path = apiNode.name;
+        } else {
+            ApiNode parentNode = nodesById.get(apiNode.parentId);
+            String parentPath = parentNode != null ? getRemotePath(parentNode, nodesById,
+                    pathsById) : null;
+            if (parentPath == null) {
+                return null;
+            }
+            path = parentPath + PATH_SEPARATOR + apiNode.name;
+        }
+
+        pathsById.put(apiNode.id, path);
+        return path;
+    }
+
+    // Node names are case-insensitive.
+    private static String normalizePath(String path) {
+        return path.toLowerCase(Locale.ROOT);
+    }
+
+    private static String getParentPath(String path) {
+        int separatorIndex = path.lastIndexOf(PATH_SEPARATOR);
+        return separatorIndex > -1 ? path.substring(0, separatorIndex) : "";
+    }
+
+    private static String getName(String path) {
+        return path.substring(path.lastIndexOf(PATH_SEPARATOR) + 1);
+    }
+
+    // --- Change detection methods ---
+
+    private boolean isFileChanged(LocalFile localFile, ApiNode remoteFile)
+            throws DracoonFileIOException {
+        if (remoteFile == null) {
+            return true;
+        }
+
+        if (remoteFile.size == null || remoteFile.size != localFile.mLength) {
+            return true;
+        }
+
+        Date remoteDate = DateUtils.parseDate(remoteFile.updatedAt != null ?
+                remoteFile.updatedAt : remoteFile.createdAt);
+        if (remoteDate != null && remoteDate.getTime() >= localFile.mFile.lastModified()) {
+            return false;
+        }
+
+        // Local file is newer, but has the same size: Compare the content, if possible.
+        if (remoteFile.hash == null) {
+            return true;
+        }
+
+        try {
+            String localHash = HashUtils.computeHash(HashUtils.ALGORITHM_MD5, localFile.mFile);
+            return !localHash.equalsIgnoreCase(remoteFile.hash);
+        } catch (IOException e) {
+            String errorText = String.format("Hash calculation of file '%s' failed!",
+                    localFile.mPath);
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonFileIOException(errorText, e);
+        }
+    }
+
+    // --- Upload methods ---
+
+    private void uploadFile(LocalFile localFile, long parentNodeId, UserPublicKey userPublicKey)
+            throws DracoonFileIOException, DracoonCryptoException, DracoonNetIOException,
+            DracoonApiException {
+        String id = mId + PATH_SEPARATOR + localFile.mPath;
+
+        FileUploadRequest request = new FileUploadRequest.Builder(parentNodeId,
+                getName(localFile.mPath))
+                .resolutionStrategy(mResolutionStrategy)
+                .build();
+
+        try (InputStream is = mNodes.getFileInputStream(localFile.mFile)) {
+            FileUpload upload;
+            if (userPublicKey != null) {
+                upload = new EncFileUpload(mClient, id, request, is, localFile.mLength,
+                        userPublicKey);
+            } else {
+                upload = new FileUpload(mClient, id, request, is, localFile.mLength);
+            }
+
+            upload.addCallback(mProgress.createUploadCallback(localFile.mLength));
+
+            upload.runSync();
+        } catch (IOException e) {
+            mLog.w(LOG_TAG, String.format("File '%s' could not be closed.", localFile.mPath));
+        }
+    }
+
+    private void executeTasks(List<Callable<Void>> tasks) throws DracoonNetIOException {
+        if (tasks.isEmpty()) {
+            return;
+        }
+
+        try (TaskGroup group = new TaskGroup(mClient, "upload", mParallelism)) {
+            group.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            String errorText = String.format("Directory upload '%s' interrupted.", mId);
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonNetIOInterruptedException(errorText, e);
+        } catch (DracoonException e) {
+            // Cannot happen: Upload tasks catch all errors
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // --- Callback helper methods ---
+
+    private void notifyStarted() {
+        if (mCallback != null) {
+            mCallback.onStarted(mId);
+        }
+    }
+
+    private void notifyRunning(long bytesSend, long bytesTotal) {
+        if (mCallback != null) {
+            mCallback.onRunning(mId, bytesSend, bytesTotal);
+        }
+    }
+
+    private void notifyFinished(Node parentNode) {
+        if (mCallback != null) {
+            mCallback.onFinished(mId, parentNode);
+        }
+    }
+
+    private void notifyCanceled() {
+        if (mCallback != null) {
+            mCallback.onCanceled(mId);
+        }
+    }
+
+    private void notifyFailed(DracoonException e) {
+        if (mCallback != null) {
+            mCallback.onFailed(mId, e);
+        }
+    }
+
+}
@@ -0,0 +1,465 @@
+package com.dracoon.sdk.internal;
+
+import com.dracoon.sdk.Log;
+import com.dracoon.sdk.Metrics;
+import com.dracoon.sdk.TransferBufferPool;
+import com.dracoon.sdk.crypto.BadFileException;
+import com.dracoon.sdk.crypto.CryptoSystemException;
+import com.dracoon.sdk.crypto.CryptoUtils;
+import com.dracoon.sdk.error.DracoonCryptoCode;
+import com.dracoon.sdk.error.DracoonCryptoException;
+import com.dracoon.sdk.error.DracoonException;
+import com.dracoon.sdk.error.DracoonNetIOInterruptedException;
+import com.dracoon.sdk.internal.crypto.FileCipherFactory;
+import com.dracoon.sdk.internal.crypto.FileDecryptor;
+import com.dracoon.sdk.internal.jfr.JfrEvents;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.locks.ReentrantLock;
+
+// The prefetched chunks are handed back to the transfer buffer pool if the pool runs out of
+// memory (see trimBuffers). So, an idle stream does not block other transfers.
+class DownloadInputStream extends InputStream implements TransferBufferPool.BufferKeeper {
+
+    private static final String LOG_TAG = DownloadInputStream.class.getSimpleName();
+
+    private static final int CHUNK_SIZE = FileDownload.JUNK_SIZE;
+
+    // Number of chunks which are prefetched in the background. (This bounds the memory which is
+    // used by a stream to (READ_AHEAD_CHUNKS + 1) * CHUNK_SIZE. The chunk buffers are taken from
+    // the transfer buffer pool of the client.)
+    private static final int READ_AHEAD_CHUNKS = 4;
+
+    private static final byte[] EMPTY_BYTES = new byte[0];
+
+    // A chunk of the file. Chunks are prefetched on the task threads of the client. If no thread
+    // is free, the chunk is read by the reading thread when it is needed.
+    // The buffer is stored by the read. If the chunk was discarded in the meantime (i.e. the
+    // stream was closed or trimmed), the read hands the buffer back itself.
+    private class Chunk {
+
+        private final long mIndex;
+        private final long mOffset;
+        private final int mCount;
+        private final int mBufferSize;
+
+        private FutureTask<Void> mTask;
+        private byte[] mBuffer;
+        private boolean mIsDiscarded;
+
+        Chunk(long index, long offset, int count, int bufferSize) {
+            mIndex = index;
+            mOffset = offset;
+            mCount = count;
+            mBufferSize = bufferSize;
+        }
+
+        synchronized boolean isScheduled() {
+            return mTask != null;
+        }
+
+        synchronized void schedule() {
+            if (mIsDiscarded || mTask != null) {
+                return;
+            }
+            FutureTask<Void> task = new FutureTask<>(() -> {
+                readChunk(this);
+                return null;
+            });
+            if (mTaskExecutor.tryExecute("stream-" + mNodeId + "-" + mIndex, task)) {
+                mTask = task;
+            }
+        }
+
+        synchronized boolean setBuffer(byte[] buffer) {
+            if (mIsDiscarded) {
+                return false;
+            }
+            mBuffer = buffer;
+            return true;
+        }
+
+        // Returns null if the chunk was discarded
+        synchronized byte[] takeBuffer() {
+            byte[] buffer = mBuffer;
+            mBuffer = null;
+            return mIsDiscarded ? null : buffer;
+        }
+
+        synchronized void discard() {
+            mIsDiscarded = true;
+            mBufferPool.release(mBuffer);
+            mBuffer = null;
+            // A chunk which is read by the reading thread itself is not interrupted. The read
+            // ends on its own.
+            if (mTask != null) {
+                mTask.cancel(true);
+            }
+        }
+
+    }
+
+    private final Log mLog;
+    private final Metrics mMetrics;
+    private final TransferBufferPool mBufferPool;
+    private final TaskExecutor mTaskExecutor;
+
+    private final long mNodeId;
+    private final long mLength;
+    private final FileRangeReader mReader;
+    private final FileDecryptor mCipher;
+    private final String mTag;
+
+    // Closing does not take the read lock, so that a read which waits for a chunk can be aborted
+    // by closing the stream from another thread. (The chunks are guarded by their own lock.)
+    private final ReentrantLock mReadLock = new ReentrantLock();
+    private volatile boolean mIsClosed;
+
+    private final Deque<Chunk> mChunks = new ArrayDeque<>();
+    private long mNextChunkIndex;
+    private long mNextChunkOffset;
+    private boolean mIsCipherFinished;
+
+    // The chunk buffers are taken in the order of the chunks. Otherwise, a later chunk could get
+    // the last free memory of the pool while an earlier chunk (which is read first) waits for it.
+    private final Object mAcquireLock = new Object();
+    private long mNextAcquireIndex;
+    private boolean mIsAcquiringBuffer;
+
+    private byte[] mBuffer = EMPTY_BYTES;
+    private int mBufferLength;
+    private int mBufferPosition;
+    private boolean mIsBufferPooled;
+
+    DownloadInputStream(DracoonClientImpl client, long nodeId, long length,
+            FileRangeReader reader, FileDecryptor cipher, String tag) {
+        mLog = client.getLog();
+        mMetrics = client.getMetrics();
+        mBufferPool = client.getTransferBufferPool();
+        mTaskExecutor = client.getTaskExecutor();
+
+        mNodeId = nodeId;
+        mLength = length;
+        mReader = reader;
+        mCipher = cipher;
+        mTag = tag;
+
+        mBufferPool.addKeeper(this);
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        int count = read(b, 0, 1);
+        return count == -1 ? -1 : b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        mReadLock.lock();
+        try {
+            assertNotClosed();
+
+            if (len == 0) {
+                return 0;
+            }
+
+            while (mBufferPosition >= mBufferLength) {
+                if (!fillBuffer()) {
+                    return -1;
+                }
+            }
+
+            int count = Math.min(len, mBufferLength - mBufferPosition);
+            System.arraycopy(mBuffer, mBufferPosition, b, off, count);
+            mBufferPosition = mBufferPosition + count;
+            return count;
+        } finally {
+            mReadLock.unlock();
+        }
+    }
+
+    @Override
+    public int available() throws IOException {
+        mReadLock.lock();
+        try {
+            assertNotClosed();
+            return mBufferLength - mBufferPosition;
+        } finally {
+            mReadLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (mIsClosed) {
+            return;
+        }
+        mIsClosed = true;
+
+        // Discarding the chunks aborts a read which waits for one of them
+        synchronized (mChunks) {
+            for (Chunk chunk : mChunks) {
+                chunk.discard();
+            }
+            mChunks.clear();
+        }
+
+        mReadLock.lock();
+        try {
+            setBuffer(EMPTY_BYTES, 0, false);
+        } finally {
+            mReadLock.unlock();
+        }
+
+        mBufferPool.removeKeeper(this);
+    }
+
+    // Called by the buffer pool if it runs out of memory. The prefetched chunks are discarded and
+    // read again when they are needed. (The buffer of the current chunk is kept.)
+    // A stream which is being read, or whose chunks are just taking a buffer, is skipped.
+    @Override
+    public void trimBuffers() {
+        if (!mReadLock.tryLock()) {
+            return;
+        }
+        try {
+            synchronized (mAcquireLock) {
+                if (mIsAcquiringBuffer) {
+                    return;
+                }
+
+                synchronized (mChunks) {
+                    Chunk firstChunk = mChunks.peek();
+                    if (mIsClosed || firstChunk == null) {
+                        return;
+                    }
+                    for (Chunk chunk : mChunks) {
+                        chunk.discard();
+                    }
+                    mChunks.clear();
+                    mNextChunkOffset = firstChunk.mOffset;
+                    // Discarded chunks which have not taken a buffer yet must not hold up the
+                    // chunks which are scheduled next
+                    mNextAcquireIndex = mNextChunkIndex;
+                }
+                mAcquireLock.notifyAll();
+            }
+        } finally {
+            mReadLock.unlock();
+        }
+    }
+
+    private void assertNotClosed() throws IOException {
+        if (mIsClosed) {
+            throw new IOException("Stream closed.");
+        }
+    }
+
+    // --- Chunk methods ---
+
+    private boolean fillBuffer() throws IOException {
+        // Hand back the buffer of the consumed chunk, before the next chunk is awaited
+        setBuffer(EMPTY_BYTES, 0, false);
+
+        scheduleChunks();
+
+        Chunk chunk;
+        synchronized (mChunks) {
+            chunk = mChunks.peek();
+        }
+        if (chunk == null) {
+            assertNotClosed();
+            if (mCipher != null && !mIsCipherFinished) {
+                mIsCipherFinished = true;
+                byte[] plainBytes = finishDecryption();
+                setBuffer(plainBytes, plainBytes.length, false);
+                return true;
+            }
+            return false;
+        }
+
+        awaitChunk(chunk);
+        synchronized (mChunks) {
+            mChunks.remove(chunk);
+        }
+
+        // The buffer of the chunk is taken over (and handed back when the next chunk is taken)
+        byte[] buffer = chunk.takeBuffer();
+        if (buffer == null) {
+            throw new IOException("Stream closed.");
+        }
+        setBuffer(buffer, chunk.mCount, true);
+
+        // Schedule the next chunk before the current chunk is processed
+        scheduleChunks();
+
+        if (mCipher != null) {
+            mBufferLength = decrypt(mBuffer, mBufferLength);
+        }
+        return true;
+    }
+
+    private void awaitChunk(Chunk chunk) throws IOException {
+        try {
+            if (chunk.isScheduled()) {
+                chunk.mTask.get();
+            } else {
+                readChunk(chunk);
+            }
+        } catch (CancellationException e) {
+            throw new IOException("Stream closed.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new InterruptedIOException("Read of file was interrupted.");
+        } catch (ExecutionException e) {
+            close();
+            throw createIOException(e.getCause());
+        } catch (DracoonException e) {
+            close();
+            throw createIOException(e);
+        }
+    }
+
+    private void scheduleChunks() {
+        // Encrypted chunks are decrypted in place. Therefore, room for the overhead of the cipher
+        // is left in the buffers.
+        int overhead = mCipher != null ? FileCipherFactory.MAX_UPDATE_OVERHEAD : 0;
+
+        synchronized (mChunks) {
+            if (mIsClosed) {
+                return;
+            }
+
+            while (mChunks.size() < READ_AHEAD_CHUNKS && mNextChunkOffset < mLength) {
+                long remaining = mLength - mNextChunkOffset;
+                int count = remaining > CHUNK_SIZE - overhead ? CHUNK_SIZE - overhead :
+                        (int) remaining;
+                mChunks.add(new Chunk(mNextChunkIndex, mNextChunkOffset, count,
+                        count + overhead));
+                mNextChunkIndex++;
+                mNextChunkOffset = mNextChunkOffset + count;
+            }
+
+            // Chunks for which no thread was free before are tried again
+            for (Chunk chunk : mChunks) {
+                chunk.schedule();
+            }
+        }
+    }
+
+    private void readChunk(Chunk chunk) throws DracoonException, InterruptedException {
+        byte[] buffer = acquireChunkBuffer(chunk.mIndex, chunk.mBufferSize);
+        boolean isStored = false;
+        try {
+            mReader.read(chunk.mOffset, chunk.mCount, buffer);
+            isStored = chunk.setBuffer(buffer);
+        } finally {
+            if (!isStored) {
+                mBufferPool.release(buffer);
+            }
+        }
+    }
+
+    // Chunks which were discarded by a trim may still ask for a buffer. They do not wait for
+    // their turn and do not advance it.
+    private byte[] acquireChunkBuffer(long index, int size) throws InterruptedException {
+        boolean isTurn;
+        synchronized (mAcquireLock) {
+            while (mNextAcquireIndex < index) {
+                mAcquireLock.wait();
+            }
+            isTurn = mNextAcquireIndex == index;
+            if (isTurn) {
+                mIsAcquiringBuffer = true;
+            }
+        }
+        try {
+            return mBufferPool.acquire(size);
+        } finally {
+            if (isTurn) {
+                synchronized (mAcquireLock) {
+                    mIsAcquiringBuffer = false;
+                    mNextAcquireIndex++;
+                    mAcquireLock.notifyAll();
+                }
+            }
+        }
+    }
+
+    private void setBuffer(byte[] data, int length, boolean isPooled) {
+        if (mIsBufferPooled) {
+            mBufferPool.release(mBuffer);
+        }
+        mBuffer = data;
+        mBufferLength = length;
+        mBufferPosition = 0;
+        mIsBufferPooled = isPooled;
+    }
+
+    private IOException createIOException(Throwable cause) {
+        if (cause instanceof DracoonNetIOInterruptedException) {
+            InterruptedIOException e = new InterruptedIOException(cause.getMessage());
+            e.initCause(cause);
+            return e;
+        } else if (cause instanceof DracoonException) {
+            return new IOException(cause.getMessage(), cause);
+        } else if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else {
+            return new IOException(cause);
+        }
+    }
+
+    // --- Decryption methods ---
+
+    private int decrypt(byte[] buffer, int encCount) throws IOException {
+        try {
+            long cryptoStartTime = System.nanoTime();
+            Object cryptoEvent = JfrEvents.beginCrypto();
+            int plainCount = mCipher.update(buffer, 0, encCount, buffer);
+            JfrEvents.commitCrypto(cryptoEvent, JfrEvents.CRYPTO_DECRYPT_FILE, encCount);
+            mMetrics.recordCryptoTime(System.nanoTime() - cryptoStartTime);
+            return plainCount;
+        } catch (IllegalArgumentException | IllegalStateException | CryptoSystemException e) {
+            throw createDecryptionException(e);
+        }
+    }
+
+    private byte[] finishDecryption() throws IOException {
+        try {
+            byte[] encTag = CryptoUtils.stringToByteArray(mTag);
+            long cryptoStartTime = System.nanoTime();
+            Object cryptoEvent = JfrEvents.beginCrypto();
+            byte[] plainBytes = mCipher.doFinal(encTag);
+            JfrEvents.commitCrypto(cryptoEvent, JfrEvents.CRYPTO_DECRYPT_FILE, 0L);
+            mMetrics.recordCryptoTime(System.nanoTime() - cryptoStartTime);
+            return plainBytes != null ? plainBytes : EMPTY_BYTES;
+        } catch (BadFileException | IllegalArgumentException | IllegalStateException |
+                CryptoSystemException e) {
+            throw createDecryptionException(e);
+        }
+    }
+
+    private IOException createDecryptionException(Exception e) {
+        String errorText = String.format("Decryption of file '%d' failed! %s", mNodeId,
+                e.getMessage());
+        mLog.d(LOG_TAG, errorText);
+        DracoonCryptoCode errorCode = CryptoErrorParser.parseCause(e);
+        close();
+        return new IOException(errorText, new DracoonCryptoException(errorCode, e));
+    }
+
+}
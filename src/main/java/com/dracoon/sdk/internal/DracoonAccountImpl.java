@@ -23,6 +23,9 @@ public class DracoonAccountImpl extends DracoonRequestHandler implements Dracoon
 
     private static final String LOG_TAG = DracoonAccountImpl.class.getSimpleName();
 
+    private volatile UserKeyPair mUserKeyPair;
+    private volatile String mUserKeyPairCheckedPassword;
+
     DracoonAccountImpl(DracoonClientImpl client) {
         super(client);
     }
@@ -102,20 +105,45 @@ public class DracoonAccountImpl extends DracoonRequestHandler implements Dracoon
             mLog.d(LOG_TAG, errorText);
             throw new DracoonApiException(errorCode);
         }
+
+        invalidateUserKeyPair();
     }
 
     public UserKeyPair getAndCheckUserKeyPair() throws DracoonNetIOException, DracoonApiException,
             DracoonCryptoException {
-        UserKeyPair userKeyPair = getUserKeyPair();
+        UserKeyPair userKeyPair = mUserKeyPair;
+        if (userKeyPair == null) {
+            userKeyPair = getUserKeyPair();
+        }
+
+        String encryptionPassword = mClient.getEncryptionPassword();
+        if (userKeyPair == mUserKeyPair && encryptionPassword != null &&
+                encryptionPassword.equals(mUserKeyPairCheckedPassword)) {
+            return userKeyPair;
+        }
 
         boolean isValid = checkUserKeyPairPassword(userKeyPair);
         if (!isValid) {
             throw new DracoonCryptoException(DracoonCryptoCode.INVALID_PASSWORD_ERROR);
         }
 
+        mUserKeyPair = userKeyPair;
+        mUserKeyPairCheckedPassword = encryptionPassword;
+
         return userKeyPair;
     }
 
+    public boolean isUserKeyPairChecked() {
+        String encryptionPassword = mClient.getEncryptionPassword();
+        return mUserKeyPair != null && encryptionPassword != null &&
+                encryptionPassword.equals(mUserKeyPairCheckedPassword);
+    }
+
+    private void invalidateUserKeyPair() {
+        mUserKeyPair = null;
+        mUserKeyPairCheckedPassword = null;
+    }
+
     private UserKeyPair getUserKeyPair() throws DracoonNetIOException, DracoonApiException {
         assertServerApiVersion();
 
@@ -172,6 +200,8 @@ public class DracoonAccountImpl extends DracoonRequestHandler implements Dracoon
             mLog.d(LOG_TAG, errorText);
             throw new DracoonApiException(errorCode);
         }
+
+        invalidateUserKeyPair();
     }
 
 }
@@ -1,12 +1,21 @@
 package com.dracoon.sdk.internal;
 
+import com.dracoon.sdk.ConcurrencyLimiter;
 import com.dracoon.sdk.DracoonClient;
 import com.dracoon.sdk.DracoonHttpConfig;
 import com.dracoon.sdk.Log;
+import com.dracoon.sdk.Metrics;
+import com.dracoon.sdk.RequestRateLimiter;
+import com.dracoon.sdk.TransferBufferPool;
+import com.dracoon.sdk.TransferStatistics;
 import com.dracoon.sdk.error.DracoonApiException;
 import com.dracoon.sdk.error.DracoonNetIOException;
+import com.dracoon.sdk.internal.crypto.FileCipherFactory;
 import com.dracoon.sdk.internal.oauth.OAuthClient;
 import com.dracoon.sdk.internal.oauth.OAuthTokens;
+import com.dracoon.sdk.model.HashAlgorithm;
+import com.dracoon.sdk.model.RequestTimingsListener;
+import com.dracoon.sdk.model.TransferHashListener;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonDeserializer;
@@ -15,11 +24,53 @@ import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
 import java.net.URL;
+import java.security.Provider;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 public class DracoonClientImpl extends DracoonClient {
 
+    private static final String LOG_TAG = DracoonClientImpl.class.getSimpleName();
+
+    private static final int TASK_THREADS_PER_REQUEST = 4;
+
+    private static class OAuthState {
+
+        private final String mAccessToken;
+        private final String mRefreshToken;
+        private final String mAuthString;
+        private final long mRefreshTime;
+
+        OAuthState(String accessToken, String refreshToken, long refreshTime) {
+            mAccessToken = accessToken;
+            mRefreshToken = refreshToken;
+            mAuthString = DracoonConstants.AUTHORIZATION_TYPE + " " + accessToken;
+            mRefreshTime = refreshToken != null ? refreshTime : Long.MAX_VALUE;
+        }
+
+    }
+
     private Log mLog = new NullLog();
+    private Metrics mMetrics = new NullMetrics();
+    private RequestTimingsListener mRequestTimingsListener;
+    private RequestRateLimiter mRequestRateLimiter;
+    private ConcurrencyLimiter mConcurrencyLimiter;
+    private TransferBufferPool mTransferBufferPool;
+    private TransferStatistics mTransferStatistics;
+    private Executor mCallbackExecutor;
+    private ExecutorService mDefaultCallbackExecutor;
+    private TaskExecutor mTaskExecutor;
+    private Provider mFileCipherProvider;
+    private HashAlgorithm mTransferHashAlgorithm;
+    private TransferHashListener mTransferHashListener;
     private DracoonHttpConfig mHttpConfig;
     private OkHttpClient mHttpClient;
 
@@ -27,6 +78,10 @@ public class DracoonClientImpl extends DracoonClient {
     private DracoonService mDracoonService;
     private DracoonErrorParser mDracoonErrorParser;
     private HttpHelper mHttpHelper;
+    private ServerCapabilities mServerCapabilities;
+    private FileCipherFactory mFileCipherFactory;
+    private TokenBucket mUploadBandwidthLimiter;
+    private TokenBucket mDownloadBandwidthLimiter;
 
     private DracoonServerImpl mServer;
     private DracoonAccountImpl mAccount;
@@ -35,9 +90,10 @@ public class DracoonClientImpl extends DracoonClient {
     private DracoonNodesImpl mNodes;
     private DracoonSharesImpl mShares;
 
-    private String mOAuthAccessToken;
-    private String mOAuthRefreshToken;
-    private long mOAuthLastRefreshTime;
+    private final Object mOAuthLock = new Object();
+    private volatile OAuthState mOAuthState;
+    private ScheduledExecutorService mOAuthRenewalExecutor;
+    private boolean mIsClosed;
 
     public DracoonClientImpl(URL serverUrl) {
         super(serverUrl);
@@ -51,6 +107,80 @@ public class DracoonClientImpl extends DracoonClient {
         mLog = log != null ? log : new NullLog();
     }
 
+    public Metrics getMetrics() {
+        return mMetrics;
+    }
+
+    public void setMetrics(Metrics metrics) {
+        mMetrics = metrics != null ? metrics : new NullMetrics();
+    }
+
+    public void setRequestTimingsListener(RequestTimingsListener listener) {
+        mRequestTimingsListener = listener;
+    }
+
+    public void setRequestRateLimiter(RequestRateLimiter requestRateLimiter) {
+        mRequestRateLimiter = requestRateLimiter;
+    }
+
+    public ConcurrencyLimiter getConcurrencyLimiter() {
+        return mConcurrencyLimiter;
+    }
+
+    public void setConcurrencyLimiter(ConcurrencyLimiter concurrencyLimiter) {
+        mConcurrencyLimiter = concurrencyLimiter;
+    }
+
+    public TransferBufferPool getTransferBufferPool() {
+        return mTransferBufferPool;
+    }
+
+    public void setTransferBufferPool(TransferBufferPool transferBufferPool) {
+        mTransferBufferPool = transferBufferPool;
+    }
+
+    public TransferStatistics getTransferStatistics() {
+        return mTransferStatistics;
+    }
+
+    public void setTransferStatistics(TransferStatistics transferStatistics) {
+        mTransferStatistics = transferStatistics;
+    }
+
+    public Executor getCallbackExecutor() {
+        return mCallbackExecutor;
+    }
+
+    public void setCallbackExecutor(Executor callbackExecutor) {
+        mCallbackExecutor = callbackExecutor;
+    }
+
+    public void setFileCipherProvider(Provider fileCipherProvider) {
+        mFileCipherProvider = fileCipherProvider;
+    }
+
+    public HashAlgorithm getTransferHashAlgorithm() {
+        return mTransferHashAlgorithm;
+    }
+
+    public void setTransferHashAlgorithm(HashAlgorithm transferHashAlgorithm) {
+        mTransferHashAlgorithm = transferHashAlgorithm;
+    }
+
+    public TransferHashListener getTransferHashListener() {
+        return mTransferHashListener;
+    }
+
+    public void setTransferHashListener(TransferHashListener transferHashListener) {
+        mTransferHashListener = transferHashListener;
+    }
+
+    public int getParallelism() {
+        ConcurrencyLimiter concurrencyLimiter = mConcurrencyLimiter;
+        return concurrencyLimiter != null ? concurrencyLimiter.getLimit() :
+                DracoonConstants.DEFAULT_PARALLELISM;
+    }
+
     public void setHttpConfig(DracoonHttpConfig httpConfig) {
         mHttpConfig = httpConfig;
     }
@@ -71,6 +201,26 @@ public class DracoonClientImpl extends DracoonClient {
         return mHttpHelper;
     }
 
+    public ServerCapabilities getServerCapabilities() {
+        return mServerCapabilities;
+    }
+
+    public FileCipherFactory getFileCipherFactory() {
+        return mFileCipherFactory;
+    }
+
+    public TaskExecutor getTaskExecutor() {
+        return mTaskExecutor;
+    }
+
+    public TokenBucket getUploadBandwidthLimiter() {
+        return mUploadBandwidthLimiter;
+    }
+
+    public TokenBucket getDownloadBandwidthLimiter() {
+        return mDownloadBandwidthLimiter;
+    }
+
     // --- Initialization methods ---
 
     public void init() {
@@ -80,18 +230,75 @@ public class DracoonClientImpl extends DracoonClient {
         initDracoonErrorParser();
         initHttpHelper();
 
+        mServerCapabilities = new ServerCapabilities();
+        if (mTransferBufferPool == null) {
+            mTransferBufferPool = new TransferBufferPool();
+        }
+        if (mCallbackExecutor == null) {
+            mDefaultCallbackExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "dracoon-callbacks");
+                thread.setDaemon(true);
+                return thread;
+            });
+            mCallbackExecutor = mDefaultCallbackExecutor;
+        }
+        // Tasks spend only a part of their time with requests (the rest e.g. with crypto and
+        // file IO). Therefore, more task threads than parallel requests are allowed.
+        mTaskExecutor = new TaskExecutor(getParallelism() * TASK_THREADS_PER_REQUEST);
+        mFileCipherFactory = FileCipherFactory.create(mFileCipherProvider);
+        mUploadBandwidthLimiter = new TokenBucket(mHttpConfig.getUploadBandwidthLimit(),
+                TokenBucket.MIN_BANDWIDTH_BUCKET_SIZE);
+        mDownloadBandwidthLimiter = new TokenBucket(mHttpConfig.getDownloadBandwidthLimit(),
+                TokenBucket.MIN_BANDWIDTH_BUCKET_SIZE);
+
         mServer = new DracoonServerImpl(this);
         mAccount = new DracoonAccountImpl(this);
         mNodes = new DracoonNodesImpl(this);
         mShares = new DracoonSharesImpl(this);
     }
 
+    public void warmUp() {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        tasks.add(() -> {
+            mServer.assertServerApiVersion();
+            return null;
+        });
+        tasks.add(() -> {
+            buildAuthString();
+            return null;
+        });
+        if (mEncryptionPassword != null) {
+            tasks.add(() -> {
+                mAccount.getAndCheckUserKeyPair();
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    mLog.w(LOG_TAG, "Warm-up step failed! Step will be repeated at first " +
+                            "request.", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private void initHttpClient() {
         mHttpClient = new OkHttpClient.Builder()
                 .connectTimeout(mHttpConfig.getConnectTimeout(), TimeUnit.SECONDS)
                 .readTimeout(mHttpConfig.getReadTimeout(), TimeUnit.SECONDS)
                 .writeTimeout(mHttpConfig.getWriteTimeout(), TimeUnit.SECONDS)
                 .retryOnConnectionFailure(false)
+                .eventListenerFactory(new RequestTimingsEventListener.Factory(mLog,
+                        mRequestTimingsListener))
                 .build();
     }
 
@@ -115,7 +322,8 @@ public class DracoonClientImpl extends DracoonClient {
                 .addConverterFactory(GsonConverterFactory.create(mGson))
                 .build();
 
-        mDracoonService = mRetrofit.create(DracoonService.class);
+        mDracoonService = EndpointCall.wrapService(DracoonService.class,
+                mRetrofit.create(DracoonService.class));
     }
 
     private void initDracoonErrorParser() {
@@ -126,9 +334,34 @@ public class DracoonClientImpl extends DracoonClient {
     private void initHttpHelper() {
         mHttpHelper = new HttpHelper();
         mHttpHelper.setLog(mLog);
+        mHttpHelper.setMetrics(mMetrics);
+        mHttpHelper.setRequestRateLimiter(mRequestRateLimiter);
+        mHttpHelper.setConcurrencyLimiter(mConcurrencyLimiter);
         mHttpHelper.setRetryEnabled(mHttpConfig.isRetryEnabled());
     }
 
+    // --- Bandwidth limit methods ---
+
+    @Override
+    public long getUploadBandwidthLimit() {
+        return mUploadBandwidthLimiter.getRate();
+    }
+
+    @Override
+    public void setUploadBandwidthLimit(long bandwidthLimit) {
+        mUploadBandwidthLimiter.setRate(bandwidthLimit);
+    }
+
+    @Override
+    public long getDownloadBandwidthLimit() {
+        return mDownloadBandwidthLimiter.getRate();
+    }
+
+    @Override
+    public void setDownloadBandwidthLimit(long bandwidthLimit) {
+        mDownloadBandwidthLimiter.setRate(bandwidthLimit);
+    }
+
     // --- Methods to get public handlers ---
 
     @Override
@@ -182,56 +415,148 @@ public class DracoonClientImpl extends DracoonClient {
     // --- OAuth authorization methods ---
 
     public String buildAuthString() throws DracoonApiException, DracoonNetIOException {
-        if (mOAuthAccessToken == null) {
-            retrieveOAuthTokens();
+        OAuthState state = mOAuthState;
+        if (state != null && System.currentTimeMillis() < state.mRefreshTime) {
+            return state.mAuthString;
         }
-        long nextRefreshTime = mOAuthLastRefreshTime +
-                DracoonConstants.AUTHORIZATION_REFRESH_INTERVAL * 1000;
-        long currentTime = System.currentTimeMillis();
-        if (nextRefreshTime < currentTime) {
-            refreshOAuthTokens();
+
+        synchronized (mOAuthLock) {
+            state = mOAuthState;
+            if (state == null) {
+                state = retrieveOAuthTokens();
+            } else if (System.currentTimeMillis() >= state.mRefreshTime) {
+                state = refreshOAuthTokens(state);
+            }
+            return state.mAuthString;
         }
-        return DracoonConstants.AUTHORIZATION_TYPE + " " + mOAuthAccessToken;
     }
 
-    private void retrieveOAuthTokens() throws DracoonNetIOException, DracoonApiException {
+    private OAuthState retrieveOAuthTokens() throws DracoonNetIOException, DracoonApiException {
+        String accessToken = "";
+        String refreshToken = null;
+        Integer expiresIn = null;
+
         if (mAuth != null) {
             switch (mAuth.getMode()) {
                 case ACCESS_TOKEN:
-                    mOAuthAccessToken = mAuth.getAccessToken();
+                    accessToken = mAuth.getAccessToken();
                     break;
                 case PASSWORD: {
-					OAuthTokens tokens = mOAuthClient.getAccessToken(mAuth.getUsername(), mAuth.getPassword());
-					mOAuthAccessToken = tokens.accessToken;
-					mOAuthRefreshToken = tokens.refreshToken;
-					break;
-				}
+                    OAuthTokens tokens = mOAuthClient.getAccessToken(mAuth.getUsername(),
+                            mAuth.getPassword());
+                    accessToken = tokens.accessToken;
+                    refreshToken = tokens.refreshToken;
+                    expiresIn = tokens.expiresIn;
+                    mMetrics.recordTokenRefresh();
+                    break;
+                }
                 case AUTHORIZATION_CODE: {
-					OAuthTokens tokens = mOAuthClient.getAccessToken(mAuth.getAuthorizationCode());
-					mOAuthAccessToken = tokens.accessToken;
-					mOAuthRefreshToken = tokens.refreshToken;
-					break;
-				}
+                    OAuthTokens tokens = mOAuthClient.getAccessToken(
+                            mAuth.getAuthorizationCode());
+                    accessToken = tokens.accessToken;
+                    refreshToken = tokens.refreshToken;
+                    expiresIn = tokens.expiresIn;
+                    mMetrics.recordTokenRefresh();
+                    break;
+                }
                 case ACCESS_REFRESH_TOKEN:
-                    mOAuthAccessToken = mAuth.getAccessToken();
-                    mOAuthRefreshToken = mAuth.getRefreshToken();
+                    accessToken = mAuth.getAccessToken();
+                    refreshToken = mAuth.getRefreshToken();
                     break;
                 default:
             }
-        } else {
-            mOAuthAccessToken = "";
         }
 
-        mOAuthLastRefreshTime = System.currentTimeMillis();
+        return updateOAuthState(accessToken, refreshToken, expiresIn);
     }
 
-    private void refreshOAuthTokens() throws DracoonNetIOException, DracoonApiException {
-        if (mOAuthRefreshToken != null) {
-            OAuthTokens tokens = mOAuthClient.refreshAccessToken(mOAuthRefreshToken);
-            mOAuthAccessToken = tokens.accessToken;
-            mOAuthRefreshToken = tokens.refreshToken;
+    private OAuthState refreshOAuthTokens(OAuthState state) throws DracoonNetIOException,
+            DracoonApiException {
+        if (state.mRefreshToken == null) {
+            return updateOAuthState(state.mAccessToken, null, null);
+        }
+
+        OAuthTokens tokens = mOAuthClient.refreshAccessToken(state.mRefreshToken);
+        mMetrics.recordTokenRefresh();
+        String refreshToken = tokens.refreshToken != null ? tokens.refreshToken :
+                state.mRefreshToken;
+        return updateOAuthState(tokens.accessToken, refreshToken, tokens.expiresIn);
+    }
+
+    private OAuthState updateOAuthState(String accessToken, String refreshToken,
+            Integer expiresIn) {
+        long currentTime = System.currentTimeMillis();
+        long lifetime = (expiresIn != null && expiresIn > 0 ? expiresIn :
+                DracoonConstants.AUTHORIZATION_REFRESH_INTERVAL) * 1000L;
+        long margin = Math.min(DracoonConstants.AUTHORIZATION_REFRESH_MARGIN * 1000L,
+                lifetime / 2);
+
+        OAuthState state = new OAuthState(accessToken, refreshToken,
+                currentTime + lifetime - margin);
+        mOAuthState = state;
+
+        if (refreshToken != null) {
+            scheduleOAuthRenewal(state, currentTime + lifetime / 2);
+        }
+
+        return state;
+    }
+
+    private void scheduleOAuthRenewal(OAuthState state, long renewalTime) {
+        if (mIsClosed) {
+            return;
+        }
+
+        if (mOAuthRenewalExecutor == null) {
+            mOAuthRenewalExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "dracoon-oauth-renewal");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        long delay = Math.max(0L, renewalTime - System.currentTimeMillis());
+        mOAuthRenewalExecutor.schedule(() -> renewOAuthTokens(state), delay,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void renewOAuthTokens(OAuthState state) {
+        synchronized (mOAuthLock) {
+            // Skip renewal if tokens were already refreshed in the meantime
+            if (mOAuthState != state) {
+                return;
+            }
+
+            try {
+                refreshOAuthTokens(state);
+                mLog.d(LOG_TAG, "OAuth tokens were renewed.");
+            } catch (DracoonNetIOException | DracoonApiException e) {
+                mLog.w(LOG_TAG, "Renewal of OAuth tokens failed! Tokens will be refreshed at " +
+                        "next request.", e);
+            }
+        }
+    }
+
+    // --- Close methods ---
+
+    @Override
+    public void close() {
+        synchronized (mOAuthLock) {
+            mIsClosed = true;
+            if (mOAuthRenewalExecutor != null) {
+                mOAuthRenewalExecutor.shutdownNow();
+                mOAuthRenewalExecutor = null;
+            }
+        }
+
+        // Only the default executor is shut down. (Pending callbacks are still delivered. Later
+        // callbacks are called on the transfer threads.)
+        if (mDefaultCallbackExecutor != null) {
+            mDefaultCallbackExecutor.shutdown();
+        }
+        if (mTaskExecutor != null) {
+            mTaskExecutor.shutdown();
         }
-        mOAuthLastRefreshTime = System.currentTimeMillis();
     }
 
     // --- Helper methods ---
@@ -8,5 +8,13 @@ public interface DracoonConstants {
     String AUTHORIZATION_HEADER = "Authorization";
     String AUTHORIZATION_TYPE = "Bearer";
     int AUTHORIZATION_REFRESH_INTERVAL = 60 * 60;
+    int AUTHORIZATION_REFRESH_MARGIN = 60;
+
+    int DEFAULT_PARALLELISM = 4;
+
+    int DEFAULT_CHANNEL_BLOCK_SIZE = 256 * 1024;
+    int DEFAULT_CHANNEL_CACHE_SIZE = 64;
+
+    long DEFAULT_FILE_SYSTEM_CACHE_TTL = 30 * 1000L;
 
 }
@@ -2,12 +2,15 @@ package com.dracoon.sdk.internal;
 
 import com.dracoon.sdk.Log;
 import com.dracoon.sdk.error.DracoonApiCode;
+import com.dracoon.sdk.internal.model.ApiConflictNode;
 import com.dracoon.sdk.internal.model.ApiErrorResponse;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import retrofit2.Response;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 
 public class DracoonErrorParser {
 
@@ -286,11 +289,18 @@ public class DracoonErrorParser {
     }
 
     public DracoonApiCode parseNodesCopyError(Response response) {
+        return parseNodesCopyError(response, null);
+    }
+
+    public DracoonApiCode parseNodesCopyError(Response response,
+            List<ApiConflictNode> conflictNodes) {
         ApiErrorResponse errorResponse = getErrorResponse(response);
         if (errorResponse == null) {
             return DracoonApiCode.SERVER_UNKNOWN_ERROR;
         }
 
+        addConflictNodes(errorResponse, conflictNodes);
+
         int statusCode = response.code();
         int errorCode = (errorResponse.errorCode != null) ? errorResponse.errorCode : 0;
 
@@ -338,11 +348,18 @@ public class DracoonErrorParser {
     }
 
     public DracoonApiCode parseNodesMoveError(Response response) {
+        return parseNodesMoveError(response, null);
+    }
+
+    public DracoonApiCode parseNodesMoveError(Response response,
+            List<ApiConflictNode> conflictNodes) {
         ApiErrorResponse errorResponse = getErrorResponse(response);
         if (errorResponse == null) {
             return DracoonApiCode.SERVER_UNKNOWN_ERROR;
         }
 
+        addConflictNodes(errorResponse, conflictNodes);
+
         int statusCode = response.code();
         int errorCode = (errorResponse.errorCode != null) ? errorResponse.errorCode : 0;
 
@@ -715,6 +732,15 @@ public class DracoonErrorParser {
             return DracoonApiCode.VALIDATION_UNKNOWN_ERROR;
     }
 
+    private static void addConflictNodes(ApiErrorResponse errorResponse,
+            List<ApiConflictNode> conflictNodes) {
+        if (conflictNodes == null || errorResponse.errorInfos == null ||
+                errorResponse.errorInfos.conflictNodes == null) {
+            return;
+        }
+        conflictNodes.addAll(Arrays.asList(errorResponse.errorInfos.conflictNodes));
+    }
+
     private ApiErrorResponse getErrorResponse(Response response) {
         if (response.errorBody() == null) {
             return null;
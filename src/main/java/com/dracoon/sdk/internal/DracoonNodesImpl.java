@@ -16,15 +16,20 @@ import com.dracoon.sdk.error.DracoonException;
 import com.dracoon.sdk.error.DracoonFileIOException;
 import com.dracoon.sdk.error.DracoonFileNotFoundException;
 import com.dracoon.sdk.error.DracoonNetIOException;
+import com.dracoon.sdk.error.DracoonNetIOInterruptedException;
+import com.dracoon.sdk.internal.crypto.FileDecryptor;
+import com.dracoon.sdk.internal.jfr.JfrEvents;
 import com.dracoon.sdk.internal.mapper.FileMapper;
 import com.dracoon.sdk.internal.mapper.FolderMapper;
 import com.dracoon.sdk.internal.mapper.NodeMapper;
 import com.dracoon.sdk.internal.mapper.RoomMapper;
 import com.dracoon.sdk.internal.mapper.UserMapper;
+import com.dracoon.sdk.internal.model.ApiConflictNode;
 import com.dracoon.sdk.internal.model.ApiCopyNodesRequest;
 import com.dracoon.sdk.internal.model.ApiCreateFolderRequest;
 import com.dracoon.sdk.internal.model.ApiCreateRoomRequest;
 import com.dracoon.sdk.internal.model.ApiDeleteNodesRequest;
+import com.dracoon.sdk.internal.model.ApiDownloadToken;
 import com.dracoon.sdk.internal.model.ApiFileIdFileKey;
 import com.dracoon.sdk.internal.model.ApiFileKey;
 import com.dracoon.sdk.internal.model.ApiMissingFileKeys;
@@ -38,44 +43,58 @@ import com.dracoon.sdk.internal.model.ApiUpdateRoomRequest;
 import com.dracoon.sdk.internal.model.ApiUserIdFileId;
 import com.dracoon.sdk.internal.model.ApiUserIdFileIdFileKey;
 import com.dracoon.sdk.internal.model.ApiUserIdUserPublicKey;
+import com.dracoon.sdk.internal.util.ByteBufferInputStream;
 import com.dracoon.sdk.internal.validator.FileValidator;
 import com.dracoon.sdk.internal.validator.FolderValidator;
 import com.dracoon.sdk.internal.validator.NodeValidator;
 import com.dracoon.sdk.internal.validator.RoomValidator;
+import com.dracoon.sdk.model.BatchUploadResult;
+import com.dracoon.sdk.model.BulkOperationResult;
 import com.dracoon.sdk.model.CopyNodesRequest;
 import com.dracoon.sdk.model.CreateFolderRequest;
 import com.dracoon.sdk.model.CreateRoomRequest;
 import com.dracoon.sdk.model.DeleteNodesRequest;
+import com.dracoon.sdk.model.DirectoryDownloadResult;
+import com.dracoon.sdk.model.DirectoryUploadResult;
 import com.dracoon.sdk.model.FileDownloadCallback;
 import com.dracoon.sdk.model.FileUploadCallback;
 import com.dracoon.sdk.model.FileUploadRequest;
 import com.dracoon.sdk.model.MoveNodesRequest;
 import com.dracoon.sdk.model.Node;
 import com.dracoon.sdk.model.NodeList;
+import com.dracoon.sdk.model.NodeType;
+import com.dracoon.sdk.model.ResolutionStrategy;
 import com.dracoon.sdk.model.UpdateFileRequest;
 import com.dracoon.sdk.model.UpdateFolderRequest;
 import com.dracoon.sdk.model.UpdateRoomRequest;
 import retrofit2.Call;
 import retrofit2.Response;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 class DracoonNodesImpl extends DracoonRequestHandler implements DracoonClient.Nodes {
 
     private static final String LOG_TAG = DracoonNodesImpl.class.getSimpleName();
 
-    private Map<String, FileUpload> mUploads = new HashMap<>();
-    private Map<String, FileDownload> mDownloads = new HashMap<>();
+    private static final long NODE_LIST_PAGE_SIZE = 500L;
+    private static final String STREAM_ID_PREFIX = "stream-";
+
+    private Map<String, FileUpload> mUploads = new ConcurrentHashMap<>();
+    private Map<String, FileDownload> mDownloads = new ConcurrentHashMap<>();
 
     DracoonNodesImpl(DracoonClientImpl client) {
         super(client);
@@ -119,6 +138,52 @@ class DracoonNodesImpl extends DracoonRequestHandler implements DracoonClient.No
         return NodeMapper.fromApiNodeList(data);
     }
 
+    interface NodeHandler<E extends Exception> {
+        void handle(ApiNode apiNode) throws E;
+    }
+
+    List<ApiNode> getAllNodesInternally(long parentNodeId, int depthLevel, String filter)
+            throws DracoonNetIOException, DracoonApiException {
+        List<ApiNode> nodes = new ArrayList<>();
+        forEachNodeInternally(parentNodeId, depthLevel, filter, nodes::add);
+        return nodes;
+    }
+
+    // Nodes are passed to the handler page by page. So, the processing of a large tree can start
+    // before it has been listed completely.
+    <E extends Exception> void forEachNodeInternally(long parentNodeId, int depthLevel,
+            String filter, NodeHandler<E> handler) throws DracoonNetIOException,
+            DracoonApiException, E {
+        long offset = 0L;
+        long total;
+        do {
+            String auth = mClient.buildAuthString();
+            Call<ApiNodeList> call = mService.getNodes(auth, parentNodeId, depthLevel, filter,
+                    null, offset, NODE_LIST_PAGE_SIZE);
+            Response<ApiNodeList> response = mHttpHelper.executeRequest(call);
+
+            if (!response.isSuccessful()) {
+                DracoonApiCode errorCode = mErrorParser.parseNodesQueryError(response);
+                String errorText = String.format("Query of node tree of node '%d' failed with " +
+                        "'%s'!", parentNodeId, errorCode.name());
+                mLog.d(LOG_TAG, errorText);
+                throw new DracoonApiException(errorCode);
+            }
+
+            ApiNodeList data = response.body();
+            if (data.items == null || data.items.length == 0) {
+                break;
+            }
+
+            for (ApiNode apiNode : data.items) {
+                handler.handle(apiNode);
+            }
+
+            offset = offset + data.items.length;
+            total = data.range != null && data.range.total != null ? data.range.total : 0L;
+        } while (offset < total);
+    }
+
     @Override
     public Node getNode(long nodeId) throws DracoonNetIOException, DracoonApiException {
         assertServerApiVersion();
@@ -254,6 +319,22 @@ class DracoonNodesImpl extends DracoonRequestHandler implements DracoonClient.No
 
         FolderValidator.validateCreateRequest(request);
 
+        return createFolderInternally(request);
+    }
+
+    @Override
+    public Map<String, Node> createFolders(long parentNodeId, List<String> paths)
+            throws DracoonNetIOException, DracoonApiException {
+        assertServerApiVersion();
+
+        FolderValidator.validateCreateFoldersRequest(parentNodeId, paths);
+
+        FolderTreeCreator creator = new FolderTreeCreator(mClient);
+        return creator.createFolders(parentNodeId, paths);
+    }
+
+    Node createFolderInternally(CreateFolderRequest request) throws DracoonNetIOException,
+            DracoonApiException {
         String auth = mClient.buildAuthString();
         ApiCreateFolderRequest apiRequest = FolderMapper.toApiCreateFolderRequest(request);
         Call<ApiNode> call = mService.createFolder(auth, apiRequest);
@@ -357,14 +438,16 @@ class DracoonNodesImpl extends DracoonRequestHandler implements DracoonClient.No
         String auth = mClient.buildAuthString();
         ApiCopyNodesRequest apiRequest = NodeMapper.toApiCopyNodesRequest(request);
         Call<ApiNode> call = mService.copyNodes(auth, request.getTargetNodeId(), apiRequest);
-        Response<ApiNode> response = mHttpHelper.executeRequest(call);
+        Response<ApiNode> response = mHttpHelper.executeNonIdempotentRequest(call);
 
         if (!response.isSuccessful()) {
-            DracoonApiCode errorCode = mErrorParser.parseNodesCopyError(response);
-            String errorText = String.format("Copy to node '%d' failed with '%s'!",
-                    request.getTargetNodeId(), errorCode.name());
+            List<ApiConflictNode> conflictNodes = new ArrayList<>();
+            DracoonApiCode errorCode = mErrorParser.parseNodesCopyError(response,
+                    conflictNodes);
+            String errorText = String.format("Copy to node '%d' failed with '%s'!%s",
+                    request.getTargetNodeId(), errorCode.name(),
+                    buildConflictNodesText(conflictNodes));
             mLog.d(LOG_TAG, errorText);
-            // TODO: Add conflict nodes to exception
             throw new DracoonApiException(errorCode);
         }
 
@@ -383,14 +466,16 @@ class DracoonNodesImpl extends DracoonRequestHandler implements DracoonClient.No
         String auth = mClient.buildAuthString();
         ApiMoveNodesRequest apiRequest = NodeMapper.toApiMoveNodesRequest(request);
         Call<ApiNode> call = mService.moveNodes(auth, request.getTargetNodeId(), apiRequest);
-        Response<ApiNode> response = mHttpHelper.executeRequest(call);
+        Response<ApiNode> response = mHttpHelper.executeNonIdempotentRequest(call);
 
         if (!response.isSuccessful()) {
-            DracoonApiCode errorCode = mErrorParser.parseNodesMoveError(response);
-            String errorText = String.format("Move to node '%d' failed with '%s'!",
-                    request.getTargetNodeId(), errorCode.name());
+            List<ApiConflictNode> conflictNodes = new ArrayList<>();
+            DracoonApiCode errorCode = mErrorParser.parseNodesMoveError(response,
+                    conflictNodes);
+            String errorText = String.format("Move to node '%d' failed with '%s'!%s",
+                    request.getTargetNodeId(), errorCode.name(),
+                    buildConflictNodesText(conflictNodes));
             mLog.d(LOG_TAG, errorText);
-            // TODO: Add conflict nodes to exception
             throw new DracoonApiException(errorCode);
         }
 
@@ -399,6 +484,141 @@ class DracoonNodesImpl extends DracoonRequestHandler implements DracoonClient.No
         return NodeMapper.fromApiNode(data);
     }
 
+    private static String buildConflictNodesText(List<ApiConflictNode> conflictNodes) {
+        if (conflictNodes.isEmpty()) {
+            return "";
+        }
+        List<Long> nodeIds = new ArrayList<>();
+        for (ApiConflictNode conflictNode : conflictNodes) {
+            nodeIds.add(conflictNode.nodeId);
+        }
+        return String.format(" Conflicting nodes: %s", nodeIds);
+    }
+
+    // --- Bulk node methods ---
+
+    @Override
+    public BulkOperationResult bulkDeleteNodes(DeleteNodesRequest request)
+            throws DracoonNetIOException, DracoonApiException {
+        assertServerApiVersion();
+
+        NodeValidator.validateDeleteRequest(request);
+
+        BulkNodesExecutor executor = new BulkNodesExecutor(mClient);
+        return executor.executePartitioned(request.getIds(), (nodeIds, conflictNodes) ->
+                deleteNodesPartition(nodeIds));
+    }
+
+    @Override
+    public BulkOperationResult bulkCopyNodes(CopyNodesRequest request)
+            throws DracoonNetIOException, DracoonApiException {
+        assertServerApiVersion();
+
+        NodeValidator.validateCopyRequest(request);
+
+        BulkNodesExecutor executor = new BulkNodesExecutor(mClient);
+        return executor.executePartitioned(request.getSourceNodeIds(), (nodeIds, conflictNodes) ->
+                copyNodesPartition(request, nodeIds, conflictNodes));
+    }
+
+    @Override
+    public BulkOperationResult bulkMoveNodes(MoveNodesRequest request)
+            throws DracoonNetIOException, DracoonApiException {
+        assertServerApiVersion();
+
+        NodeValidator.validateMoveRequest(request);
+
+        BulkNodesExecutor executor = new BulkNodesExecutor(mClient);
+        return executor.executePartitioned(request.getSourceNodeIds(), (nodeIds, conflictNodes) ->
+                moveNodesPartition(request, nodeIds, conflictNodes));
+    }
+
+    @Override
+    public BulkOperationResult bulkUpdateFolders(List<UpdateFolderRequest> requests)
+            throws DracoonNetIOException, DracoonApiException {
+        assertServerApiVersion();
+
+        FolderValidator.validateUpdateRequests(requests);
+
+        BulkNodesExecutor executor = new BulkNodesExecutor(mClient);
+        return executor.executeEach(requests, UpdateFolderRequest::getId, this::updateFolder);
+    }
+
+    @Override
+    public BulkOperationResult bulkUpdateFiles(List<UpdateFileRequest> requests)
+            throws DracoonNetIOException, DracoonApiException {
+        assertServerApiVersion();
+
+        FileValidator.validateUpdateRequests(requests);
+
+        BulkNodesExecutor executor = new BulkNodesExecutor(mClient);
+        return executor.executeEach(requests, UpdateFileRequest::getId, this::updateFile);
+    }
+
+    private void deleteNodesPartition(List<Long> nodeIds) throws DracoonNetIOException,
+            DracoonApiException {
+        DeleteNodesRequest request = new DeleteNodesRequest.Builder(nodeIds).build();
+
+        String auth = mClient.buildAuthString();
+        ApiDeleteNodesRequest apiRequest = NodeMapper.toApiDeleteNodesRequest(request);
+        Call<Void> call = mService.deleteNodes(auth, apiRequest);
+        Response<Void> response = mHttpHelper.executeRequest(call);
+
+        if (!response.isSuccessful()) {
+            DracoonApiCode errorCode = mErrorParser.parseNodesDeleteError(response);
+            String errorText = String.format("Deletion of %d nodes failed with '%s'!",
+                    nodeIds.size(), errorCode.name());
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonApiException(errorCode);
+        }
+    }
+
+    private void copyNodesPartition(CopyNodesRequest request, List<Long> nodeIds,
+            List<ApiConflictNode> conflictNodes) throws DracoonNetIOException,
+            DracoonApiException {
+        CopyNodesRequest.Builder builder = new CopyNodesRequest.Builder(
+                request.getTargetNodeId());
+        nodeIds.forEach(builder::addSourceNodeId);
+        builder.resolutionStrategy(request.getResolutionStrategy());
+
+        String auth = mClient.buildAuthString();
+        ApiCopyNodesRequest apiRequest = NodeMapper.toApiCopyNodesRequest(builder.build());
+        Call<ApiNode> call = mService.copyNodes(auth, request.getTargetNodeId(), apiRequest);
+        Response<ApiNode> response = mHttpHelper.executeNonIdempotentRequest(call);
+
+        if (!response.isSuccessful()) {
+            DracoonApiCode errorCode = mErrorParser.parseNodesCopyError(response,
+                    conflictNodes);
+            String errorText = String.format("Copy of %d nodes to node '%d' failed with '%s'!",
+                    nodeIds.size(), request.getTargetNodeId(), errorCode.name());
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonApiException(errorCode);
+        }
+    }
+
+    private void moveNodesPartition(MoveNodesRequest request, List<Long> nodeIds,
+            List<ApiConflictNode> conflictNodes) throws DracoonNetIOException,
+            DracoonApiException {
+        MoveNodesRequest.Builder builder = new MoveNodesRequest.Builder(
+                request.getTargetNodeId());
+        nodeIds.forEach(builder::addSourceNodeId);
+        builder.resolutionStrategy(request.getResolutionStrategy());
+
+        String auth = mClient.buildAuthString();
+        ApiMoveNodesRequest apiRequest = NodeMapper.toApiMoveNodesRequest(builder.build());
+        Call<ApiNode> call = mService.moveNodes(auth, request.getTargetNodeId(), apiRequest);
+        Response<ApiNode> response = mHttpHelper.executeNonIdempotentRequest(call);
+
+        if (!response.isSuccessful()) {
+            DracoonApiCode errorCode = mErrorParser.parseNodesMoveError(response,
+                    conflictNodes);
+            String errorText = String.format("Move of %d nodes to node '%d' failed with '%s'!",
+                    nodeIds.size(), request.getTargetNodeId(), errorCode.name());
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonApiException(errorCode);
+        }
+    }
+
     // --- File upload methods ---
 
     @Override
@@ -412,19 +632,50 @@ class DracoonNodesImpl extends DracoonRequestHandler implements DracoonClient.No
         InputStream is = getFileInputStream(file);
         long length = file.length();
 
-        boolean isEncryptedUpload = isNodeEncrypted(request.getParentId());
-        UserPublicKey userPublicKey = null;
-        if (isEncryptedUpload) {
-            UserKeyPair userKeyPair = mClient.getAccountImpl().getAndCheckUserKeyPair();
-            userPublicKey = userKeyPair.getUserPublicKey();
-        }
+        return uploadStream(id, request, is, length, callback);
+    }
 
-        FileUpload upload;
-        if (isEncryptedUpload) {
-            upload = new EncFileUpload(mClient, id, request, is, length, userPublicKey);
-        } else {
-            upload = new FileUpload(mClient, id, request, is, length);
-        }
+    @Override
+    public Node uploadFile(String id, FileUploadRequest request, InputStream is, long length,
+            FileUploadCallback callback) throws DracoonFileIOException, DracoonCryptoException,
+            DracoonNetIOException, DracoonApiException {
+        assertServerApiVersion();
+
+        FileValidator.validateUploadRequest(id, request, is, length);
+
+        return uploadStream(id, request, is, length, callback);
+    }
+
+    @Override
+    public Node uploadFile(String id, FileUploadRequest request, byte[] data,
+            FileUploadCallback callback) throws DracoonFileIOException, DracoonCryptoException,
+            DracoonNetIOException, DracoonApiException {
+        assertServerApiVersion();
+
+        FileValidator.validateUploadRequest(id, request, data);
+
+        InputStream is = new ByteArrayInputStream(data);
+
+        return uploadStream(id, request, is, data.length, callback);
+    }
+
+    @Override
+    public Node uploadFile(String id, FileUploadRequest request, ByteBuffer buffer,
+            FileUploadCallback callback) throws DracoonFileIOException, DracoonCryptoException,
+            DracoonNetIOException, DracoonApiException {
+        assertServerApiVersion();
+
+        FileValidator.validateUploadRequest(id, request, buffer);
+
+        InputStream is = new ByteBufferInputStream(buffer);
+
+        return uploadStream(id, request, is, buffer.remaining(), callback);
+    }
+
+    private Node uploadStream(String id, FileUploadRequest request, InputStream is, long length,
+            FileUploadCallback callback) throws DracoonFileIOException, DracoonCryptoException,
+            DracoonNetIOException, DracoonApiException {
+        FileUpload upload = createUpload(id, request, is, length);
 
         upload.addCallback(callback);
 
@@ -442,13 +693,49 @@ class DracoonNodesImpl extends DracoonRequestHandler implements DracoonClient.No
         InputStream is = getFileInputStream(file);
         long length = file.length();
 
-        boolean isEncryptedUpload = isNodeEncrypted(request.getParentId());
-        UserPublicKey userPublicKey = null;
-        if (isEncryptedUpload) {
-            UserKeyPair userKeyPair = mClient.getAccountImpl().getAndCheckUserKeyPair();
-            userPublicKey = userKeyPair.getUserPublicKey();
-        }
+        startUploadStreamAsync(id, request, is, length, callback);
+    }
 
+    @Override
+    public void startUploadFileAsync(String id, FileUploadRequest request, InputStream is,
+            long length, FileUploadCallback callback) throws DracoonFileIOException,
+            DracoonCryptoException, DracoonNetIOException, DracoonApiException {
+        assertServerApiVersion();
+
+        FileValidator.validateUploadRequest(id, request, is, length);
+
+        startUploadStreamAsync(id, request, is, length, callback);
+    }
+
+    @Override
+    public void startUploadFileAsync(String id, FileUploadRequest request, byte[] data,
+            FileUploadCallback callback) throws DracoonFileIOException, DracoonCryptoException,
+            DracoonNetIOException, DracoonApiException {
+        assertServerApiVersion();
+
+        FileValidator.validateUploadRequest(id, request, data);
+
+        InputStream is = new ByteArrayInputStream(data);
+
+        startUploadStreamAsync(id, request, is, data.length, callback);
+    }
+
+    @Override
+    public void startUploadFileAsync(String id, FileUploadRequest request, ByteBuffer buffer,
+            FileUploadCallback callback) throws DracoonFileIOException, DracoonCryptoException,
+            DracoonNetIOException, DracoonApiException {
+        assertServerApiVersion();
+
+        FileValidator.validateUploadRequest(id, request, buffer);
+
+        InputStream is = new ByteBufferInputStream(buffer);
+
+        startUploadStreamAsync(id, request, is, buffer.remaining(), callback);
+    }
+
+    private void startUploadStreamAsync(String id, FileUploadRequest request, InputStream is,
+            long length, FileUploadCallback callback) throws DracoonFileIOException,
+            DracoonCryptoException, DracoonNetIOException, DracoonApiException {
         FileUploadCallback internalCallback = new FileUploadCallback() {
             @Override
             public void onStarted(String id) {
@@ -476,12 +763,7 @@ class DracoonNodesImpl extends DracoonRequestHandler implements DracoonClient.No
             }
         };
 
-        FileUpload upload;
-        if (isEncryptedUpload) {
-            upload = new EncFileUpload(mClient, id, request, is, length, userPublicKey);
-        } else {
-            upload = new FileUpload(mClient, id, request, is, length);
-        }
+        FileUpload upload = createUpload(id, request, is, length);
 
         upload.addCallback(callback);
         upload.addCallback(internalCallback);
@@ -491,6 +773,82 @@ class DracoonNodesImpl extends DracoonRequestHandler implements DracoonClient.No
         upload.start();
     }
 
+    private FileUpload createUpload(String id, FileUploadRequest request, InputStream is,
+            long length) throws DracoonFileIOException, DracoonCryptoException,
+            DracoonNetIOException, DracoonApiException {
+        // If the user key pair has not been fetched and checked yet, this is done while the
+        // encryption of the parent node is checked. (The key pair is only fetched speculatively
+        // if an encryption password is set. Without it, an encrypted upload is not possible.)
+        DracoonAccountImpl account = mClient.getAccountImpl();
+        ConcurrentTask<UserKeyPair> keyPairTask = null;
+        if (mClient.getEncryptionPassword() != null && !account.isUserKeyPairChecked()) {
+            keyPairTask = ConcurrentTask.start(mClient.getTaskExecutor(), "upload-" + id +
+                    "-keypair", account::getAndCheckUserKeyPair);
+        }
+
+        boolean isEncryptedUpload;
+        try {
+            isEncryptedUpload = isNodeEncrypted(request.getParentId());
+        } catch (DracoonNetIOException | DracoonApiException | RuntimeException e) {
+            ConcurrentTask.cancel(keyPairTask);
+            throw e;
+        }
+
+        // (If the upload is not encrypted, a running key pair fetch is not canceled. Its result
+        // is cached for later encrypted transfers.)
+        UserPublicKey userPublicKey = null;
+        if (isEncryptedUpload) {
+            UserKeyPair userKeyPair = keyPairTask != null ? awaitUserKeyPair(id, keyPairTask) :
+                    account.getAndCheckUserKeyPair();
+            userPublicKey = userKeyPair.getUserPublicKey();
+        }
+
+        if (isEncryptedUpload) {
+            return new EncFileUpload(mClient, id, request, is, length, userPublicKey);
+        } else {
+            return new FileUpload(mClient, id, request, is, length);
+        }
+    }
+
+    private UserKeyPair awaitUserKeyPair(String id, ConcurrentTask<UserKeyPair> keyPairTask)
+            throws DracoonFileIOException, DracoonCryptoException, DracoonNetIOException,
+            DracoonApiException {
+        try {
+            return keyPairTask.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            String errorText = String.format("Upload '%s' interrupted.", id);
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonNetIOInterruptedException(errorText, e);
+        }
+    }
+
+    @Override
+    public DirectoryUploadResult uploadDirectory(String id, long parentNodeId, File directory,
+            ResolutionStrategy resolutionStrategy, FileUploadCallback callback)
+            throws DracoonFileIOException, DracoonCryptoException, DracoonNetIOException,
+            DracoonApiException {
+        assertServerApiVersion();
+
+        FileValidator.validateDirectoryUploadRequest(id, parentNodeId, directory,
+                resolutionStrategy);
+
+        DirectoryUploader uploader = new DirectoryUploader(mClient, id, parentNodeId, directory,
+                resolutionStrategy, callback);
+        return uploader.upload();
+    }
+
+    @Override
+    public BatchUploadResult uploadFiles(String id, Map<File, FileUploadRequest> files,
+            FileUploadCallback callback) throws DracoonNetIOException, DracoonApiException {
+        assertServerApiVersion();
+
+        FileValidator.validateBatchUploadRequest(id, files);
+
+        BatchFileUploader uploader = new BatchFileUploader(mClient, id, files, callback);
+        return uploader.upload();
+    }
+
     @Override
     public void cancelUploadFileAsync(String id) {
         FileUpload upload = mUploads.get(id);
@@ -512,42 +870,71 @@ class DracoonNodesImpl extends DracoonRequestHandler implements DracoonClient.No
             DracoonFileIOException {
         assertServerApiVersion();
 
-        boolean isEncryptedDownload = isNodeEncrypted(nodeId);
-        UserPrivateKey userPrivateKey = null;
-        if (isEncryptedDownload) {
-            UserKeyPair userKeyPair = mClient.getAccountImpl().getAndCheckUserKeyPair();
-            userPrivateKey = userKeyPair.getUserPrivateKey();
-        }
+        // The node provides the encryption state and the size/hash for the download
+        Node node = getNode(nodeId);
 
-        OutputStream os = getFileOutputStream(file);
+        downloadFileInternally(id, node, file, callback);
+    }
 
-        FileDownload download;
-        if (isEncryptedDownload) {
-            download = new EncFileDownload(mClient, id, nodeId, os, userPrivateKey);
-        } else {
-            download = new FileDownload(mClient, id, nodeId, os);
-        }
+    @Override
+    public void downloadFile(String id, Node node, File file, FileDownloadCallback callback)
+            throws DracoonNetIOException, DracoonApiException, DracoonCryptoException,
+            DracoonFileIOException {
+        assertServerApiVersion();
+
+        FileValidator.validateDownloadRequest(id, node, file);
+
+        downloadFileInternally(id, node, file, callback);
+    }
+
+    private void downloadFileInternally(String id, Node node, File file,
+            FileDownloadCallback callback) throws DracoonNetIOException, DracoonApiException,
+            DracoonCryptoException, DracoonFileIOException {
+        FileDownload download = createDownload(id, node, file);
 
         download.addCallback(callback);
 
         download.runSync();
     }
 
+    @Override
+    public DirectoryDownloadResult downloadDirectory(String id, long nodeId, File directory,
+            FileDownloadCallback callback) throws DracoonNetIOException, DracoonApiException,
+            DracoonCryptoException, DracoonFileIOException {
+        assertServerApiVersion();
+
+        FileValidator.validateDirectoryDownloadRequest(id, nodeId, directory);
+
+        DirectoryDownloader downloader = new DirectoryDownloader(mClient, id, nodeId, directory,
+                callback);
+        return downloader.download();
+    }
+
     @Override
     public void startDownloadFileAsync(String id, long nodeId, File file,
             FileDownloadCallback callback) throws DracoonNetIOException, DracoonApiException,
             DracoonFileIOException, DracoonCryptoException {
         assertServerApiVersion();
 
-        boolean isEncryptedDownload = isNodeEncrypted(nodeId);
-        UserPrivateKey userPrivateKey = null;
-        if (isEncryptedDownload) {
-            UserKeyPair userKeyPair = mClient.getAccountImpl().getAndCheckUserKeyPair();
-            userPrivateKey = userKeyPair.getUserPrivateKey();
-        }
+        Node node = getNode(nodeId);
 
-        OutputStream os = getFileOutputStream(file);
+        startDownloadFileAsyncInternally(id, node, file, callback);
+    }
 
+    @Override
+    public void startDownloadFileAsync(String id, Node node, File file,
+            FileDownloadCallback callback) throws DracoonNetIOException, DracoonApiException,
+            DracoonFileIOException, DracoonCryptoException {
+        assertServerApiVersion();
+
+        FileValidator.validateDownloadRequest(id, node, file);
+
+        startDownloadFileAsyncInternally(id, node, file, callback);
+    }
+
+    private void startDownloadFileAsyncInternally(String id, Node node, File file,
+            FileDownloadCallback callback) throws DracoonNetIOException, DracoonApiException,
+            DracoonFileIOException, DracoonCryptoException {
         FileDownloadCallback stoppedCallback = new FileDownloadCallback() {
             @Override
             public void onStarted(String id) {
@@ -575,12 +962,7 @@ class DracoonNodesImpl extends DracoonRequestHandler implements DracoonClient.No
             }
         };
 
-        FileDownload download;
-        if (isEncryptedDownload) {
-            download = new EncFileDownload(mClient, id, nodeId, os, userPrivateKey);
-        } else {
-            download = new FileDownload(mClient, id, nodeId, os);
-        }
+        FileDownload download = createDownload(id, node, file);
 
         download.addCallback(callback);
         download.addCallback(stoppedCallback);
@@ -590,6 +972,31 @@ class DracoonNodesImpl extends DracoonRequestHandler implements DracoonClient.No
         download.start();
     }
 
+    private FileDownload createDownload(String id, Node node, File file)
+            throws DracoonNetIOException, DracoonApiException, DracoonCryptoException,
+            DracoonFileIOException {
+        boolean isEncryptedDownload = Boolean.TRUE.equals(node.isEncrypted());
+        UserPrivateKey userPrivateKey = null;
+        if (isEncryptedDownload) {
+            UserKeyPair userKeyPair = mClient.getAccountImpl().getAndCheckUserKeyPair();
+            userPrivateKey = userKeyPair.getUserPrivateKey();
+        }
+
+        OutputStream os = getFileOutputStream(file);
+
+        FileDownload download;
+        if (isEncryptedDownload) {
+            download = new EncFileDownload(mClient, id, node.getId(), os, userPrivateKey);
+        } else {
+            download = new FileDownload(mClient, id, node.getId(), os);
+        }
+
+        // Size and hash are known, so they don't have to be fetched again
+        download.setFileInfo(node.getSize(), node.getHash());
+
+        return download;
+    }
+
     @Override
     public void cancelDownloadFileAsync(String id) {
         FileDownload download = mDownloads.get(id);
@@ -603,6 +1010,129 @@ class DracoonNodesImpl extends DracoonRequestHandler implements DracoonClient.No
         mDownloads.remove(id);
     }
 
+    // --- File stream methods ---
+
+    @Override
+    public InputStream openInputStream(long nodeId) throws DracoonNetIOException,
+            DracoonApiException, DracoonCryptoException {
+        assertServerApiVersion();
+
+        Node node = getNode(nodeId);
+        if (node.getType() != NodeType.FILE) {
+            String errorText = String.format("Opening of stream for node '%d' failed! Node is " +
+                    "not a file.", nodeId);
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonApiException(DracoonApiCode.SERVER_FILE_NOT_FOUND);
+        }
+
+        FileDecryptor cipher = null;
+        String tag = null;
+        if (Boolean.TRUE.equals(node.isEncrypted())) {
+            UserKeyPair userKeyPair = mClient.getAccountImpl().getAndCheckUserKeyPair();
+            EncryptedFileKey encryptedFileKey = getFileKey(nodeId);
+            PlainFileKey plainFileKey = decryptFileKey(nodeId, encryptedFileKey,
+                    userKeyPair.getUserPrivateKey(), mClient.getEncryptionPassword());
+            cipher = createFileDecryptionCipher(nodeId, plainFileKey);
+            tag = plainFileKey.getTag();
+        }
+
+        String id = STREAM_ID_PREFIX + nodeId;
+        String downloadUrl = getDownloadUrl(nodeId);
+        FileRangeReader reader = new FileRangeReader(mClient, id, nodeId, downloadUrl);
+        long length = node.getSize() != null ? node.getSize() : 0L;
+
+        return new DownloadInputStream(mClient, nodeId, length, reader, cipher, tag);
+    }
+
+    @Override
+    public SeekableByteChannel openByteChannel(long nodeId) throws DracoonNetIOException,
+            DracoonApiException {
+        return openByteChannel(nodeId, DracoonConstants.DEFAULT_CHANNEL_BLOCK_SIZE,
+                DracoonConstants.DEFAULT_CHANNEL_CACHE_SIZE);
+    }
+
+    @Override
+    public SeekableByteChannel openByteChannel(long nodeId, int blockSize, int cacheSize)
+            throws DracoonNetIOException, DracoonApiException {
+        assertServerApiVersion();
+
+        FileValidator.validateByteChannelRequest(blockSize, cacheSize);
+
+        Node node = getNode(nodeId);
+        if (node.getType() != NodeType.FILE) {
+            String errorText = String.format("Opening of channel for node '%d' failed! Node is " +
+                    "not a file.", nodeId);
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonApiException(DracoonApiCode.SERVER_FILE_NOT_FOUND);
+        }
+
+        // Encrypted files can only be decrypted sequentially.
+        if (Boolean.TRUE.equals(node.isEncrypted())) {
+            String errorText = String.format("Opening of channel for node '%d' failed! Node is " +
+                    "encrypted.", nodeId);
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonApiException(DracoonApiCode.VALIDATION_FILE_ENCRYPTED_NO_RANDOM_ACCESS);
+        }
+
+        String id = STREAM_ID_PREFIX + nodeId;
+        String downloadUrl = getDownloadUrl(nodeId);
+        FileRangeReader reader = new FileRangeReader(mClient, id, nodeId, downloadUrl);
+        long size = node.getSize() != null ? node.getSize() : 0L;
+
+        return new CachedByteChannel(reader, mClient.getTransferBufferPool(), size, blockSize,
+                cacheSize);
+    }
+
+    String getDownloadUrl(long nodeId) throws DracoonNetIOException, DracoonApiException {
+        String auth = mClient.buildAuthString();
+        Call<ApiDownloadToken> call = mService.getDownloadToken(auth, nodeId);
+        Response<ApiDownloadToken> response = mHttpHelper.executeRequest(call);
+
+        if (!response.isSuccessful()) {
+            DracoonApiCode errorCode = mErrorParser.parseDownloadTokenGetError(response);
+            String errorText = String.format("Creation of download token for file '%d' failed " +
+                    "with '%s'!", nodeId, errorCode.name());
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonApiException(errorCode);
+        }
+
+        ApiDownloadToken downloadToken = response.body();
+
+        if (downloadToken.downloadUrl != null) {
+            return downloadToken.downloadUrl;
+        } else {
+            return mClient.buildApiUrl("downloads", downloadToken.token);
+        }
+    }
+
+    private FileDecryptor createFileDecryptionCipher(long nodeId, PlainFileKey plainFileKey)
+            throws DracoonCryptoException {
+        try {
+            return mClient.getFileCipherFactory().createDecryptor(plainFileKey);
+        } catch (CryptoException e) {
+            String errorText = String.format("Creation of decryption cipher for file '%d' " +
+                    "failed! %s", nodeId, e.getMessage());
+            mLog.d(LOG_TAG, errorText);
+            DracoonCryptoCode errorCode = CryptoErrorParser.parseCause(e);
+            throw new DracoonCryptoException(errorCode, e);
+        }
+    }
+
+    // --- Transfer bandwidth methods ---
+
+    @Override
+    public void setTransferBandwidthLimit(String id, long bandwidthLimit) {
+        FileUpload upload = mUploads.get(id);
+        if (upload != null) {
+            upload.setBandwidthLimit(bandwidthLimit);
+        }
+
+        FileDownload download = mDownloads.get(id);
+        if (download != null) {
+            download.setBandwidthLimit(bandwidthLimit);
+        }
+    }
+
     // --- Search methods ---
 
     @Override
@@ -831,6 +1361,7 @@ class DracoonNodesImpl extends DracoonRequestHandler implements DracoonClient.No
     public PlainFileKey decryptFileKey(Long nodeId, EncryptedFileKey encryptedFileKeyFileKey,
             UserPrivateKey userPrivateKey, String userPrivateKeyPassword)
             throws DracoonCryptoException {
+        Object event = JfrEvents.beginCrypto();
         try {
             return Crypto.decryptFileKey(encryptedFileKeyFileKey, userPrivateKey,
                     userPrivateKeyPassword);
@@ -841,11 +1372,14 @@ class DracoonNodesImpl extends DracoonRequestHandler implements DracoonClient.No
             mLog.d(LOG_TAG, errorText);
             DracoonCryptoCode errorCode = CryptoErrorParser.parseCause(e);
             throw new DracoonCryptoException(errorCode, e);
+        } finally {
+            JfrEvents.commitCrypto(event, JfrEvents.CRYPTO_DECRYPT_FILE_KEY, 0L);
         }
     }
 
     public EncryptedFileKey encryptFileKey(Long nodeId, PlainFileKey plainFileKey,
             UserPublicKey userPublicKey) throws DracoonCryptoException {
+        Object event = JfrEvents.beginCrypto();
         try {
             return Crypto.encryptFileKey(plainFileKey, userPublicKey);
         } catch (CryptoException e) {
@@ -855,12 +1389,14 @@ class DracoonNodesImpl extends DracoonRequestHandler implements DracoonClient.No
             mLog.d(LOG_TAG, errorText);
             DracoonCryptoCode errorCode = CryptoErrorParser.parseCause(e);
             throw new DracoonCryptoException(errorCode, e);
+        } finally {
+            JfrEvents.commitCrypto(event, JfrEvents.CRYPTO_ENCRYPT_FILE_KEY, 0L);
         }
     }
 
     // --- Helper methods ---
 
-    private InputStream getFileInputStream(File file) throws DracoonFileIOException {
+    InputStream getFileInputStream(File file) throws DracoonFileIOException {
         if (!file.exists()) {
             throw new DracoonFileNotFoundException("File not found.");
         }
@@ -876,7 +1412,7 @@ class DracoonNodesImpl extends DracoonRequestHandler implements DracoonClient.No
         }
     }
 
-    private OutputStream getFileOutputStream(File file) throws DracoonFileIOException {
+    OutputStream getFileOutputStream(File file) throws DracoonFileIOException {
         try {
             return new FileOutputStream(file);
         } catch (FileNotFoundException e) {
@@ -21,8 +21,6 @@ public abstract class DracoonRequestHandler {
     protected final DracoonErrorParser mErrorParser;
     protected final HttpHelper mHttpHelper;
 
-    private boolean mWasServerVersionChecked = false;
-
     public DracoonRequestHandler(DracoonClientImpl client) {
         mClient = client;
         mLog = client.getLog();
@@ -40,14 +38,28 @@ public abstract class DracoonRequestHandler {
     }
 
     protected void assertServerApiVersion() throws DracoonNetIOException, DracoonApiException {
-        if (mWasServerVersionChecked) {
+        ServerCapabilities capabilities = mClient.getServerCapabilities();
+        if (capabilities.isApiVersionChecked()) {
             return;
         }
 
-        String ApiVersion = getServerApiVersion();
+        synchronized (capabilities) {
+            if (capabilities.isApiVersionChecked()) {
+                return;
+            }
+
+            ApiServerVersion serverVersion = getServerVersionInternally();
+            assertServerApiVersion(serverVersion.restApiVersion);
+
+            capabilities.setApiVersionChecked(serverVersion.sdsServerVersion,
+                    serverVersion.restApiVersion);
+        }
+    }
+
+    private static void assertServerApiVersion(String apiVersion) throws DracoonApiException {
         String minApiVersion = DracoonConstants.API_MIN_VERSION;
 
-        String[] av = ApiVersion.split("\\.");
+        String[] av = apiVersion.split("\\.");
         String[] mav = minApiVersion.split("\\.");
 
         for (int i = 0; i < 3; i++) {
@@ -67,8 +79,6 @@ public abstract class DracoonRequestHandler {
                 throw new DracoonApiException(DracoonApiCode.API_VERSION_NOT_SUPPORTED);
             }
         }
-
-        mWasServerVersionChecked = true;
     }
 
     protected Date getServerTime() throws DracoonNetIOException, DracoonApiException {
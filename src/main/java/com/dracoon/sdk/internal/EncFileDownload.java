@@ -1,14 +1,10 @@
 package com.dracoon.sdk.internal;
 
 import com.dracoon.sdk.crypto.BadFileException;
-import com.dracoon.sdk.crypto.Crypto;
 import com.dracoon.sdk.crypto.CryptoException;
 import com.dracoon.sdk.crypto.CryptoSystemException;
 import com.dracoon.sdk.crypto.CryptoUtils;
-import com.dracoon.sdk.crypto.FileDecryptionCipher;
-import com.dracoon.sdk.crypto.model.EncryptedDataContainer;
 import com.dracoon.sdk.crypto.model.EncryptedFileKey;
-import com.dracoon.sdk.crypto.model.PlainDataContainer;
 import com.dracoon.sdk.crypto.model.PlainFileKey;
 import com.dracoon.sdk.crypto.model.UserPrivateKey;
 import com.dracoon.sdk.error.DracoonApiCode;
@@ -17,6 +13,9 @@ import com.dracoon.sdk.error.DracoonCryptoCode;
 import com.dracoon.sdk.error.DracoonCryptoException;
 import com.dracoon.sdk.error.DracoonFileIOException;
 import com.dracoon.sdk.error.DracoonNetIOException;
+import com.dracoon.sdk.internal.crypto.FileCipherFactory;
+import com.dracoon.sdk.internal.crypto.FileDecryptor;
+import com.dracoon.sdk.internal.jfr.JfrEvents;
 import com.dracoon.sdk.internal.mapper.FileMapper;
 import com.dracoon.sdk.internal.model.ApiFileKey;
 import retrofit2.Call;
@@ -42,13 +41,24 @@ public class EncFileDownload extends FileDownload {
             DracoonCryptoException, DracoonFileIOException, InterruptedException {
         notifyStarted(mId);
 
-        EncryptedFileKey encryptedFileKey = getFileKey(mNodeId);
+        // The file key is fetched and decrypted while the download token is requested
+        ConcurrentTask<PlainFileKey> fileKeyTask = startConcurrentRequest("key", () -> {
+            EncryptedFileKey encryptedFileKey = getFileKey(mNodeId);
+            String userPrivateKeyPassword = mClient.getEncryptionPassword();
+            return mClient.getNodesImpl().decryptFileKey(mNodeId, encryptedFileKey,
+                    mUserPrivateKey, userPrivateKeyPassword);
+        });
 
-        String userPrivateKeyPassword = mClient.getEncryptionPassword();
-        PlainFileKey plainFileKey = mClient.getNodesImpl().decryptFileKey(mNodeId, encryptedFileKey,
-                mUserPrivateKey, userPrivateKeyPassword);
+        String downloadUrl;
+        try {
+            downloadUrl = getDownloadUrl(mNodeId);
+        } catch (DracoonNetIOException | DracoonApiException | InterruptedException |
+                RuntimeException e) {
+            ConcurrentTask.cancel(fileKeyTask);
+            throw e;
+        }
 
-        String downloadUrl = getDownloadUrl(mNodeId);
+        PlainFileKey plainFileKey = fileKeyTask.await();
 
         downloadFile(downloadUrl, mTrgStream, plainFileKey);
 
@@ -78,11 +88,11 @@ public class EncFileDownload extends FileDownload {
     private void downloadFile(String downloadUrl, OutputStream outStream, PlainFileKey plainFileKey)
             throws DracoonNetIOException, DracoonApiException, DracoonCryptoException,
             DracoonFileIOException, InterruptedException {
-        FileDecryptionCipher cipher;
+        FileDecryptor cipher;
         try {
-            cipher = Crypto.createFileDecryptionCipher(plainFileKey);
+            cipher = mClient.getFileCipherFactory().createDecryptor(plainFileKey);
         } catch (CryptoException e) {
-            String errorText = String.format("Decryption failed at upload '%s'! %s", mId,
+            String errorText = String.format("Decryption failed at download '%s'! %s", mId,
                     e.getMessage());
             mLog.d(LOG_TAG, errorText);
             DracoonCryptoCode errorCode = CryptoErrorParser.parseCause(e);
@@ -90,27 +100,46 @@ public class EncFileDownload extends FileDownload {
         }
 
         long offset = 0L;
-        long length = getFileSize(mNodeId);
+        long length = mFileSize != null ? mFileSize : -1L;
 
         try {
-            while (offset < length) {
-                long remaining = length - offset;
-                int count = remaining > JUNK_SIZE ? JUNK_SIZE : (int) remaining;
-                byte[] encBytes = downloadFileChunk(downloadUrl, offset, count, length);
-
-                EncryptedDataContainer encData = new EncryptedDataContainer(encBytes, null);
-                PlainDataContainer plainData = cipher.processBytes(encData);
-
-                outStream.write(plainData.getContent());
+            while (length < 0L || offset < length) {
+                int count = getChunkSize(offset, length);
+                byte[] buffer = mBufferPool.acquire(count);
+                try {
+                    // The chunk is decrypted in place. Therefore, room for the overhead of the
+                    // cipher is left in the buffer.
+                    count = Math.min(count, buffer.length - FileCipherFactory.MAX_UPDATE_OVERHEAD);
+                    int encCount = downloadFileChunk(downloadUrl, offset, count, length, buffer);
+                    length = mFileSize;
+
+                    long cryptoStartTime = System.nanoTime();
+                    Object cryptoEvent = JfrEvents.beginCrypto();
+                    int plainCount = cipher.update(buffer, 0, encCount, buffer);
+                    JfrEvents.commitCrypto(cryptoEvent, JfrEvents.CRYPTO_DECRYPT_FILE,
+                            encCount);
+                    mMetrics.recordCryptoTime(System.nanoTime() - cryptoStartTime);
+
+                    outStream.write(buffer, 0, plainCount);
+                    updateHash(buffer, 0, plainCount);
+                } finally {
+                    mBufferPool.release(buffer);
+                }
 
                 offset = offset + count;
             }
 
             byte[] encTag = CryptoUtils.stringToByteArray(plainFileKey.getTag());
-            EncryptedDataContainer encData = new EncryptedDataContainer(null, encTag);
-            PlainDataContainer plainData = cipher.doFinal(encData);
+            long cryptoStartTime = System.nanoTime();
+            Object cryptoEvent = JfrEvents.beginCrypto();
+            byte[] plainBytes = cipher.doFinal(encTag);
+            JfrEvents.commitCrypto(cryptoEvent, JfrEvents.CRYPTO_DECRYPT_FILE, 0L);
+            mMetrics.recordCryptoTime(System.nanoTime() - cryptoStartTime);
+
+            outStream.write(plainBytes);
+            updateHash(plainBytes, 0, plainBytes.length);
 
-            outStream.write(plainData.getContent());
+            finishHash();
         } catch (BadFileException | IllegalArgumentException | IllegalStateException |
                 CryptoSystemException e) {
             String errorText = String.format("Decryption failed at download '%s'! %s", mId,
@@ -1,13 +1,9 @@
 package com.dracoon.sdk.internal;
 
-import com.dracoon.sdk.crypto.Crypto;
 import com.dracoon.sdk.crypto.CryptoException;
 import com.dracoon.sdk.crypto.CryptoSystemException;
 import com.dracoon.sdk.crypto.CryptoUtils;
-import com.dracoon.sdk.crypto.FileEncryptionCipher;
-import com.dracoon.sdk.crypto.model.EncryptedDataContainer;
 import com.dracoon.sdk.crypto.model.EncryptedFileKey;
-import com.dracoon.sdk.crypto.model.PlainDataContainer;
 import com.dracoon.sdk.crypto.model.PlainFileKey;
 import com.dracoon.sdk.crypto.model.UserPublicKey;
 import com.dracoon.sdk.error.DracoonApiCode;
@@ -16,6 +12,9 @@ import com.dracoon.sdk.error.DracoonCryptoCode;
 import com.dracoon.sdk.error.DracoonCryptoException;
 import com.dracoon.sdk.error.DracoonFileIOException;
 import com.dracoon.sdk.error.DracoonNetIOException;
+import com.dracoon.sdk.internal.crypto.FileCipherFactory;
+import com.dracoon.sdk.internal.crypto.FileEncryptor;
+import com.dracoon.sdk.internal.jfr.JfrEvents;
 import com.dracoon.sdk.internal.mapper.FileMapper;
 import com.dracoon.sdk.internal.mapper.NodeMapper;
 import com.dracoon.sdk.internal.model.ApiCompleteFileUploadRequest;
@@ -46,16 +45,40 @@ public class EncFileUpload extends FileUpload {
             DracoonNetIOException, DracoonApiException, InterruptedException {
         notifyStarted(mId);
 
-        String uploadId = createUpload(mRequest.getParentId(), mRequest.getName(),
-                mRequest.getClassification().getValue(), mRequest.getNotes(),
-                mRequest.getExpirationDate());
+        // The file key is generated while the upload channel is created
+        DracoonNodesImpl nodes = mClient.getNodesImpl();
+        ConcurrentTask<PlainFileKey> plainFileKeyTask = startConcurrentRequest("key",
+                () -> nodes.createFileKey(mUserPublicKey.getVersion()));
 
-        PlainFileKey plainFileKey = mClient.getNodesImpl().createFileKey(mUserPublicKey.getVersion());
+        String uploadId;
+        try {
+            uploadId = createUpload(mRequest.getParentId(), mRequest.getName(),
+                    mRequest.getClassification().getValue(), mRequest.getNotes(),
+                    mRequest.getExpirationDate());
+        } catch (DracoonNetIOException | DracoonApiException | InterruptedException |
+                RuntimeException e) {
+            ConcurrentTask.cancel(plainFileKeyTask);
+            throw e;
+        }
+
+        PlainFileKey plainFileKey = plainFileKeyTask.await();
 
-        uploadFile(uploadId, mRequest.getName(), mSrcStream, mSrcLength, plainFileKey);
+        // The file key is encrypted while the file is uploaded. (The tag is only known after the
+        // upload. It is not part of the encryption and is therefore set afterwards.)
+        PlainFileKey keyToEncrypt = copyFileKey(plainFileKey);
+        ConcurrentTask<EncryptedFileKey> encFileKeyTask = startConcurrentRequest("enc-key",
+                () -> nodes.encryptFileKey(null, keyToEncrypt, mUserPublicKey));
+
+        try {
+            uploadFile(uploadId, mRequest.getName(), mSrcStream, mSrcLength, plainFileKey);
+        } catch (DracoonFileIOException | DracoonCryptoException | DracoonNetIOException |
+                DracoonApiException | InterruptedException | RuntimeException e) {
+            ConcurrentTask.cancel(encFileKeyTask);
+            throw e;
+        }
 
-        EncryptedFileKey encryptedFileKey = mClient.getNodesImpl().encryptFileKey(null, plainFileKey,
-                mUserPublicKey);
+        EncryptedFileKey encryptedFileKey = encFileKeyTask.await();
+        encryptedFileKey.setTag(plainFileKey.getTag());
 
         ApiNode apiNode = completeUpload(uploadId, mRequest.getName(),
                 mRequest.getResolutionStrategy(), encryptedFileKey);
@@ -70,9 +93,9 @@ public class EncFileUpload extends FileUpload {
     private void uploadFile(String uploadId, String fileName, InputStream is, long length,
             PlainFileKey plainFileKey) throws DracoonFileIOException, DracoonCryptoException,
             DracoonNetIOException, DracoonApiException, InterruptedException {
-        FileEncryptionCipher cipher;
+        FileEncryptor cipher;
         try {
-            cipher = Crypto.createFileEncryptionCipher(plainFileKey);
+            cipher = mClient.getFileCipherFactory().createEncryptor(plainFileKey);
         } catch (CryptoException e) {
             String errorText = String.format("Encryption failed at upload '%s'! %s", mId,
                     e.getMessage());
@@ -81,30 +104,49 @@ public class EncFileUpload extends FileUpload {
             throw new DracoonCryptoException(errorCode, e);
         }
 
-        byte[] buffer = new byte[JUNK_SIZE];
+        int chunkSize = getChunkSize();
         long offset = 0;
         int count;
 
         try {
-            while ((count = is.read(buffer)) != -1) {
-                byte[] plainBytes = createByteArray(buffer, count);
-
-                PlainDataContainer plainData = new PlainDataContainer(plainBytes);
-                EncryptedDataContainer encData = cipher.processBytes(plainData);
-
-                byte[] encBytes = encData.getContent();
-                uploadFileChunk(uploadId, fileName, encBytes, offset, encBytes.length, length);
-
-                offset = offset + encBytes.length;
+            while (true) {
+                byte[] buffer = mBufferPool.acquire(chunkSize);
+                try {
+                    // The chunk is encrypted in place. Therefore, room for the overhead of the
+                    // cipher is left in the buffer.
+                    count = readChunk(is, buffer, Math.min(chunkSize, buffer.length -
+                            FileCipherFactory.MAX_UPDATE_OVERHEAD));
+                    if (count == -1) {
+                        break;
+                    }
+                    updateHash(buffer, 0, count);
+
+                    long cryptoStartTime = System.nanoTime();
+                    Object cryptoEvent = JfrEvents.beginCrypto();
+                    int encCount = cipher.update(buffer, 0, count, buffer);
+                    JfrEvents.commitCrypto(cryptoEvent, JfrEvents.CRYPTO_ENCRYPT_FILE, count);
+                    mMetrics.recordCryptoTime(System.nanoTime() - cryptoStartTime);
+
+                    uploadFileChunk(uploadId, fileName, buffer, offset, encCount, length);
+
+                    offset = offset + encCount;
+                } finally {
+                    mBufferPool.release(buffer);
+                }
             }
 
-            EncryptedDataContainer encData = cipher.doFinal();
+            long cryptoStartTime = System.nanoTime();
+            Object cryptoEvent = JfrEvents.beginCrypto();
+            byte[] encBytes = cipher.doFinal();
+            JfrEvents.commitCrypto(cryptoEvent, JfrEvents.CRYPTO_ENCRYPT_FILE, 0L);
+            mMetrics.recordCryptoTime(System.nanoTime() - cryptoStartTime);
 
-            byte[] encBytes = encData.getContent();
             uploadFileChunk(uploadId, fileName, encBytes, offset, encBytes.length, length);
 
-            String encTag = CryptoUtils.byteArrayToString(encData.getTag());
+            String encTag = CryptoUtils.byteArrayToString(cipher.getTag());
             plainFileKey.setTag(encTag);
+
+            finishHash();
         } catch (IllegalArgumentException | IllegalStateException | CryptoSystemException e) {
             String errorText = String.format("Encryption failed at upload '%s'! %s", mId,
                     e.getMessage());
@@ -121,10 +163,12 @@ public class EncFileUpload extends FileUpload {
         }
     }
 
-    private static byte[] createByteArray(byte[] bytes, int len) {
-        byte[] b = new byte[len];
-        System.arraycopy(bytes, 0, b, 0, len);
-        return b;
+    private static PlainFileKey copyFileKey(PlainFileKey plainFileKey) {
+        PlainFileKey copy = new PlainFileKey();
+        copy.setKey(plainFileKey.getKey());
+        copy.setIv(plainFileKey.getIv());
+        copy.setVersion(plainFileKey.getVersion());
+        return copy;
     }
 
     private ApiNode completeUpload(String uploadId, String fileName,
@@ -0,0 +1,85 @@
+package com.dracoon.sdk.internal;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+class EndpointCall<T> implements Call<T> {
+
+    private final Call<T> mCall;
+    private final String mEndpoint;
+
+    private EndpointCall(Call<T> call, String endpoint) {
+        mCall = call;
+        mEndpoint = endpoint;
+    }
+
+    String getEndpoint() {
+        return mEndpoint;
+    }
+
+    @Override
+    public Response<T> execute() throws IOException {
+        return mCall.execute();
+    }
+
+    @Override
+    public void enqueue(Callback<T> callback) {
+        mCall.enqueue(callback);
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return mCall.isExecuted();
+    }
+
+    @Override
+    public void cancel() {
+        mCall.cancel();
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return mCall.isCanceled();
+    }
+
+    @Override
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    public Call<T> clone() {
+        return new EndpointCall<>(mCall.clone(), mEndpoint);
+    }
+
+    @Override
+    public Request request() {
+        return mCall.request();
+    }
+
+    // --- Service wrapping methods ---
+
+    @SuppressWarnings("unchecked")
+    static <S> S wrapService(Class<S> serviceClass, S service) {
+        return (S) Proxy.newProxyInstance(serviceClass.getClassLoader(),
+                new Class<?>[]{serviceClass}, (proxy, method, args) -> {
+                    Object result = invoke(service, method, args);
+                    if (result instanceof Call) {
+                        return new EndpointCall<>((Call<?>) result, method.getName());
+                    }
+                    return result;
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+}
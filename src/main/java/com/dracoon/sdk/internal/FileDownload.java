@@ -1,25 +1,30 @@
 package com.dracoon.sdk.internal;
 
 import com.dracoon.sdk.Log;
+import com.dracoon.sdk.Metrics;
+import com.dracoon.sdk.TransferBufferPool;
+import com.dracoon.sdk.TransferStatistics;
 import com.dracoon.sdk.error.DracoonApiCode;
 import com.dracoon.sdk.error.DracoonApiException;
 import com.dracoon.sdk.error.DracoonCryptoException;
 import com.dracoon.sdk.error.DracoonException;
 import com.dracoon.sdk.error.DracoonFileIOException;
 import com.dracoon.sdk.error.DracoonNetIOException;
+import com.dracoon.sdk.error.DracoonNetIntegrityException;
+import com.dracoon.sdk.internal.jfr.JfrEvents;
 import com.dracoon.sdk.internal.model.ApiDownloadToken;
 import com.dracoon.sdk.internal.model.ApiNode;
 import com.dracoon.sdk.model.FileDownloadCallback;
+import com.dracoon.sdk.model.HashAlgorithm;
+import com.dracoon.sdk.model.TransferHashListener;
 import okhttp3.OkHttpClient;
 import retrofit2.Call;
 import retrofit2.Response;
 
-import java.io.BufferedInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.Callable;
 
 public class FileDownload extends Thread {
 
@@ -28,70 +33,109 @@ public class FileDownload extends Thread {
     protected static final int JUNK_SIZE = 2 * 1024 * 1024;
 
     private static final int BLOCK_SIZE = 2 * 1024;
-    private static final int PROGRESS_UPDATE_INTERVAL = 100;
+
+    static final int HTTP_PARTIAL_CONTENT = 206;
+    private static final int HTTP_RANGE_NOT_SATISFIABLE = 416;
 
     protected final DracoonClientImpl mClient;
     protected final Log mLog;
+    protected final Metrics mMetrics;
     protected final DracoonService mRestService;
     protected final DracoonErrorParser mErrorParser;
     protected final OkHttpClient mHttpClient;
     protected final HttpHelper mHttpHelper;
+    protected final TransferBufferPool mBufferPool;
 
     protected final String mId;
     protected final long mNodeId;
     protected final OutputStream mTrgStream;
 
-    private long mProgressUpdateTime = System.currentTimeMillis();
+    protected final TokenBucket mBandwidthLimiter = new TokenBucket(0L,
+            TokenBucket.MIN_BANDWIDTH_BUCKET_SIZE);
+    protected final TransferHasher mHasher;
+
+    // File size and hash are fetched lazily, if they were not set beforehand
+    protected Long mFileSize;
+    private String mServerHash;
 
-    private final List<FileDownloadCallback> mCallbacks = new ArrayList<>();
+    private TransferStatistics.Transfer mStatistics;
+
+    private final CallbackDispatcher<FileDownloadCallback> mCallbackDispatcher;
 
     public FileDownload(DracoonClientImpl client, String id, long nodeId, OutputStream trgStream) {
         mClient = client;
         mLog = client.getLog();
+        mMetrics = client.getMetrics();
         mRestService = client.getDracoonService();
         mErrorParser = client.getDracoonErrorParser();
         mHttpClient = client.getHttpClient();
         mHttpHelper = client.getHttpHelper();
+        mBufferPool = client.getTransferBufferPool();
 
         mId = id;
         mNodeId = nodeId;
         mTrgStream = trgStream;
+
+        HashAlgorithm hashAlgorithm = client.getTransferHashAlgorithm();
+        mHasher = hashAlgorithm != null ? new TransferHasher(hashAlgorithm) : null;
+
+        mCallbackDispatcher = new CallbackDispatcher<>(client.getCallbackExecutor(), mLog);
+    }
+
+    public void setBandwidthLimit(long bandwidthLimit) {
+        mBandwidthLimiter.setRate(bandwidthLimit);
+    }
+
+    public String getHash() {
+        return mHasher != null ? mHasher.getHash() : null;
+    }
+
+    public void setFileInfo(Long fileSize, String hash) {
+        mFileSize = fileSize;
+        mServerHash = hash;
     }
 
     public void addCallback(FileDownloadCallback callback) {
-        if (callback != null) {
-            mCallbacks.add(callback);
-        }
+        mCallbackDispatcher.addCallback(callback);
     }
 
     public void removeCallback(FileDownloadCallback callback) {
-        if (callback != null) {
-            mCallbacks.remove(callback);
-        }
+        mCallbackDispatcher.removeCallback(callback);
     }
 
     @Override
     public void run() {
+        boolean isSuccessful = false;
+        startStatistics();
         try {
             download();
+            isSuccessful = true;
         } catch (InterruptedException e) {
             notifyCanceled(mId);
         } catch (DracoonNetIOException | DracoonApiException | DracoonCryptoException |
                 DracoonFileIOException e) {
             notifyFailed(mId, e);
+        } finally {
+            finishStatistics(isSuccessful);
         }
     }
 
     public void runSync() throws DracoonNetIOException, DracoonApiException, DracoonCryptoException,
             DracoonFileIOException {
+        boolean isSuccessful = false;
+        startStatistics();
         try {
             download();
+            isSuccessful = true;
         } catch (InterruptedException e) {
             notifyCanceled(mId);
         } catch (DracoonNetIOException | DracoonApiException | DracoonCryptoException |
                 DracoonFileIOException e) {
             notifyFailed(mId, e);
             throw e;
+        } finally {
+            finishStatistics(isSuccessful);
+            awaitCallbacks();
         }
     }
 
@@ -99,10 +143,33 @@ public class FileDownload extends Thread {
             DracoonCryptoException, DracoonFileIOException, InterruptedException {
         notifyStarted(mId);
 
-        String downloadUrl = getDownloadUrl(mNodeId);
+        // The file size can be taken from the first response. The node only needs to be fetched
+        // if its hash is needed for the verification. (It is fetched concurrently.)
+        ConcurrentTask<Void> fileInfoTask = null;
+        if (mHasher != null && mServerHash == null) {
+            fileInfoTask = startConcurrentRequest("info", () -> {
+                getFileInfo(mNodeId);
+                return null;
+            });
+        }
+
+        String downloadUrl;
+        try {
+            downloadUrl = getDownloadUrl(mNodeId);
+        } catch (DracoonNetIOException | DracoonApiException | InterruptedException |
+                RuntimeException e) {
+            ConcurrentTask.cancel(fileInfoTask);
+            throw e;
+        }
+
+        if (fileInfoTask != null) {
+            fileInfoTask.await();
+        }
 
         downloadFile(downloadUrl, mTrgStream);
 
+        verifyHash(mServerHash);
+
         notifyFinished(mId);
     }
 
@@ -134,18 +201,25 @@ public class FileDownload extends Thread {
             throws DracoonNetIOException, DracoonApiException, DracoonFileIOException,
             InterruptedException {
         long offset = 0L;
-        long length = getFileSize(mNodeId);
+        long length = mFileSize != null ? mFileSize : -1L;
 
         try {
-            while (offset < length) {
-                long remaining = length - offset;
-                int count = remaining > JUNK_SIZE ? JUNK_SIZE : (int) remaining;
-                byte[] data = downloadFileChunk(downloadUrl, offset, count, length);
-
-                outStream.write(data);
+            while (length < 0L || offset < length) {
+                int count = getChunkSize(offset, length);
+                byte[] buffer = mBufferPool.acquire(count);
+                try {
+                    int dataCount = downloadFileChunk(downloadUrl, offset, count, length, buffer);
+                    length = mFileSize;
+
+                    outStream.write(buffer, 0, dataCount);
+                    updateHash(buffer, 0, dataCount);
+                } finally {
+                    mBufferPool.release(buffer);
+                }
 
                 offset = offset + count;
             }
+            finishHash();
         } catch (IOException e) {
             if (isInterrupted()) {
                 throw new InterruptedException();
@@ -156,7 +230,7 @@ public class FileDownload extends Thread {
         }
     }
 
-    protected long getFileSize(long nodeId) throws DracoonNetIOException, DracoonApiException,
+    protected void getFileInfo(long nodeId) throws DracoonNetIOException, DracoonApiException,
             InterruptedException {
         String auth = mClient.buildAuthString();
 
@@ -172,12 +246,24 @@ public class FileDownload extends Thread {
         }
 
         ApiNode node = response.body();
+        mFileSize = node.size;
+        mServerHash = node.hash;
+    }
 
-        return node.size;
+    // If the file size is unknown, a full chunk is requested. The size is then taken from the
+    // first response.
+    protected static int getChunkSize(long offset, long length) {
+        if (length < 0L) {
+            return JUNK_SIZE;
+        }
+        long remaining = length - offset;
+        return remaining > JUNK_SIZE ? JUNK_SIZE : (int) remaining;
     }
 
-    protected byte[] downloadFileChunk(String downloadUrl, long offset, int count, long length)
-            throws DracoonNetIOException, DracoonApiException, InterruptedException {
+    // The chunk is read into the given buffer. Returns the number of bytes which were read.
+    protected int downloadFileChunk(String downloadUrl, long offset, int count, long length,
+            byte[] buffer) throws DracoonNetIOException, DracoonApiException,
+            InterruptedException {
         String range = "bytes=" + offset + "-" + (offset + count - 1);
 
         okhttp3.Request request = new okhttp3.Request.Builder()
@@ -185,35 +271,87 @@ public class FileDownload extends Thread {
                 .addHeader("Range", range)
                 .build();
 
-        okhttp3.Call call = mHttpClient.newCall(request);
-        okhttp3.Response response = mHttpHelper.executeRequest(call, this);
+        Object event = JfrEvents.beginTransferChunk();
+        okhttp3.Response response;
+        RequestContext.setDownload(mId, mNodeId, offset);
+        try {
+            okhttp3.Call call = mHttpClient.newCall(request);
+            response = mHttpHelper.executeRequest(call, this);
+        } finally {
+            RequestContext.clear();
+        }
 
-        if (!response.isSuccessful()) {
-            DracoonApiCode errorCode = mErrorParser.parseDownloadError(response);
-            String errorText = String.format("File download '%s' for file '%d' failed with '%s'!",
-                    mId, mNodeId, errorCode.name());
-            mLog.d(LOG_TAG, errorText);
-            throw new DracoonApiException(errorCode);
+        int bytesReadTotal;
+        try {
+            // Empty files can not be requested with a range
+            if (response.code() == HTTP_RANGE_NOT_SATISFIABLE && length < 0L) {
+                long total = parseContentRangeTotal(response.header("Content-Range"));
+                if (total == 0L) {
+                    mFileSize = 0L;
+                    return 0;
+                }
+            }
+
+            if (!response.isSuccessful()) {
+                DracoonApiCode errorCode = mErrorParser.parseDownloadError(response);
+                String errorText = String.format("File download '%s' for file '%d' failed " +
+                        "with '%s'!", mId, mNodeId, errorCode.name());
+                mLog.d(LOG_TAG, errorText);
+                throw new DracoonApiException(errorCode);
+            }
+
+            if (length < 0L) {
+                length = getContentLength(response, offset);
+            }
+
+            bytesReadTotal = readFileChunk(response.body().byteStream(), offset, count, length,
+                    buffer);
+        } finally {
+            response.close();
+        }
+
+        mMetrics.recordBytesReceived(bytesReadTotal);
+        JfrEvents.commitTransferChunk(event, mId, JfrEvents.DIRECTION_DOWNLOAD, offset,
+                bytesReadTotal);
+
+        if (mFileSize == null) {
+            mFileSize = length >= 0L ? length : offset + bytesReadTotal;
+            if (mStatistics != null) {
+                mStatistics.setBytesTotal(mFileSize);
+            }
         }
 
-        BufferedInputStream is = new BufferedInputStream(response.body().byteStream());
-        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        return bytesReadTotal;
+    }
+
+    private int readFileChunk(InputStream is, long offset, int count, long length, byte[] buffer)
+            throws DracoonNetIOException, InterruptedException {
+        TokenBucket clientBandwidthLimiter = mClient.getDownloadBandwidthLimiter();
 
-        byte buffer[] = new byte[BLOCK_SIZE];
         int bytesRead;
         int bytesReadTotal = 0;
         try {
-            while ((bytesRead = is.read(buffer)) > -1) {
-                os.write(buffer, 0, bytesRead);
+            while (bytesReadTotal < count && (bytesRead = is.read(buffer, bytesReadTotal,
+                    Math.min(BLOCK_SIZE, count - bytesReadTotal))) > -1) {
+                mBandwidthLimiter.acquire(bytesRead);
+                clientBandwidthLimiter.acquire(bytesRead);
 
                 bytesReadTotal = bytesReadTotal + bytesRead;
+                updateStatistics(offset + bytesReadTotal);
 
-                if (mProgressUpdateTime + PROGRESS_UPDATE_INTERVAL < System.currentTimeMillis()
-                        && !isInterrupted()) {
+                if (!isInterrupted()) {
                     notifyRunning(mId, offset + bytesReadTotal, length);
-                    mProgressUpdateTime = System.currentTimeMillis();
                 }
             }
+
+            // The buffer only holds the requested range. If the server sent more, the content
+            // can not be assembled correctly.
+            if (bytesReadTotal == count && is.read() != -1) {
+                String errorText = String.format("File download '%s' for file '%d' failed! " +
+                        "Server sent more data than requested.", mId, mNodeId);
+                mLog.d(LOG_TAG, errorText);
+                throw new DracoonNetIOException(errorText);
+            }
         } catch (IOException e) {
             if (isInterrupted()) {
                 throw new InterruptedException();
@@ -224,29 +362,144 @@ public class FileDownload extends Thread {
             }
         }
 
-        return os.toByteArray();
+        return bytesReadTotal;
+    }
+
+    private long getContentLength(okhttp3.Response response, long offset) {
+        long total = parseContentRangeTotal(response.header("Content-Range"));
+        if (total >= 0L) {
+            return total;
+        }
+        // Without Content-Range header, the complete content was sent
+        if (response.code() != HTTP_PARTIAL_CONTENT && offset == 0L) {
+            return response.body().contentLength();
+        }
+        return -1L;
+    }
+
+    // Parses the total length of a header like "bytes 0-1023/4096" or "bytes */4096"
+    private static long parseContentRangeTotal(String contentRange) {
+        if (contentRange == null) {
+            return -1L;
+        }
+        int separatorIndex = contentRange.lastIndexOf('/');
+        if (separatorIndex < 0) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(contentRange.substring(separatorIndex + 1).trim());
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    // Parses the start of a header like "bytes 0-1023/4096"
+    static long parseContentRangeStart(String contentRange) {
+        if (contentRange == null || !contentRange.startsWith("bytes ")) {
+            return -1L;
+        }
+        int separatorIndex = contentRange.indexOf('-');
+        if (separatorIndex < 0) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(contentRange.substring(6, separatorIndex).trim());
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    // --- Concurrent request helper methods ---
+
+    protected <T> ConcurrentTask<T> startConcurrentRequest(String name, Callable<T> callable) {
+        return ConcurrentTask.start(mClient.getTaskExecutor(), "download-" + mId + "-" + name,
+                callable);
+    }
+
+    // --- Statistics helper methods ---
+
+    private void startStatistics() {
+        TransferStatistics statistics = mClient.getTransferStatistics();
+        if (statistics != null) {
+            mStatistics = statistics.startTransfer(mId, TransferStatistics.Direction.DOWNLOAD,
+                    mFileSize != null ? mFileSize : -1L);
+        }
+    }
+
+    private void updateStatistics(long bytesTransferred) {
+        if (mStatistics != null) {
+            mStatistics.setBytesTransferred(bytesTransferred);
+        }
+    }
+
+    private void finishStatistics(boolean isSuccessful) {
+        if (mStatistics != null) {
+            mClient.getTransferStatistics().finishTransfer(mStatistics, isSuccessful);
+        }
+    }
+
+    // --- Hash helper methods ---
+
+    protected void updateHash(byte[] data, int offset, int count) {
+        if (mHasher != null) {
+            mHasher.update(data, offset, count);
+        }
+    }
+
+    protected void finishHash() {
+        if (mHasher == null) {
+            return;
+        }
+
+        String hash = mHasher.finish();
+
+        TransferHashListener listener = mClient.getTransferHashListener();
+        if (listener != null) {
+            listener.onHashComputed(mId, mHasher.getAlgorithm(), hash);
+        }
+    }
+
+    protected void verifyHash(String serverHash) throws DracoonNetIntegrityException {
+        if (mHasher == null || mHasher.matches(serverHash)) {
+            return;
+        }
+
+        String errorText = String.format("Hash of download '%s' does not match hash of " +
+                "server!", mId);
+        mLog.d(LOG_TAG, errorText);
+        throw new DracoonNetIntegrityException(errorText);
     }
 
     // --- Callback helper methods ---
 
     protected void notifyStarted(String id) {
-        mCallbacks.forEach(callback -> callback.onStarted(id));
+        mCallbackDispatcher.dispatch(callback -> callback.onStarted(id));
     }
 
     protected void notifyRunning(String id, long bytesRead, long bytesTotal) {
-        mCallbacks.forEach(callback -> callback.onRunning(id, bytesRead, bytesTotal));
+        mCallbackDispatcher.dispatchProgress(callback -> callback.onRunning(id, bytesRead,
+                bytesTotal));
     }
 
     protected void notifyFinished(String id) {
-        mCallbacks.forEach(callback -> callback.onFinished(id));
+        mCallbackDispatcher.dispatch(callback -> callback.onFinished(id));
     }
 
     protected void notifyCanceled(String id) {
-        mCallbacks.forEach(callback -> callback.onCanceled(id));
+        mCallbackDispatcher.dispatch(callback -> callback.onCanceled(id));
     }
 
     protected void notifyFailed(String id, DracoonException e) {
-        mCallbacks.forEach(callback -> callback.onFailed(id, e));
+        mCallbackDispatcher.dispatch(callback -> callback.onFailed(id, e));
+    }
+
+    // Synchronous transfers return after their callbacks were called
+    private void awaitCallbacks() {
+        try {
+            mCallbackDispatcher.awaitDelivery();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
 }
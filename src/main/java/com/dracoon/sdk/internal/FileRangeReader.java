@@ -0,0 +1,134 @@
+package com.dracoon.sdk.internal;
+
+import com.dracoon.sdk.Log;
+import com.dracoon.sdk.Metrics;
+import com.dracoon.sdk.error.DracoonApiCode;
+import com.dracoon.sdk.error.DracoonApiException;
+import com.dracoon.sdk.error.DracoonNetIOException;
+import com.dracoon.sdk.error.DracoonNetIOInterruptedException;
+import com.dracoon.sdk.internal.jfr.JfrEvents;
+import okhttp3.OkHttpClient;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+class FileRangeReader {
+
+    private static final String LOG_TAG = FileRangeReader.class.getSimpleName();
+
+    private static final int BLOCK_SIZE = 2 * 1024;
+
+    private final DracoonClientImpl mClient;
+    private final Log mLog;
+    private final Metrics mMetrics;
+    private final DracoonErrorParser mErrorParser;
+    private final OkHttpClient mHttpClient;
+    private final HttpHelper mHttpHelper;
+
+    private final String mId;
+    private final long mNodeId;
+    private final String mDownloadUrl;
+
+    FileRangeReader(DracoonClientImpl client, String id, long nodeId, String downloadUrl) {
+        mClient = client;
+        mLog = client.getLog();
+        mMetrics = client.getMetrics();
+        mErrorParser = client.getDracoonErrorParser();
+        mHttpClient = client.getHttpClient();
+        mHttpHelper = client.getHttpHelper();
+
+        mId = id;
+        mNodeId = nodeId;
+        mDownloadUrl = downloadUrl;
+    }
+
+    // The range is read into the given buffer
+    void read(long offset, int count, byte[] buffer) throws DracoonNetIOException,
+            DracoonApiException {
+        String range = "bytes=" + offset + "-" + (offset + count - 1);
+
+        okhttp3.Request request = new okhttp3.Request.Builder()
+                .url(mDownloadUrl)
+                .addHeader("Range", range)
+                .build();
+
+        Object event = JfrEvents.beginTransferChunk();
+        okhttp3.Response response;
+        RequestContext.setDownload(mId, mNodeId, offset);
+        try {
+            okhttp3.Call call = mHttpClient.newCall(request);
+            response = mHttpHelper.executeRequest(call);
+        } finally {
+            RequestContext.clear();
+        }
+
+        try {
+            if (!response.isSuccessful()) {
+                DracoonApiCode errorCode = mErrorParser.parseDownloadError(response);
+                String errorText = String.format("Read of range '%s' of file '%d' failed with " +
+                        "'%s'!", range, mNodeId, errorCode.name());
+                mLog.d(LOG_TAG, errorText);
+                throw new DracoonApiException(errorCode);
+            }
+
+            // If the server ignored the range, the body would contain other data
+            if (!isRequestedRange(response, offset)) {
+                String errorText = String.format("Read of range '%s' of file '%d' failed! " +
+                        "Server did not return the requested range.", range, mNodeId);
+                mLog.d(LOG_TAG, errorText);
+                throw new DracoonNetIOException(errorText);
+            }
+
+            readBody(response.body().byteStream(), offset, count, buffer);
+
+            mMetrics.recordBytesReceived(count);
+            JfrEvents.commitTransferChunk(event, mId, JfrEvents.DIRECTION_DOWNLOAD, offset,
+                    count);
+        } finally {
+            response.close();
+        }
+    }
+
+    private static boolean isRequestedRange(okhttp3.Response response, long offset) {
+        if (response.code() != FileDownload.HTTP_PARTIAL_CONTENT) {
+            // Without range, the complete content is sent. This is only correct for offset 0.
+            return offset == 0L;
+        }
+        long start = FileDownload.parseContentRangeStart(response.header("Content-Range"));
+        return start == offset;
+    }
+
+    private void readBody(InputStream is, long offset, int count, byte[] buffer)
+            throws DracoonNetIOException {
+        TokenBucket clientBandwidthLimiter = mClient.getDownloadBandwidthLimiter();
+
+        BufferedInputStream bis = new BufferedInputStream(is);
+        int bytesReadTotal = 0;
+        int bytesRead;
+        try {
+            while (bytesReadTotal < count && (bytesRead = bis.read(buffer, bytesReadTotal,
+                    Math.min(BLOCK_SIZE, count - bytesReadTotal))) > -1) {
+                clientBandwidthLimiter.acquire(bytesRead);
+                bytesReadTotal = bytesReadTotal + bytesRead;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            String errorText = "Server communication interrupted.";
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonNetIOInterruptedException(errorText, e);
+        } catch (IOException e) {
+            String errorText = "Server communication failed!";
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonNetIOException(errorText, e);
+        }
+
+        if (bytesReadTotal < count) {
+            String errorText = String.format("Read of file '%d' at offset '%d' returned less " +
+                    "data than requested!", mNodeId, offset);
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonNetIOException(errorText);
+        }
+    }
+
+}
@@ -2,27 +2,36 @@ package com.dracoon.sdk.internal;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
+import java.io.InterruptedIOException;
+import java.util.Collections;
 import java.util.Date;
-import java.util.List;
+import java.util.concurrent.Callable;
 
 import com.dracoon.sdk.Log;
+import com.dracoon.sdk.Metrics;
+import com.dracoon.sdk.TransferBufferPool;
+import com.dracoon.sdk.TransferStatistics;
 import com.dracoon.sdk.error.DracoonApiCode;
 import com.dracoon.sdk.error.DracoonApiException;
 import com.dracoon.sdk.error.DracoonCryptoException;
 import com.dracoon.sdk.error.DracoonException;
 import com.dracoon.sdk.error.DracoonFileIOException;
 import com.dracoon.sdk.error.DracoonNetIOException;
+import com.dracoon.sdk.error.DracoonNetIntegrityException;
+import com.dracoon.sdk.internal.jfr.JfrEvents;
 import com.dracoon.sdk.internal.mapper.NodeMapper;
 import com.dracoon.sdk.internal.model.ApiCompleteFileUploadRequest;
 import com.dracoon.sdk.internal.model.ApiCreateFileUploadRequest;
 import com.dracoon.sdk.internal.model.ApiExpiration;
 import com.dracoon.sdk.internal.model.ApiFileUpload;
 import com.dracoon.sdk.internal.model.ApiNode;
+import com.dracoon.sdk.model.DeleteNodesRequest;
 import com.dracoon.sdk.model.FileUploadCallback;
 import com.dracoon.sdk.model.FileUploadRequest;
+import com.dracoon.sdk.model.HashAlgorithm;
 import com.dracoon.sdk.model.Node;
 import com.dracoon.sdk.model.ResolutionStrategy;
+import com.dracoon.sdk.model.TransferHashListener;
 import okhttp3.MediaType;
 import okhttp3.MultipartBody;
 import okhttp3.RequestBody;
@@ -37,7 +46,6 @@ public class FileUpload extends Thread {
     protected static final int JUNK_SIZE = 2 * 1024 * 1024;
 
     private static final int BLOCK_SIZE = 2 * 1024;
-    private static final int PROGRESS_UPDATE_INTERVAL = 100;
 
     private static class FileRequestBody extends RequestBody {
 
@@ -47,12 +55,14 @@ public class FileUpload extends Thread {
 
         private final byte[] mData;
         private final int mLength;
+        private final TokenBucket[] mBandwidthLimiters;
 
         private Callback mCallback;
 
-        FileRequestBody(byte[] data, int length) {
+        FileRequestBody(byte[] data, int length, TokenBucket... bandwidthLimiters) {
             mData = data;
             mLength = length;
+            mBandwidthLimiters = bandwidthLimiters;
         }
 
         void setCallback(Callback callback) {
@@ -75,6 +85,9 @@ public class FileUpload extends Thread {
             int remaining;
             while ((remaining = mLength - offset) > 0) {
                 int count = remaining >= BLOCK_SIZE ? BLOCK_SIZE : remaining;
+
+                acquireBandwidth(count);
+
                 sink.write(mData, offset, count);
 
                 offset = offset + count;
@@ -85,65 +98,101 @@ public class FileUpload extends Thread {
             }
         }
 
+        private void acquireBandwidth(int count) throws InterruptedIOException {
+            try {
+                for (TokenBucket bandwidthLimiter : mBandwidthLimiters) {
+                    bandwidthLimiter.acquire(count);
+                }
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException();
+            }
+        }
+
     }
 
     protected final DracoonClientImpl mClient;
     protected final Log mLog;
+    protected final Metrics mMetrics;
     protected final DracoonService mRestService;
     protected final DracoonErrorParser mErrorParser;
     protected final HttpHelper mHttpHelper;
+    protected final TransferBufferPool mBufferPool;
 
     protected final String mId;
     protected final FileUploadRequest mRequest;
     protected final InputStream mSrcStream;
     protected final long mSrcLength;
 
-    private long mProgressUpdateTime = System.currentTimeMillis();
+    protected final TokenBucket mBandwidthLimiter = new TokenBucket(0L,
+            TokenBucket.MIN_BANDWIDTH_BUCKET_SIZE);
+    protected final TransferHasher mHasher;
+
+    private TransferStatistics.Transfer mStatistics;
 
-    private final List<FileUploadCallback> mCallbacks = new ArrayList<>();
+    private final CallbackDispatcher<FileUploadCallback> mCallbackDispatcher;
 
     public FileUpload(DracoonClientImpl client, String id, FileUploadRequest request,
             InputStream srcStream, long srcLength) {
         mClient = client;
         mLog = client.getLog();
+        mMetrics = client.getMetrics();
         mHttpHelper = client.getHttpHelper();
         mRestService = client.getDracoonService();
         mErrorParser = client.getDracoonErrorParser();
+        mBufferPool = client.getTransferBufferPool();
 
         mId = id;
         mRequest = request;
         mSrcStream = srcStream;
         mSrcLength = srcLength;
+
+        HashAlgorithm hashAlgorithm = client.getTransferHashAlgorithm();
+        mHasher = hashAlgorithm != null ? new TransferHasher(hashAlgorithm) : null;
+
+        mCallbackDispatcher = new CallbackDispatcher<>(client.getCallbackExecutor(), mLog);
+    }
+
+    public void setBandwidthLimit(long bandwidthLimit) {
+        mBandwidthLimiter.setRate(bandwidthLimit);
+    }
+
+    public String getHash() {
+        return mHasher != null ? mHasher.getHash() : null;
     }
 
     public void addCallback(FileUploadCallback callback) {
-        if (callback != null) {
-            mCallbacks.add(callback);
-        }
+        mCallbackDispatcher.addCallback(callback);
     }
 
     public void removeCallback(FileUploadCallback callback) {
-        if (callback != null) {
-            mCallbacks.remove(callback);
-        }
+        mCallbackDispatcher.removeCallback(callback);
     }
 
     @Override
     public void run() {
+        boolean isSuccessful = false;
+        startStatistics();
         try {
             upload();
+            isSuccessful = true;
         } catch (InterruptedException e) {
             notifyCanceled(mId);
         } catch (DracoonFileIOException | DracoonCryptoException | DracoonNetIOException |
                 DracoonApiException e) {
             notifyFailed(mId, e);
+        } finally {
+            finishStatistics(isSuccessful);
         }
     }
 
     public Node runSync() throws DracoonFileIOException, DracoonCryptoException,
             DracoonNetIOException, DracoonApiException {
+        boolean isSuccessful = false;
+        startStatistics();
         try {
-            return upload();
+            Node node = upload();
+            isSuccessful = true;
+            return node;
         } catch (InterruptedException e) {
             notifyCanceled(mId);
             return null;
@@ -151,6 +200,9 @@ public class FileUpload extends Thread {
                 DracoonApiException e) {
             notifyFailed(mId, e);
             throw e;
+        } finally {
+            finishStatistics(isSuccessful);
+            awaitCallbacks();
         }
     }
 
@@ -167,6 +219,8 @@ public class FileUpload extends Thread {
         ApiNode apiNode = completeUpload(uploadId, mRequest.getName(),
                 mRequest.getResolutionStrategy());
 
+        verifyHash(apiNode);
+
         Node node = NodeMapper.fromApiNode(apiNode);
 
         notifyFinished(mId, node);
@@ -208,15 +262,26 @@ public class FileUpload extends Thread {
     private void uploadFile(String uploadId, String fileName, InputStream is, long length)
             throws DracoonFileIOException, DracoonNetIOException, DracoonApiException,
             InterruptedException {
-        byte[] buffer = new byte[JUNK_SIZE];
+        int chunkSize = getChunkSize();
         long offset = 0;
         int count;
 
         try {
-            while ((count = is.read(buffer)) != -1) {
-                uploadFileChunk(uploadId, fileName, buffer, offset, count, length);
+            while (true) {
+                byte[] buffer = mBufferPool.acquire(chunkSize);
+                try {
+                    count = readChunk(is, buffer, chunkSize);
+                    if (count == -1) {
+                        break;
+                    }
+                    updateHash(buffer, 0, count);
+                    uploadFileChunk(uploadId, fileName, buffer, offset, count, length);
+                } finally {
+                    mBufferPool.release(buffer);
+                }
                 offset = offset + count;
             }
+            finishHash();
         } catch (IOException e) {
             if (isInterrupted()) {
                 throw new InterruptedException();
@@ -227,6 +292,29 @@ public class FileUpload extends Thread {
         }
     }
 
+    // Small files do not need a buffer of the full chunk size. (If the length is unknown or
+    // wrong, the content is still uploaded completely; only in smaller chunks.)
+    protected int getChunkSize() {
+        if (mSrcLength < 0L || mSrcLength >= JUNK_SIZE) {
+            return JUNK_SIZE;
+        }
+        return (int) Math.max(mSrcLength, 1L);
+    }
+
+    // Streams (e.g. pipes) can return less bytes than requested. The buffer is filled up to the
+    // chunk size, so that the content is not sent in many small chunks. (Pooled buffers can be
+    // larger than the chunk size.)
+    protected static int readChunk(InputStream is, byte[] buffer, int chunkSize)
+            throws IOException {
+        int offset = 0;
+        int count;
+        while (offset < chunkSize &&
+                (count = is.read(buffer, offset, chunkSize - offset)) != -1) {
+            offset = offset + count;
+        }
+        return offset > 0 ? offset : -1;
+    }
+
     protected void uploadFileChunk(String uploadId, String fileName, byte[] data, long offset,
             int count, long length) throws DracoonNetIOException, DracoonApiException,
             InterruptedException {
@@ -236,12 +324,12 @@ public class FileUpload extends Thread {
 
         String auth = mClient.buildAuthString();
 
-        FileRequestBody requestBody = new FileRequestBody(data, count);
+        FileRequestBody requestBody = new FileRequestBody(data, count, mBandwidthLimiter,
+                mClient.getUploadBandwidthLimiter());
         requestBody.setCallback(send -> {
-            if (mProgressUpdateTime + PROGRESS_UPDATE_INTERVAL < System.currentTimeMillis()
-                    && !isInterrupted()) {
+            updateStatistics(offset + send);
+            if (!isInterrupted()) {
                 notifyRunning(mId, offset + send, length);
-                mProgressUpdateTime = System.currentTimeMillis();
             }
         });
         MultipartBody.Part body = MultipartBody.Part.createFormData("file", fileName, requestBody);
@@ -249,7 +337,15 @@ public class FileUpload extends Thread {
         String contentRange = "bytes " + offset + "-" + (offset + count) + "/*";
 
         Call<Void> call = mRestService.uploadFile(auth, uploadId, contentRange, body);
-        Response<Void> response = mHttpHelper.executeRequest(call, this);
+        Response<Void> response;
+        Object event = JfrEvents.beginTransferChunk();
+        RequestContext.setUpload(mId, uploadId, offset);
+        try {
+            response = mHttpHelper.executeRequest(call, this);
+        } finally {
+            RequestContext.clear();
+            JfrEvents.commitTransferChunk(event, mId, JfrEvents.DIRECTION_UPLOAD, offset, count);
+        }
 
         if (!response.isSuccessful()) {
             DracoonApiCode errorCode = mErrorParser.parseFileUploadError(response);
@@ -258,6 +354,8 @@ public class FileUpload extends Thread {
             mLog.d(LOG_TAG, errorText);
             throw new DracoonApiException(errorCode);
         }
+
+        mMetrics.recordBytesSent(count);
     }
 
     private ApiNode completeUpload(String uploadId, String fileName,
@@ -283,26 +381,115 @@ public class FileUpload extends Thread {
         return response.body();
     }
 
+    // --- Concurrent request helper methods ---
+
+    protected <T> ConcurrentTask<T> startConcurrentRequest(String name, Callable<T> callable) {
+        return ConcurrentTask.start(mClient.getTaskExecutor(), "upload-" + mId + "-" + name,
+                callable);
+    }
+
+    // --- Statistics helper methods ---
+
+    private void startStatistics() {
+        TransferStatistics statistics = mClient.getTransferStatistics();
+        if (statistics != null) {
+            mStatistics = statistics.startTransfer(mId, TransferStatistics.Direction.UPLOAD,
+                    mSrcLength);
+        }
+    }
+
+    private void updateStatistics(long bytesTransferred) {
+        if (mStatistics != null) {
+            mStatistics.setBytesTransferred(bytesTransferred);
+        }
+    }
+
+    private void finishStatistics(boolean isSuccessful) {
+        if (mStatistics != null) {
+            mClient.getTransferStatistics().finishTransfer(mStatistics, isSuccessful);
+        }
+    }
+
+    // --- Hash helper methods ---
+
+    protected void updateHash(byte[] data, int offset, int count) {
+        if (mHasher != null) {
+            mHasher.update(data, offset, count);
+        }
+    }
+
+    protected void finishHash() {
+        if (mHasher == null) {
+            return;
+        }
+
+        String hash = mHasher.finish();
+
+        TransferHashListener listener = mClient.getTransferHashListener();
+        if (listener != null) {
+            listener.onHashComputed(mId, mHasher.getAlgorithm(), hash);
+        }
+    }
+
+    // The server only reports the hash after the upload was completed. Therefore, the node
+    // already exists if the hashes do not match. A new node is deleted again. An overwritten file
+    // is kept, because deleting it would not restore the previous version.
+    protected void verifyHash(ApiNode apiNode) throws DracoonNetIntegrityException {
+        if (mHasher == null || mHasher.matches(apiNode.hash)) {
+            return;
+        }
+
+        boolean isDeleted = mRequest.getResolutionStrategy() != ResolutionStrategy.OVERWRITE &&
+                deleteNode(apiNode.id);
+        String errorText = String.format("Hash of upload '%s' does not match hash of " +
+                "server! Node '%d' was %s.", mId, apiNode.id, isDeleted ? "deleted" : "kept");
+        mLog.d(LOG_TAG, errorText);
+        throw new DracoonNetIntegrityException(errorText);
+    }
+
+    private boolean deleteNode(long nodeId) {
+        DeleteNodesRequest request = new DeleteNodesRequest.Builder(
+                Collections.singletonList(nodeId)).build();
+        try {
+            mClient.getNodesImpl().deleteNodes(request);
+            return true;
+        } catch (DracoonNetIOException | DracoonApiException e) {
+            mLog.w(LOG_TAG, String.format("Deletion of node '%d' of upload '%s' failed!",
+                    nodeId, mId), e);
+            return false;
+        }
+    }
+
     // --- Callback helper methods ---
 
     protected void notifyStarted(String id) {
-        mCallbacks.forEach(callback -> callback.onStarted(id));
+        mCallbackDispatcher.dispatch(callback -> callback.onStarted(id));
     }
 
     protected void notifyRunning(String id, long bytesSend, long bytesTotal) {
-        mCallbacks.forEach(callback -> callback.onRunning(id, bytesSend, bytesTotal));
+        mCallbackDispatcher.dispatchProgress(callback -> callback.onRunning(id, bytesSend,
+                bytesTotal));
     }
 
     protected void notifyFinished(String id, Node node) {
-        mCallbacks.forEach(callback -> callback.onFinished(id, node));
+        mCallbackDispatcher.dispatch(callback -> callback.onFinished(id, node));
     }
 
     protected void notifyCanceled(String id) {
-        mCallbacks.forEach(callback -> callback.onCanceled(id));
+        mCallbackDispatcher.dispatch(callback -> callback.onCanceled(id));
     }
 
     protected void notifyFailed(String id, DracoonException e) {
-        mCallbacks.forEach(callback -> callback.onFailed(id, e));
+        mCallbackDispatcher.dispatch(callback -> callback.onFailed(id, e));
+    }
+
+    // Synchronous transfers return after their callbacks were called
+    private void awaitCallbacks() {
+        try {
+            mCallbackDispatcher.awaitDelivery();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
 }
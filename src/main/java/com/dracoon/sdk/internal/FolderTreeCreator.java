@@ -0,0 +1,204 @@
+package com.dracoon.sdk.internal;
+
+import com.dracoon.sdk.Log;
+import com.dracoon.sdk.error.DracoonApiCode;
+import com.dracoon.sdk.error.DracoonApiException;
+import com.dracoon.sdk.error.DracoonException;
+import com.dracoon.sdk.error.DracoonNetIOException;
+import com.dracoon.sdk.error.DracoonNetIOInterruptedException;
+import com.dracoon.sdk.internal.mapper.NodeMapper;
+import com.dracoon.sdk.internal.model.ApiNode;
+import com.dracoon.sdk.model.CreateFolderRequest;
+import com.dracoon.sdk.model.Node;
+import com.dracoon.sdk.model.NodeType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+class FolderTreeCreator {
+
+    private static final String LOG_TAG = FolderTreeCreator.class.getSimpleName();
+
+    private static final String CONTAINER_FILTER = "type:eq:" + NodeType.ROOM.getValue() + ":" +
+            NodeType.FOLDER.getValue();
+    private static final String PATH_SEPARATOR = "/";
+
+    private final DracoonClientImpl mClient;
+    private final DracoonNodesImpl mNodes;
+    private final Log mLog;
+    private final int mParallelism;
+
+    // Child nodes of the tree: parent node ID -> normalized name -> node
+    private final Map<Long, Map<String, ApiNode>> mChildNodes = new HashMap<>();
+
+    // Resolved nodes: relative path -> node
+    private final Map<String, Long> mResolvedNodeIds = new ConcurrentHashMap<>();
+    private final Map<String, Node> mResolvedNodes = new ConcurrentHashMap<>();
+
+    FolderTreeCreator(DracoonClientImpl client) {
+        mClient = client;
+        mNodes = client.getNodesImpl();
+        mLog = client.getLog();
+        mParallelism = client.getParallelism();
+    }
+
+    Map<String, Node> createFolders(long parentNodeId, List<String> paths)
+            throws DracoonNetIOException, DracoonApiException {
+        // Index existing tree with a single listing
+        List<ApiNode> treeNodes = mNodes.getAllNodesInternally(parentNodeId, -1,
+                CONTAINER_FILTER);
+        return createFolders(parentNodeId, paths, treeNodes);
+    }
+
+    Map<String, Node> createFolders(long parentNodeId, List<String> paths,
+            List<ApiNode> treeNodes) throws DracoonNetIOException, DracoonApiException {
+        for (ApiNode apiNode : treeNodes) {
+            if (NodeType.FILE.getValue().equals(apiNode.type)) {
+                continue;
+            }
+            mChildNodes.computeIfAbsent(apiNode.parentId, id -> new HashMap<>())
+                    .put(normalizeName(apiNode.name), apiNode);
+        }
+
+        // Resolve existing folders and collect missing folders per tree level
+        mResolvedNodeIds.put("", parentNodeId);
+        List<Set<String>> missingLevels = new ArrayList<>();
+        for (String path : paths) {
+            resolvePath(splitPath(path), missingLevels);
+        }
+
+        // Create missing folders level by level; siblings are created concurrently
+        for (Set<String> missingPaths : missingLevels) {
+            createLevel(missingPaths);
+        }
+
+        Map<String, Node> result = new LinkedHashMap<>();
+        for (String path : paths) {
+            result.put(path, mResolvedNodes.get(joinPath(splitPath(path))));
+        }
+        return result;
+    }
+
+    // --- Path resolution methods ---
+
+    private void resolvePath(List<String> names, List<Set<String>> missingLevels) {
+        String path = "";
+        Long parentNodeId = mResolvedNodeIds.get(path);
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i);
+            path = path.isEmpty() ? name : path + PATH_SEPARATOR + name;
+
+            ApiNode apiNode = null;
+            if (parentNodeId != null) {
+                Map<String, ApiNode> childNodes = mChildNodes.get(parentNodeId);
+                apiNode = childNodes != null ? childNodes.get(normalizeName(name)) : null;
+            }
+
+            if (apiNode != null) {
+                parentNodeId = apiNode.id;
+                if (!mResolvedNodeIds.containsKey(path)) {
+                    mResolvedNodeIds.put(path, apiNode.id);
+                    mResolvedNodes.put(path, NodeMapper.fromApiNode(apiNode));
+                }
+            } else {
+                parentNodeId = null;
+                while (missingLevels.size() <= i) {
+                    missingLevels.add(new LinkedHashSet<>());
+                }
+                missingLevels.get(i).add(path);
+            }
+        }
+    }
+
+    private static List<String> splitPath(String path) {
+        List<String> names = new ArrayList<>();
+        for (String name : path.split(PATH_SEPARATOR)) {
+            if (!name.isEmpty()) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    // Node names are case-insensitive.
+    private static String normalizeName(String name) {
+        return name != null ? name.toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static String joinPath(List<String> names) {
+        return String.join(PATH_SEPARATOR, names);
+    }
+
+    // --- Folder creation methods ---
+
+    private void createLevel(Set<String> paths) throws DracoonNetIOException,
+            DracoonApiException {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (String path : paths) {
+            tasks.add(() -> {
+                createFolder(path);
+                return null;
+            });
+        }
+
+        try (TaskGroup group = new TaskGroup(mClient, "folders", mParallelism)) {
+            group.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            String errorText = "Folder creation interrupted.";
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonNetIOInterruptedException(errorText, e);
+        } catch (DracoonNetIOException | DracoonApiException e) {
+            throw e;
+        } catch (DracoonException e) {
+            // Cannot happen: Folder creation only throws network and API errors
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void createFolder(String path) throws DracoonNetIOException, DracoonApiException {
+        int separatorIndex = path.lastIndexOf(PATH_SEPARATOR);
+        String parentPath = separatorIndex > -1 ? path.substring(0, separatorIndex) : "";
+        String name = path.substring(separatorIndex + 1);
+        long parentNodeId = mResolvedNodeIds.get(parentPath);
+
+        Node node;
+        try {
+            CreateFolderRequest request = new CreateFolderRequest.Builder(parentNodeId, name)
+                    .build();
+            node = mNodes.createFolderInternally(request);
+        } catch (DracoonApiException e) {
+            // The folder might have been created in the meantime.
+            if (e.getCode() != DracoonApiCode.VALIDATION_FOLDER_ALREADY_EXISTS &&
+                    e.getCode() != DracoonApiCode.VALIDATION_NODE_ALREADY_EXISTS) {
+                throw e;
+            }
+            node = findChildNode(parentNodeId, name);
+            if (node == null) {
+                throw e;
+            }
+        }
+
+        mResolvedNodeIds.put(path, node.getId());
+        mResolvedNodes.put(path, node);
+    }
+
+    private Node findChildNode(long parentNodeId, String name) throws DracoonNetIOException,
+            DracoonApiException {
+        for (ApiNode apiNode : mNodes.getAllNodesInternally(parentNodeId, 0, CONTAINER_FILTER)) {
+            if (name.equalsIgnoreCase(apiNode.name)) {
+                return NodeMapper.fromApiNode(apiNode);
+            }
+        }
+        return null;
+    }
+
+}
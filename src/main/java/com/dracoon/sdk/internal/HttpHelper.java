@@ -1,22 +1,108 @@
 package com.dracoon.sdk.internal;
 
+import com.dracoon.sdk.ConcurrencyLimiter;
 import com.dracoon.sdk.Log;
+import com.dracoon.sdk.Metrics;
+import com.dracoon.sdk.RequestRateLimiter;
 import com.dracoon.sdk.error.DracoonNetIOException;
 import com.dracoon.sdk.error.DracoonNetIOInterruptedException;
 import com.dracoon.sdk.error.DracoonNetInsecureException;
+import com.dracoon.sdk.internal.jfr.JfrEvents;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
 import retrofit2.Call;
 import retrofit2.Response;
 
 import javax.net.ssl.SSLHandshakeException;
 import java.io.InterruptedIOException;
 import java.io.IOException;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class HttpHelper {
 
     private static final String LOG_TAG = HttpHelper.class.getSimpleName();
 
+    private static final String ENDPOINT_UNKNOWN = "unknown";
+    private static final String ENDPOINT_DOWNLOAD = "downloadFile";
+
+    // The body of a HTTP call is read by the caller after the call returned. This body holds the
+    // concurrency slot of the call until it was read completely or closed. So, the slot covers the
+    // complete exchange (like for REST calls, whose body is read by Retrofit).
+    private class SlotHoldingResponseBody extends ResponseBody {
+
+        private final ResponseBody mBody;
+        private final BufferedSource mSource;
+
+        private final String mEndpoint;
+        private final long mStartTime;
+        private final boolean mIsOverloaded;
+        private final AtomicBoolean mIsReleased = new AtomicBoolean();
+
+        SlotHoldingResponseBody(ResponseBody body, String endpoint, long startTime,
+                boolean isOverloaded) {
+            mBody = body;
+            mEndpoint = endpoint;
+            mStartTime = startTime;
+            mIsOverloaded = isOverloaded;
+            mSource = Okio.buffer(new ForwardingSource(body.source()) {
+                @Override
+                public long read(Buffer sink, long byteCount) throws IOException {
+                    long count;
+                    try {
+                        count = super.read(sink, byteCount);
+                    } catch (IOException e) {
+                        release(true);
+                        throw e;
+                    }
+                    if (count == -1L) {
+                        release(false);
+                    }
+                    return count;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    release(false);
+                    super.close();
+                }
+            });
+        }
+
+        @Override
+        public MediaType contentType() {
+            return mBody.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return mBody.contentLength();
+        }
+
+        @Override
+        public BufferedSource source() {
+            return mSource;
+        }
+
+        private void release(boolean isFailed) {
+            if (mIsReleased.compareAndSet(false, true)) {
+                releaseConcurrencySlot(mEndpoint, System.nanoTime() - mStartTime,
+                        mIsOverloaded || isFailed);
+            }
+        }
+
+    }
+
     private Log mLog = new NullLog();
+    private Metrics mMetrics = new NullMetrics();
 
+    private RequestRateLimiter mRequestRateLimiter;
+    private ConcurrencyLimiter mConcurrencyLimiter;
     private boolean mIsRetryEnabled;
 
     public HttpHelper() {
@@ -27,6 +113,18 @@ public class HttpHelper {
         mLog = log != null ? log : new NullLog();
     }
 
+    public void setMetrics(Metrics metrics) {
+        mMetrics = metrics != null ? metrics : new NullMetrics();
+    }
+
+    public void setRequestRateLimiter(RequestRateLimiter requestRateLimiter) {
+        mRequestRateLimiter = requestRateLimiter;
+    }
+
+    public void setConcurrencyLimiter(ConcurrencyLimiter concurrencyLimiter) {
+        mConcurrencyLimiter = concurrencyLimiter;
+    }
+
     public void setRetryEnabled(boolean isRetryEnabled) {
         mIsRetryEnabled = isRetryEnabled;
     }
@@ -36,7 +134,21 @@ public class HttpHelper {
     @SuppressWarnings("unchecked")
     public <T> Response<T> executeRequest(Call<T> call) throws DracoonNetIOException {
         try {
-            return (Response<T>) executeRequestInternally(call);
+            return (Response<T>) executeRequestInternally(call, true);
+        } catch (InterruptedException e) {
+            String errorText = "Server communication interrupted.";
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonNetIOInterruptedException(errorText, e);
+        }
+    }
+
+    // For requests which must not be executed twice (e.g. copying of nodes). The request is only
+    // retried if it could not be sent at all.
+    @SuppressWarnings("unchecked")
+    public <T> Response<T> executeNonIdempotentRequest(Call<T> call)
+            throws DracoonNetIOException {
+        try {
+            return (Response<T>) executeRequestInternally(call, false);
         } catch (InterruptedException e) {
             String errorText = "Server communication interrupted.";
             mLog.d(LOG_TAG, errorText);
@@ -48,7 +160,7 @@ public class HttpHelper {
     public <T> Response<T> executeRequest(Call<T> call, Thread thread)
             throws DracoonNetIOException, InterruptedException {
         try {
-            return (Response<T>) executeRequestInternally(call);
+            return (Response<T>) executeRequestInternally(call, true);
         } catch (DracoonNetIOException e) {
             if (thread.isInterrupted()) {
                 throw new InterruptedException();
@@ -62,7 +174,7 @@ public class HttpHelper {
     @SuppressWarnings("unchecked")
     public okhttp3.Response executeRequest(okhttp3.Call call) throws DracoonNetIOException {
         try {
-            return (okhttp3.Response) executeRequestInternally(call);
+            return (okhttp3.Response) executeRequestInternally(call, true);
         } catch (InterruptedException e) {
             String errorText = "Server communication interrupted.";
             mLog.d(LOG_TAG, errorText);
@@ -74,7 +186,7 @@ public class HttpHelper {
     public okhttp3.Response executeRequest(okhttp3.Call call, Thread thread)
             throws DracoonNetIOException, InterruptedException {
         try {
-            return (okhttp3.Response) executeRequestInternally(call);
+            return (okhttp3.Response) executeRequestInternally(call, true);
         } catch (DracoonNetIOException e) {
             if (thread.isInterrupted()) {
                 throw new InterruptedException();
@@ -85,46 +197,123 @@ public class HttpHelper {
 
     // --- Helper methods ---
 
-    private Object executeRequestInternally(Object call) throws DracoonNetIOException,
-            InterruptedException {
+    private Object executeRequestInternally(Object call, boolean isIdempotent)
+            throws DracoonNetIOException, InterruptedException {
         int retryCnt = 0;
+        String endpoint = getEndpointInternally(call);
 
-        while (true) {
-            Object response = null;
-            Exception exception = null;
-
-            try {
-                response = executeCallInternally(call);
-            } catch (SSLHandshakeException e) {
-                String errorText = "Server SSL handshake failed!";
-                mLog.e(LOG_TAG, errorText, e);
-                throw new DracoonNetInsecureException(errorText, e);
-            } catch (IOException e) {
-                if (e.getClass().equals(InterruptedIOException.class)) {
-                    throw new InterruptedException();
+        int statusCode = Metrics.STATUS_CODE_NONE;
+        Object event = JfrEvents.beginRequest();
+
+        try {
+            while (true) {
+                Object response = null;
+                Exception exception = null;
+
+                acquireRequestPermit();
+                acquireConcurrencySlot();
+
+                long startTime = System.nanoTime();
+                Boolean isOverloaded = null;
+                boolean isSlotHeld = false;
+                try {
+                    response = executeCallInternally(call);
+                    statusCode = getStatusCodeInternally(response);
+                    isOverloaded = isOverloadStatusCode(statusCode);
+                    mMetrics.recordRequest(endpoint, statusCode, System.nanoTime() - startTime);
+                    if (mConcurrencyLimiter != null && response instanceof okhttp3.Response &&
+                            ((okhttp3.Response) response).body() != null) {
+                        response = holdConcurrencySlot((okhttp3.Response) response, endpoint,
+                                startTime, isOverloaded);
+                        isSlotHeld = true;
+                    }
+                } catch (SSLHandshakeException e) {
+                    String errorText = "Server SSL handshake failed!";
+                    mLog.e(LOG_TAG, errorText, e);
+                    throw new DracoonNetInsecureException(errorText, e);
+                } catch (IOException e) {
+                    mMetrics.recordRequest(endpoint, Metrics.STATUS_CODE_NONE,
+                            System.nanoTime() - startTime);
+                    if (e.getClass().equals(InterruptedIOException.class)) {
+                        throw new InterruptedException();
+                    }
+                    isOverloaded = true;
+                    exception = e;
+                } finally {
+                    if (!isSlotHeld) {
+                        releaseConcurrencySlot(endpoint, System.nanoTime() - startTime,
+                                isOverloaded);
+                    }
                 }
-                exception = e;
-            }
 
-            if (exception != null) {
-                String errorText = "Server communication failed!";
-                mLog.d(LOG_TAG, errorText);
-
-                if (mIsRetryEnabled && retryCnt < 3) {
-                    mLog.d(LOG_TAG, String.format("Next retry in %d seconds.", retryCnt));
-                    Thread.sleep(retryCnt * 1000);
-                    call = cloneCallInternally(call);
-                    retryCnt++;
-                    continue;
-                } else {
-                    throw new DracoonNetIOException(errorText, exception);
+                if (exception != null) {
+                    String errorText = "Server communication failed!";
+                    mLog.d(LOG_TAG, errorText);
+
+                    if (mIsRetryEnabled && retryCnt < 3 && (isIdempotent ||
+                            isConnectFailure(exception))) {
+                        mLog.d(LOG_TAG, String.format("Next retry in %d seconds.", retryCnt));
+                        Thread.sleep(retryCnt * 1000);
+                        call = cloneCallInternally(call);
+                        retryCnt++;
+                        mMetrics.recordRetry(endpoint);
+                        continue;
+                    } else {
+                        throw new DracoonNetIOException(errorText, exception);
+                    }
                 }
+
+                return  response;
             }
+        } finally {
+            JfrEvents.commitRequest(event, endpoint, statusCode, retryCnt);
+        }
+    }
 
-            return  response;
+    private void acquireRequestPermit() throws InterruptedException {
+        if (mRequestRateLimiter == null) {
+            return;
+        }
+
+        long waitTime = mRequestRateLimiter.acquire();
+        if (waitTime > 0L) {
+            mMetrics.recordRateLimitWait(waitTime);
+        }
+    }
+
+    private void acquireConcurrencySlot() throws InterruptedException {
+        if (mConcurrencyLimiter != null) {
+            mConcurrencyLimiter.acquire();
         }
     }
 
+    private okhttp3.Response holdConcurrencySlot(okhttp3.Response response, String endpoint,
+            long startTime, boolean isOverloaded) {
+        ResponseBody body = new SlotHoldingResponseBody(response.body(), endpoint, startTime,
+                isOverloaded);
+        return response.newBuilder().body(body).build();
+    }
+
+    private void releaseConcurrencySlot(String endpoint, long latency, Boolean isOverloaded) {
+        if (mConcurrencyLimiter == null) {
+            return;
+        }
+
+        if (isOverloaded != null) {
+            mConcurrencyLimiter.release(endpoint, latency, isOverloaded);
+        } else {
+            mConcurrencyLimiter.cancel();
+        }
+    }
+
+    private static boolean isConnectFailure(Exception e) {
+        return e instanceof ConnectException || e instanceof UnknownHostException;
+    }
+
+    private static boolean isOverloadStatusCode(int statusCode) {
+        return statusCode == 429 || statusCode == 502 || statusCode == 503 || statusCode == 504;
+    }
+
     private Object executeCallInternally(Object call) throws IOException {
         if (call instanceof Call) {
             return ((Call) call).execute();
@@ -135,6 +324,26 @@ public class HttpHelper {
         }
     }
 
+    private String getEndpointInternally(Object call) {
+        if (call instanceof EndpointCall) {
+            return ((EndpointCall) call).getEndpoint();
+        } else if (call instanceof okhttp3.Call) {
+            return ENDPOINT_DOWNLOAD;
+        } else {
+            return ENDPOINT_UNKNOWN;
+        }
+    }
+
+    private int getStatusCodeInternally(Object response) {
+        if (response instanceof Response) {
+            return ((Response) response).code();
+        } else if (response instanceof okhttp3.Response) {
+            return ((okhttp3.Response) response).code();
+        } else {
+            return Metrics.STATUS_CODE_NONE;
+        }
+    }
+
     private Object cloneCallInternally(Object call) {
         if (call instanceof Call) {
             return ((Call) call).clone();
@@ -0,0 +1,115 @@
+package com.dracoon.sdk.internal;
+
+import com.dracoon.sdk.error.DracoonException;
+import com.dracoon.sdk.model.FileDownloadCallback;
+import com.dracoon.sdk.model.FileUploadCallback;
+import com.dracoon.sdk.model.Node;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Aggregates the progress of the file transfers of a job (e.g. a directory upload) to the
+// progress of the job. The progress of a file is reported by a callback, which is added to its
+// transfer.
+// Only the files which are still running are tracked, so that jobs with many files do not hold
+// all of them in memory. (The bytes of failed and canceled files stay counted.)
+class JobProgress {
+
+    interface Listener {
+        void onProgress(long bytesTransferred, long bytesTotal);
+    }
+
+    private final Listener mListener;
+
+    private long mBytesTotal;
+    private final Map<String, Long> mFileBytes = new HashMap<>();
+    private long mBytesTransferred;
+
+    JobProgress(Listener listener) {
+        mListener = listener;
+    }
+
+    synchronized void addBytesTotal(long bytes) {
+        mBytesTotal = mBytesTotal + bytes;
+    }
+
+    FileUploadCallback createUploadCallback(long length) {
+        return new FileUploadCallback() {
+            @Override
+            public void onStarted(String id) {
+
+            }
+
+            @Override
+            public void onRunning(String id, long bytesSend, long bytesTotal) {
+                updateFile(id, bytesSend);
+            }
+
+            @Override
+            public void onFinished(String id, Node node) {
+                finishFile(id, length);
+            }
+
+            @Override
+            public void onCanceled(String id) {
+                removeFile(id);
+            }
+
+            @Override
+            public void onFailed(String id, DracoonException e) {
+                removeFile(id);
+            }
+        };
+    }
+
+    // The flag is set if the download gets canceled
+    FileDownloadCallback createDownloadCallback(long length, AtomicBoolean isCanceled) {
+        return new FileDownloadCallback() {
+            @Override
+            public void onStarted(String id) {
+
+            }
+
+            @Override
+            public void onRunning(String id, long bytesRead, long bytesTotal) {
+                updateFile(id, bytesRead);
+            }
+
+            @Override
+            public void onFinished(String id) {
+                finishFile(id, length);
+            }
+
+            @Override
+            public void onCanceled(String id) {
+                removeFile(id);
+                isCanceled.set(true);
+            }
+
+            @Override
+            public void onFailed(String id, DracoonException e) {
+                removeFile(id);
+            }
+        };
+    }
+
+    private synchronized void updateFile(String fileId, long bytesTransferred) {
+        Long previousBytesTransferred = mFileBytes.put(fileId, bytesTransferred);
+        mBytesTransferred = mBytesTransferred + bytesTransferred -
+                (previousBytesTransferred != null ? previousBytesTransferred : 0L);
+        if (mListener != null) {
+            mListener.onProgress(mBytesTransferred, mBytesTotal);
+        }
+    }
+
+    private synchronized void finishFile(String fileId, long bytesTransferred) {
+        updateFile(fileId, bytesTransferred);
+        mFileBytes.remove(fileId);
+    }
+
+    private synchronized void removeFile(String fileId) {
+        mFileBytes.remove(fileId);
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.dracoon.sdk.internal;
+
+import com.dracoon.sdk.Metrics;
+
+public class NullMetrics implements Metrics {
+
+    @Override
+    public void recordRequest(String endpoint, int statusCode, long duration) {}
+
+    @Override
+    public void recordRetry(String endpoint) {}
+
+    @Override
+    public void recordRateLimitWait(long duration) {}
+
+    @Override
+    public void recordBytesSent(long count) {}
+
+    @Override
+    public void recordBytesReceived(long count) {}
+
+    @Override
+    public void recordCryptoTime(long duration) {}
+
+    @Override
+    public void recordTokenRefresh() {}
+
+}
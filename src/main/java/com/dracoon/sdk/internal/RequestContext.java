@@ -0,0 +1,53 @@
+package com.dracoon.sdk.internal;
+
+public class RequestContext {
+
+    private static final ThreadLocal<RequestContext> sCurrent = new ThreadLocal<>();
+
+    private final String mTransferId;
+    private final Long mNodeId;
+    private final String mUploadId;
+    private final Long mChunkOffset;
+
+    private RequestContext(String transferId, Long nodeId, String uploadId, Long chunkOffset) {
+        mTransferId = transferId;
+        mNodeId = nodeId;
+        mUploadId = uploadId;
+        mChunkOffset = chunkOffset;
+    }
+
+    public String getTransferId() {
+        return mTransferId;
+    }
+
+    public Long getNodeId() {
+        return mNodeId;
+    }
+
+    public String getUploadId() {
+        return mUploadId;
+    }
+
+    public Long getChunkOffset() {
+        return mChunkOffset;
+    }
+
+    // --- Thread binding methods ---
+
+    public static void setUpload(String transferId, String uploadId, long chunkOffset) {
+        sCurrent.set(new RequestContext(transferId, null, uploadId, chunkOffset));
+    }
+
+    public static void setDownload(String transferId, long nodeId, long chunkOffset) {
+        sCurrent.set(new RequestContext(transferId, nodeId, null, chunkOffset));
+    }
+
+    public static RequestContext get() {
+        return sCurrent.get();
+    }
+
+    public static void clear() {
+        sCurrent.remove();
+    }
+
+}
@@ -0,0 +1,217 @@
+package com.dracoon.sdk.internal;
+
+import com.dracoon.sdk.Log;
+import com.dracoon.sdk.model.RequestTimings;
+import com.dracoon.sdk.model.RequestTimingsListener;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+class RequestTimingsEventListener extends EventListener {
+
+    private static final String LOG_TAG = RequestTimingsEventListener.class.getSimpleName();
+
+    static class Factory implements EventListener.Factory {
+
+        private final Log mLog;
+        private final RequestTimingsListener mListener;
+
+        Factory(Log log, RequestTimingsListener listener) {
+            mLog = log;
+            mListener = listener;
+        }
+
+        @Override
+        public EventListener create(Call call) {
+            // The context is bound to the thread which creates the call
+            return new RequestTimingsEventListener(mLog, mListener, RequestContext.get());
+        }
+
+    }
+
+    private final Log mLog;
+    private final RequestTimingsListener mListener;
+    private final RequestContext mContext;
+
+    private long mCallStartTime;
+    private long mDnsStartTime;
+    private long mDnsDuration;
+    private long mConnectStartTime;
+    private long mConnectDuration;
+    private long mTlsStartTime;
+    private long mTlsDuration;
+    private long mRequestStartTime;
+    private long mRequestEndTime;
+    private long mResponseStartTime;
+    private long mResponseEndTime;
+    private boolean mIsConnectionReused = true;
+
+    private RequestTimingsEventListener(Log log, RequestTimingsListener listener,
+            RequestContext context) {
+        mLog = log;
+        mListener = listener;
+        mContext = context;
+    }
+
+    @Override
+    public void callStart(Call call) {
+        mCallStartTime = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        mDnsStartTime = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        mDnsDuration += System.nanoTime() - mDnsStartTime;
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        mConnectStartTime = System.nanoTime();
+        mIsConnectionReused = false;
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        mTlsStartTime = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        mTlsDuration += System.nanoTime() - mTlsStartTime;
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy,
+            Protocol protocol) {
+        mConnectDuration += System.nanoTime() - mConnectStartTime;
+    }
+
+    @Override
+    public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy,
+            Protocol protocol, IOException ioe) {
+        mConnectDuration += System.nanoTime() - mConnectStartTime;
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        mRequestStartTime = System.nanoTime();
+    }
+
+    @Override
+    public void requestHeadersEnd(Call call, Request request) {
+        mRequestEndTime = System.nanoTime();
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+        mRequestEndTime = System.nanoTime();
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        mResponseStartTime = System.nanoTime();
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+        mResponseEndTime = System.nanoTime();
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        mResponseEndTime = System.nanoTime();
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        notifyFinished(call, false);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        notifyFinished(call, true);
+    }
+
+    private void notifyFinished(Call call, boolean isFailed) {
+        long callEndTime = System.nanoTime();
+
+        RequestTimings timings = new RequestTimings();
+        timings.setMethod(call.request().method());
+        // Transfer URLs can contain tokens and are therefore not passed on
+        if (mContext == null || mContext.getTransferId() == null) {
+            timings.setPath(call.request().url().encodedPath());
+        }
+        if (mContext != null) {
+            timings.setTransferId(mContext.getTransferId());
+            timings.setNodeId(mContext.getNodeId());
+            timings.setUploadId(mContext.getUploadId());
+            timings.setChunkOffset(mContext.getChunkOffset());
+        }
+        timings.setDnsDuration(mDnsDuration);
+        timings.setConnectDuration(mConnectDuration);
+        timings.setTlsDuration(mTlsDuration);
+        timings.setRequestDuration(duration(mRequestStartTime, mRequestEndTime));
+        timings.setServerDuration(duration(mRequestEndTime, mResponseStartTime));
+        timings.setResponseDuration(duration(mResponseStartTime, mResponseEndTime));
+        timings.setTotalDuration(duration(mCallStartTime, callEndTime));
+        timings.setIsConnectionReused(mIsConnectionReused);
+        timings.setIsFailed(isFailed);
+
+        if (!(mLog instanceof NullLog)) {
+            mLog.v(LOG_TAG, buildLogMessage(timings));
+        }
+
+        if (mListener != null) {
+            mListener.onRequestFinished(timings);
+        }
+    }
+
+    private static long duration(long startTime, long endTime) {
+        return startTime != 0L && endTime != 0L && endTime > startTime ? endTime - startTime : 0L;
+    }
+
+    private static String buildLogMessage(RequestTimings timings) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(timings.getMethod()).append(" ");
+        if (timings.getTransferId() == null) {
+            sb.append(timings.getPath());
+        } else {
+            sb.append("[transfer=").append(timings.getTransferId());
+            if (timings.getNodeId() != null) {
+                sb.append(", node=").append(timings.getNodeId());
+            }
+            if (timings.getUploadId() != null) {
+                sb.append(", upload=").append(timings.getUploadId());
+            }
+            sb.append(", offset=").append(timings.getChunkOffset()).append("]");
+        }
+        sb.append(String.format(": dns=%.1fms, connect=%.1fms, tls=%.1fms, request=%.1fms, " +
+                "server=%.1fms, response=%.1fms, total=%.1fms%s%s",
+                toMillis(timings.getDnsDuration()), toMillis(timings.getConnectDuration()),
+                toMillis(timings.getTlsDuration()), toMillis(timings.getRequestDuration()),
+                toMillis(timings.getServerDuration()), toMillis(timings.getResponseDuration()),
+                toMillis(timings.getTotalDuration()),
+                timings.isConnectionReused() ? " (reused connection)" : "",
+                timings.isFailed() ? " (failed)" : ""));
+        return sb.toString();
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1000000.0;
+    }
+
+}
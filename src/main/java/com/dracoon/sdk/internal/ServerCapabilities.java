@@ -0,0 +1,27 @@
+package com.dracoon.sdk.internal;
+
+public class ServerCapabilities {
+
+    private volatile String mServerVersion;
+    private volatile String mApiVersion;
+    private volatile boolean mIsApiVersionChecked;
+
+    public String getServerVersion() {
+        return mServerVersion;
+    }
+
+    public String getApiVersion() {
+        return mApiVersion;
+    }
+
+    public boolean isApiVersionChecked() {
+        return mIsApiVersionChecked;
+    }
+
+    void setApiVersionChecked(String serverVersion, String apiVersion) {
+        mServerVersion = serverVersion;
+        mApiVersion = apiVersion;
+        mIsApiVersionChecked = true;
+    }
+
+}
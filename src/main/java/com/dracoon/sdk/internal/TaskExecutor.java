@@ -0,0 +1,66 @@
+package com.dracoon.sdk.internal;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs the tasks of a client (e.g. concurrent steps of transfers, tasks of bulk operations and
+// prefetches of download streams) on a bounded set of threads.
+// Tasks are not queued: If no thread is free, the caller either runs the task itself (see
+// execute) or skips it (see tryExecute). So, tasks never wait behind other tasks, and tasks which
+// wait for other tasks can not exhaust the threads.
+class TaskExecutor {
+
+    private static final long THREAD_KEEP_ALIVE_TIME = 60L;
+
+    private final ThreadPoolExecutor mExecutor;
+
+    TaskExecutor(int maxThreads) {
+        AtomicInteger threadCnt = new AtomicInteger();
+        mExecutor = new ThreadPoolExecutor(0, maxThreads, THREAD_KEEP_ALIVE_TIME,
+                TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "dracoon-task-" +
+                            threadCnt.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // Runs the task on a free thread or, if no thread is free, in the calling thread
+    void execute(String name, Runnable task) {
+        if (!tryExecute(name, task)) {
+            task.run();
+        }
+    }
+
+    // Runs the task on a free thread. Returns false if no thread is free (or if the executor was
+    // shut down).
+    boolean tryExecute(String name, Runnable task) {
+        try {
+            mExecutor.execute(() -> runNamed(name, task));
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    // Running tasks are completed. Later tasks are run by the calling threads.
+    void shutdown() {
+        mExecutor.shutdown();
+    }
+
+    // Names the thread after the task while it runs (helps to analyze thread dumps)
+    private static void runNamed(String name, Runnable task) {
+        Thread thread = Thread.currentThread();
+        String threadName = thread.getName();
+        thread.setName("dracoon-" + name);
+        try {
+            task.run();
+        } finally {
+            thread.setName(threadName);
+        }
+    }
+
+}
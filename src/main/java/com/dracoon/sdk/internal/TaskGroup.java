@@ -0,0 +1,118 @@
+package com.dracoon.sdk.internal;
+
+import com.dracoon.sdk.error.DracoonException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Runs the tasks of a job (e.g. the file uploads of a directory upload) concurrently.
+// - At most the given number of tasks run at the same time. Further submissions wait until a
+//   task finished.
+// - The tasks run on the task threads of the client (see TaskExecutor), or in the submitting
+//   thread if no thread is free. So, concurrent jobs share the threads of the client.
+// - Only running tasks are referenced. So, jobs with many tasks can submit their tasks while
+//   they are being determined (e.g. while a tree is listed).
+// Closing the group cancels the tasks which are still running.
+class TaskGroup implements AutoCloseable {
+
+    private final TaskExecutor mExecutor;
+    private final String mName;
+    private final int mParallelism;
+
+    private final Semaphore mSlots;
+    private final Set<Future<?>> mRunningTasks = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger mTaskCnt = new AtomicInteger();
+    private final AtomicReference<Throwable> mError = new AtomicReference<>();
+
+    TaskGroup(DracoonClientImpl client, String name, int parallelism) {
+        mExecutor = client.getTaskExecutor();
+        mName = name;
+        mParallelism = Math.max(1, parallelism);
+        mSlots = new Semaphore(mParallelism);
+    }
+
+    <T> Future<T> submit(Callable<T> callable) throws InterruptedException {
+        mSlots.acquire();
+        FutureTask<T> task = new FutureTask<T>(callable) {
+            @Override
+            protected void setException(Throwable t) {
+                mError.compareAndSet(null, t);
+                super.setException(t);
+            }
+
+            @Override
+            protected void done() {
+                mRunningTasks.remove(this);
+                mSlots.release();
+            }
+        };
+        mRunningTasks.add(task);
+        mExecutor.execute(mName + "-" + mTaskCnt.incrementAndGet(), task);
+        return task;
+    }
+
+    // Runs the tasks and returns their results (in the order of the tasks). If a task failed,
+    // its error is rethrown. (The remaining tasks are canceled when the group is closed.)
+    <T> List<T> invokeAll(List<? extends Callable<T>> tasks) throws DracoonException,
+            InterruptedException {
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            futures.add(submit(task));
+        }
+
+        List<T> results = new ArrayList<>(futures.size());
+        for (Future<T> future : futures) {
+            results.add(getResult(future));
+        }
+        return results;
+    }
+
+    // Waits until all submitted tasks finished. If a task failed, the first error is rethrown.
+    void await() throws DracoonException, InterruptedException {
+        mSlots.acquire(mParallelism);
+        mSlots.release(mParallelism);
+
+        Throwable error = mError.get();
+        if (error != null) {
+            rethrow(error);
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Future<?> task : mRunningTasks) {
+            task.cancel(true);
+        }
+    }
+
+    // Returns the result of a task. If the task failed, its error is rethrown.
+    static <T> T getResult(Future<T> future) throws DracoonException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            rethrow(e.getCause());
+            return null;
+        }
+    }
+
+    private static void rethrow(Throwable error) throws DracoonException {
+        if (error instanceof DracoonException) {
+            throw (DracoonException) error;
+        } else if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        } else if (error instanceof Error) {
+            throw (Error) error;
+        }
+        throw new RuntimeException(error);
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.dracoon.sdk.internal;
+
+public class TokenBucket {
+
+    public static final long MIN_BANDWIDTH_BUCKET_SIZE = 64 * 1024;
+
+    private static final long NANOS_PER_SECOND = 1000000000L;
+
+    private final long mMinBucketSize;
+
+    private volatile long mRate;
+
+    private long mBucketSize;
+    private double mTokens;
+    private long mRefillTime = System.nanoTime();
+
+    public TokenBucket(long rate, long minBucketSize) {
+        mMinBucketSize = minBucketSize;
+        setRate(rate);
+    }
+
+    public long getRate() {
+        return mRate;
+    }
+
+    public synchronized void setRate(long rate) {
+        refill(System.nanoTime());
+        mRate = rate > 0L ? rate : 0L;
+        mBucketSize = Math.max(mRate / 10, mMinBucketSize);
+        mTokens = Math.min(mTokens, mBucketSize);
+    }
+
+    public long acquire(long count) throws InterruptedException {
+        if (mRate == 0L || count <= 0L) {
+            return 0L;
+        }
+
+        long waitTime;
+        synchronized (this) {
+            long rate = mRate;
+            if (rate == 0L) {
+                return 0L;
+            }
+
+            refill(System.nanoTime());
+
+            // Tokens are reserved immediately; a deficit is paid off by waiting. Concurrent
+            // callers therefore queue up behind each other and share the rate fairly.
+            mTokens = mTokens - count;
+            waitTime = mTokens < 0 ? (long) (-mTokens * NANOS_PER_SECOND / rate) : 0L;
+        }
+
+        if (waitTime > 0L) {
+            Thread.sleep(waitTime / 1000000L, (int) (waitTime % 1000000L));
+        }
+
+        return waitTime;
+    }
+
+    private void refill(long currentTime) {
+        long elapsedTime = currentTime - mRefillTime;
+        mRefillTime = currentTime;
+        if (mRate == 0L) {
+            mTokens = 0;
+            return;
+        }
+        mTokens = Math.min(mBucketSize, mTokens + (double) elapsedTime * mRate / NANOS_PER_SECOND);
+    }
+
+}
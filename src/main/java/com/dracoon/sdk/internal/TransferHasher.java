@@ -0,0 +1,47 @@
+package com.dracoon.sdk.internal;
+
+import com.dracoon.sdk.internal.util.HashUtils;
+import com.dracoon.sdk.model.HashAlgorithm;
+
+import java.security.MessageDigest;
+
+class TransferHasher {
+
+    private final HashAlgorithm mAlgorithm;
+    private final MessageDigest mDigest;
+
+    private String mHash;
+
+    TransferHasher(HashAlgorithm algorithm) {
+        mAlgorithm = algorithm;
+        mDigest = HashUtils.createDigest(algorithm.getValue());
+    }
+
+    HashAlgorithm getAlgorithm() {
+        return mAlgorithm;
+    }
+
+    void update(byte[] data, int offset, int count) {
+        mDigest.update(data, offset, count);
+    }
+
+    String finish() {
+        if (mHash == null) {
+            mHash = HashUtils.toHex(mDigest.digest());
+        }
+        return mHash;
+    }
+
+    String getHash() {
+        return mHash;
+    }
+
+    // The server only provides MD5 hashes. Other hashes can't be checked.
+    boolean matches(String serverHash) {
+        if (mHash == null || serverHash == null || mAlgorithm != HashAlgorithm.MD5) {
+            return true;
+        }
+        return mHash.equalsIgnoreCase(serverHash);
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.dracoon.sdk.internal.crypto;
+
+import com.dracoon.sdk.crypto.CryptoConstants;
+import com.dracoon.sdk.crypto.CryptoException;
+import com.dracoon.sdk.crypto.InvalidFileKeyException;
+import com.dracoon.sdk.crypto.model.PlainFileKey;
+
+import java.security.Provider;
+
+// Creates the ciphers which are used to encrypt and decrypt file contents.
+// - Without a provider, the implementation of the crypto SDK is used.
+// - With a provider, the JCE implementation of the provider is used. (E.g. the JCE
+//   implementation of the JVM, which uses the AES and carry-less multiplication instructions of
+//   the CPU.)
+public abstract class FileCipherFactory {
+
+    // Ciphers hold back incomplete blocks. So, the output of an update can exceed the passed
+    // data by less than one block.
+    public static final int MAX_UPDATE_OVERHEAD = 16;
+
+    public static FileCipherFactory create(Provider provider) {
+        if (provider == null) {
+            return new SdkFileCipherFactory();
+        }
+        return new JceFileCipherFactory(provider);
+    }
+
+    public abstract FileEncryptor createEncryptor(PlainFileKey plainFileKey)
+            throws CryptoException;
+
+    public abstract FileDecryptor createDecryptor(PlainFileKey plainFileKey)
+            throws CryptoException;
+
+    static void validatePlainFileKey(PlainFileKey plainFileKey) throws InvalidFileKeyException {
+        if (plainFileKey == null) {
+            throw new InvalidFileKeyException("File key cannot be null.");
+        }
+        if (!CryptoConstants.DEFAULT_VERSION.equals(plainFileKey.getVersion())) {
+            throw new InvalidFileKeyException("Unknown file key version.");
+        }
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.dracoon.sdk.internal.crypto;
+
+import com.dracoon.sdk.crypto.BadFileException;
+import com.dracoon.sdk.crypto.CryptoSystemException;
+
+// Decrypts the content of a file with AES-GCM. The content is passed in consecutive parts. The
+// plain parts can be shorter or longer than the passed parts.
+// (Like the crypto SDK, the decryptor returns plain data before the authentication tag was
+// verified. The data must therefore be discarded if the verification in doFinal fails.)
+public interface FileDecryptor {
+
+    // Writes the plain part to the start of the output array and returns its length. The output
+    // array can be the data array (i.e. the part is decrypted in place). It must have room for
+    // length + FileCipherFactory.MAX_UPDATE_OVERHEAD bytes.
+    int update(byte[] data, int offset, int length, byte[] output) throws CryptoSystemException;
+
+    byte[] doFinal(byte[] tag) throws BadFileException, CryptoSystemException;
+
+}
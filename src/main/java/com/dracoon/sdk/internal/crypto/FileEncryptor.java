@@ -0,0 +1,19 @@
+package com.dracoon.sdk.internal.crypto;
+
+import com.dracoon.sdk.crypto.CryptoSystemException;
+
+// Encrypts the content of a file with AES-GCM. The content is passed in consecutive parts. The
+// encrypted parts can be shorter or longer than the passed parts.
+public interface FileEncryptor {
+
+    // Writes the encrypted part to the start of the output array and returns its length. The
+    // output array can be the data array (i.e. the part is encrypted in place). It must have room
+    // for length + FileCipherFactory.MAX_UPDATE_OVERHEAD bytes.
+    int update(byte[] data, int offset, int length, byte[] output) throws CryptoSystemException;
+
+    byte[] doFinal() throws CryptoSystemException;
+
+    // Returns the authentication tag. (Only available after the encryption was finished.)
+    byte[] getTag();
+
+}
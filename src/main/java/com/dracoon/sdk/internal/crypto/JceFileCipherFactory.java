@@ -0,0 +1,269 @@
+package com.dracoon.sdk.internal.crypto;
+
+import com.dracoon.sdk.crypto.BadFileException;
+import com.dracoon.sdk.crypto.CryptoException;
+import com.dracoon.sdk.crypto.CryptoSystemException;
+import com.dracoon.sdk.crypto.CryptoUtils;
+import com.dracoon.sdk.crypto.InvalidFileKeyException;
+import com.dracoon.sdk.crypto.model.PlainFileKey;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.Provider;
+import java.util.Arrays;
+
+// Uses the AES-GCM implementation of a JCE provider.
+// JCE implementations of GCM decryption usually buffer the complete content until the tag was
+// verified, which is not possible for large files. Therefore, the content is decrypted with
+// AES-CTR (which produces the same key stream as GCM) and the tag is verified by computing the
+// tag of the decrypted content with a second GCM cipher. (GCM encryption is streamed.)
+class JceFileCipherFactory extends FileCipherFactory {
+
+    private static final String KEY_ALGORITHM = "AES";
+    private static final String GCM_TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final String CTR_TRANSFORMATION = "AES/CTR/NoPadding";
+
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH = 16;
+    private static final int BLOCK_LENGTH = 16;
+    private static final int SLICE_SIZE = 64 * 1024;
+
+    private static final byte[] EMPTY_BYTES = new byte[0];
+
+    // Runs the updates of a JCE cipher. JCE ciphers do not reliably process data in place if the
+    // output runs ahead of the input (which happens, because held back bytes of the previous
+    // update are output first). Therefore, data which is processed in place is moved behind the
+    // output and is then processed in slices via a small separate buffer.
+    private static class CipherUpdater {
+
+        private final Cipher mCipher;
+        private byte[] mSliceBuffer = EMPTY_BYTES;
+
+        CipherUpdater(Cipher cipher) {
+            mCipher = cipher;
+        }
+
+        int update(byte[] data, int offset, int length, byte[] output)
+                throws GeneralSecurityException {
+            if (data != output) {
+                return mCipher.update(data, offset, length, output);
+            }
+
+            int dataOffset = FileCipherFactory.MAX_UPDATE_OVERHEAD;
+            System.arraycopy(data, offset, data, dataOffset, length);
+
+            int outputCount = 0;
+            for (int i = 0; i < length; i = i + SLICE_SIZE) {
+                int count = Math.min(SLICE_SIZE, length - i);
+                int outputSize = mCipher.getOutputSize(count);
+                if (mSliceBuffer.length < outputSize) {
+                    mSliceBuffer = new byte[outputSize];
+                }
+                int sliceCount = mCipher.update(data, dataOffset + i, count, mSliceBuffer);
+                System.arraycopy(mSliceBuffer, 0, output, outputCount, sliceCount);
+                outputCount = outputCount + sliceCount;
+            }
+            return outputCount;
+        }
+
+    }
+
+    private static class JceFileEncryptor implements FileEncryptor {
+
+        private final Cipher mCipher;
+        private final CipherUpdater mUpdater;
+        private byte[] mTag;
+
+        JceFileEncryptor(Cipher cipher) {
+            mCipher = cipher;
+            mUpdater = new CipherUpdater(cipher);
+        }
+
+        @Override
+        public int update(byte[] data, int offset, int length, byte[] output)
+                throws CryptoSystemException {
+            try {
+                return mUpdater.update(data, offset, length, output);
+            } catch (GeneralSecurityException e) {
+                throw new CryptoSystemException("Could not encrypt data.", e);
+            }
+        }
+
+        @Override
+        public byte[] doFinal() throws CryptoSystemException {
+            byte[] bytes;
+            try {
+                bytes = mCipher.doFinal();
+            } catch (GeneralSecurityException e) {
+                throw new CryptoSystemException("Could not finish encryption.", e);
+            }
+            // The tag is appended to the encrypted content
+            int contentLength = bytes.length - TAG_LENGTH;
+            mTag = Arrays.copyOfRange(bytes, contentLength, bytes.length);
+            return Arrays.copyOf(bytes, contentLength);
+        }
+
+        @Override
+        public byte[] getTag() {
+            return mTag;
+        }
+
+    }
+
+    private static class JceFileDecryptor implements FileDecryptor {
+
+        private final Cipher mCipher;
+        private final CipherUpdater mUpdater;
+        private final Cipher mTagCipher;
+
+        // The content which is produced by the tag cipher is not needed. It is written to a
+        // small reused buffer.
+        private byte[] mTagCipherBuffer = EMPTY_BYTES;
+
+        JceFileDecryptor(Cipher cipher, Cipher tagCipher) {
+            mCipher = cipher;
+            mUpdater = new CipherUpdater(cipher);
+            mTagCipher = tagCipher;
+        }
+
+        @Override
+        public int update(byte[] data, int offset, int length, byte[] output)
+                throws CryptoSystemException {
+            int plainCount;
+            try {
+                plainCount = mUpdater.update(data, offset, length, output);
+            } catch (GeneralSecurityException e) {
+                throw new CryptoSystemException("Could not decrypt data.", e);
+            }
+            updateTag(output, plainCount);
+            return plainCount;
+        }
+
+        @Override
+        public byte[] doFinal(byte[] tag) throws BadFileException, CryptoSystemException {
+            byte[] plainBytes;
+            byte[] bytes;
+            try {
+                plainBytes = nonNull(mCipher.doFinal());
+                updateTag(plainBytes, plainBytes.length);
+                bytes = mTagCipher.doFinal();
+            } catch (GeneralSecurityException e) {
+                throw new CryptoSystemException("Could not finish decryption.", e);
+            }
+
+            byte[] computedTag = Arrays.copyOfRange(bytes, bytes.length - TAG_LENGTH,
+                    bytes.length);
+            if (tag == null || !MessageDigest.isEqual(computedTag, tag)) {
+                throw new BadFileException("Could not decrypt file. Tag does not match.");
+            }
+            return plainBytes;
+        }
+
+        private void updateTag(byte[] plainBytes, int length) throws CryptoSystemException {
+            // The content is passed in slices, so that the buffer stays small
+            try {
+                for (int offset = 0; offset < length; offset = offset + SLICE_SIZE) {
+                    int count = Math.min(SLICE_SIZE, length - offset);
+                    int outputSize = mTagCipher.getOutputSize(count);
+                    if (mTagCipherBuffer.length < outputSize) {
+                        mTagCipherBuffer = new byte[outputSize];
+                    }
+                    mTagCipher.update(plainBytes, offset, count, mTagCipherBuffer);
+                }
+            } catch (GeneralSecurityException e) {
+                throw new CryptoSystemException("Could not verify decryption.", e);
+            }
+        }
+
+    }
+
+    private final Provider mProvider;
+
+    JceFileCipherFactory(Provider provider) {
+        try {
+            Cipher.getInstance(GCM_TRANSFORMATION, provider);
+            Cipher.getInstance(CTR_TRANSFORMATION, provider);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException(String.format("Provider '%s' does not support " +
+                    "'%s' and '%s'.", provider.getName(), GCM_TRANSFORMATION,
+                    CTR_TRANSFORMATION), e);
+        }
+        mProvider = provider;
+    }
+
+    @Override
+    public FileEncryptor createEncryptor(PlainFileKey plainFileKey) throws CryptoException {
+        validatePlainFileKey(plainFileKey);
+        SecretKeySpec key = getKey(plainFileKey);
+        byte[] iv = getIv(plainFileKey);
+
+        try {
+            Cipher cipher = Cipher.getInstance(GCM_TRANSFORMATION, mProvider);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH * 8, iv));
+            return new JceFileEncryptor(cipher);
+        } catch (GeneralSecurityException e) {
+            throw new CryptoSystemException("Could not create encryption cipher.", e);
+        }
+    }
+
+    @Override
+    public FileDecryptor createDecryptor(PlainFileKey plainFileKey) throws CryptoException {
+        validatePlainFileKey(plainFileKey);
+        SecretKeySpec key = getKey(plainFileKey);
+        byte[] iv = getIv(plainFileKey);
+
+        // For a 96 bit IV, GCM encrypts the content with the counter blocks IV || 2, IV || 3, ...
+        // (GCM only increments the lower 32 bits of the counter, CTR increments all bits. The
+        // lower 32 bits would only overflow after 64 GiB, which is the maximum GCM content size.)
+        byte[] counter = Arrays.copyOf(iv, BLOCK_LENGTH);
+        counter[BLOCK_LENGTH - 1] = 2;
+
+        try {
+            Cipher cipher = Cipher.getInstance(CTR_TRANSFORMATION, mProvider);
+            cipher.init(Cipher.DECRYPT_MODE, key, new IvParameterSpec(counter));
+            Cipher tagCipher = Cipher.getInstance(GCM_TRANSFORMATION, mProvider);
+            tagCipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH * 8, iv));
+            return new JceFileDecryptor(cipher, tagCipher);
+        } catch (GeneralSecurityException e) {
+            throw new CryptoSystemException("Could not create decryption cipher.", e);
+        }
+    }
+
+    private static SecretKeySpec getKey(PlainFileKey plainFileKey)
+            throws InvalidFileKeyException {
+        if (plainFileKey.getKey() == null) {
+            throw new InvalidFileKeyException("Invalid file key.");
+        }
+        try {
+            return new SecretKeySpec(CryptoUtils.stringToByteArray(plainFileKey.getKey()),
+                    KEY_ALGORITHM);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidFileKeyException("Invalid file key.", e);
+        }
+    }
+
+    private static byte[] getIv(PlainFileKey plainFileKey) throws InvalidFileKeyException {
+        if (plainFileKey.getIv() == null) {
+            throw new InvalidFileKeyException("Invalid file key IV.");
+        }
+        byte[] iv;
+        try {
+            iv = CryptoUtils.stringToByteArray(plainFileKey.getIv());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidFileKeyException("Invalid file key IV.", e);
+        }
+        if (iv.length != IV_LENGTH) {
+            throw new InvalidFileKeyException("Invalid file key IV.");
+        }
+        return iv;
+    }
+
+    private static byte[] nonNull(byte[] bytes) {
+        return bytes != null ? bytes : EMPTY_BYTES;
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.dracoon.sdk.internal.crypto;
+
+import com.dracoon.sdk.crypto.BadFileException;
+import com.dracoon.sdk.crypto.Crypto;
+import com.dracoon.sdk.crypto.CryptoException;
+import com.dracoon.sdk.crypto.CryptoSystemException;
+import com.dracoon.sdk.crypto.FileDecryptionCipher;
+import com.dracoon.sdk.crypto.FileEncryptionCipher;
+import com.dracoon.sdk.crypto.model.EncryptedDataContainer;
+import com.dracoon.sdk.crypto.model.PlainDataContainer;
+import com.dracoon.sdk.crypto.model.PlainFileKey;
+
+import java.util.Arrays;
+
+// Uses the ciphers of the crypto SDK.
+class SdkFileCipherFactory extends FileCipherFactory {
+
+    private static class SdkFileEncryptor implements FileEncryptor {
+
+        private final FileEncryptionCipher mCipher;
+        private byte[] mTag;
+
+        SdkFileEncryptor(FileEncryptionCipher cipher) {
+            mCipher = cipher;
+        }
+
+        @Override
+        public int update(byte[] data, int offset, int length, byte[] output)
+                throws CryptoSystemException {
+            PlainDataContainer plainData = new PlainDataContainer(getBytes(data, offset, length));
+            return copyBytes(mCipher.processBytes(plainData).getContent(), output);
+        }
+
+        @Override
+        public byte[] doFinal() throws CryptoSystemException {
+            EncryptedDataContainer encData = mCipher.doFinal();
+            mTag = encData.getTag();
+            return encData.getContent();
+        }
+
+        @Override
+        public byte[] getTag() {
+            return mTag;
+        }
+
+    }
+
+    private static class SdkFileDecryptor implements FileDecryptor {
+
+        private final FileDecryptionCipher mCipher;
+
+        SdkFileDecryptor(FileDecryptionCipher cipher) {
+            mCipher = cipher;
+        }
+
+        @Override
+        public int update(byte[] data, int offset, int length, byte[] output)
+                throws CryptoSystemException {
+            EncryptedDataContainer encData = new EncryptedDataContainer(
+                    getBytes(data, offset, length), null);
+            return copyBytes(mCipher.processBytes(encData).getContent(), output);
+        }
+
+        @Override
+        public byte[] doFinal(byte[] tag) throws BadFileException, CryptoSystemException {
+            EncryptedDataContainer encData = new EncryptedDataContainer(null, tag);
+            return mCipher.doFinal(encData).getContent();
+        }
+
+    }
+
+    @Override
+    public FileEncryptor createEncryptor(PlainFileKey plainFileKey) throws CryptoException {
+        return new SdkFileEncryptor(Crypto.createFileEncryptionCipher(plainFileKey));
+    }
+
+    @Override
+    public FileDecryptor createDecryptor(PlainFileKey plainFileKey) throws CryptoException {
+        return new SdkFileDecryptor(Crypto.createFileDecryptionCipher(plainFileKey));
+    }
+
+    // The ciphers of the crypto SDK always process complete arrays. Therefore, the data only
+    // needs to be copied if just a part of the array is passed (i.e. usually the last chunk).
+    private static byte[] getBytes(byte[] data, int offset, int length) {
+        if (offset == 0 && length == data.length) {
+            return data;
+        }
+        return Arrays.copyOfRange(data, offset, offset + length);
+    }
+
+    // The ciphers of the crypto SDK always return new arrays. Their content is copied to the
+    // output array. (The passed data was already processed, so it can be overwritten.)
+    private static int copyBytes(byte[] bytes, byte[] output) {
+        System.arraycopy(bytes, 0, output, 0, bytes.length);
+        return bytes.length;
+    }
+
+}
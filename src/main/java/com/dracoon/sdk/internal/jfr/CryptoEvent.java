@@ -0,0 +1,22 @@
+package com.dracoon.sdk.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.dracoon.sdk.Crypto")
+@Label("DRACOON Crypto Operation")
+@Category({"DRACOON SDK"})
+@Description("File en/decryption or file key en/decryption")
+class CryptoEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Size")
+    @DataAmount
+    long size;
+
+}
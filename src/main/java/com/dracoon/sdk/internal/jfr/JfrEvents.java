@@ -0,0 +1,62 @@
+package com.dracoon.sdk.internal.jfr;
+
+public class JfrEvents {
+
+    public static final String DIRECTION_UPLOAD = "upload";
+    public static final String DIRECTION_DOWNLOAD = "download";
+
+    public static final String CRYPTO_ENCRYPT_FILE = "encryptFile";
+    public static final String CRYPTO_DECRYPT_FILE = "decryptFile";
+    public static final String CRYPTO_ENCRYPT_FILE_KEY = "encryptFileKey";
+    public static final String CRYPTO_DECRYPT_FILE_KEY = "decryptFileKey";
+
+    // JFR is not available on all Java 8 runtimes. The event classes are therefore only loaded
+    // (via JfrEventsImpl) if the JFR API is present.
+    private static final boolean IS_AVAILABLE = isJfrAvailable();
+
+    private JfrEvents() {
+
+    }
+
+    public static Object beginRequest() {
+        return IS_AVAILABLE ? JfrEventsImpl.beginRequest() : null;
+    }
+
+    public static void commitRequest(Object event, String endpoint, int statusCode,
+            int retryCount) {
+        if (event != null) {
+            JfrEventsImpl.commitRequest(event, endpoint, statusCode, retryCount);
+        }
+    }
+
+    public static Object beginTransferChunk() {
+        return IS_AVAILABLE ? JfrEventsImpl.beginTransferChunk() : null;
+    }
+
+    public static void commitTransferChunk(Object event, String transferId, String direction,
+            long offset, long size) {
+        if (event != null) {
+            JfrEventsImpl.commitTransferChunk(event, transferId, direction, offset, size);
+        }
+    }
+
+    public static Object beginCrypto() {
+        return IS_AVAILABLE ? JfrEventsImpl.beginCrypto() : null;
+    }
+
+    public static void commitCrypto(Object event, String operation, long size) {
+        if (event != null) {
+            JfrEventsImpl.commitCrypto(event, operation, size);
+        }
+    }
+
+    private static boolean isJfrAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, JfrEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.dracoon.sdk.internal.jfr;
+
+class JfrEventsImpl {
+
+    private JfrEventsImpl() {
+
+    }
+
+    static Object beginRequest() {
+        RequestEvent event = new RequestEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    static void commitRequest(Object object, String endpoint, int statusCode, int retryCount) {
+        RequestEvent event = (RequestEvent) object;
+        event.end();
+        if (event.shouldCommit()) {
+            event.endpoint = endpoint;
+            event.statusCode = statusCode;
+            event.retryCount = retryCount;
+            event.commit();
+        }
+    }
+
+    static Object beginTransferChunk() {
+        TransferChunkEvent event = new TransferChunkEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    static void commitTransferChunk(Object object, String transferId, String direction,
+            long offset, long size) {
+        TransferChunkEvent event = (TransferChunkEvent) object;
+        event.end();
+        if (event.shouldCommit()) {
+            event.transferId = transferId;
+            event.direction = direction;
+            event.offset = offset;
+            event.size = size;
+            event.commit();
+        }
+    }
+
+    static Object beginCrypto() {
+        CryptoEvent event = new CryptoEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    static void commitCrypto(Object object, String operation, long size) {
+        CryptoEvent event = (CryptoEvent) object;
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.size = size;
+            event.commit();
+        }
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.dracoon.sdk.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.dracoon.sdk.Request")
+@Label("DRACOON Request")
+@Category({"DRACOON SDK"})
+@Description("Execution of a REST or transfer request (including retries)")
+class RequestEvent extends jdk.jfr.Event {
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Status Code")
+    int statusCode;
+
+    @Label("Retry Count")
+    int retryCount;
+
+}
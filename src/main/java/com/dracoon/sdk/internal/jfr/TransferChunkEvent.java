@@ -0,0 +1,29 @@
+package com.dracoon.sdk.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.dracoon.sdk.TransferChunk")
+@Label("DRACOON Transfer Chunk")
+@Category({"DRACOON SDK"})
+@Description("Upload or download of a file chunk")
+class TransferChunkEvent extends jdk.jfr.Event {
+
+    @Label("Transfer ID")
+    String transferId;
+
+    @Label("Direction")
+    String direction;
+
+    @Label("Offset")
+    @DataAmount
+    long offset;
+
+    @Label("Size")
+    @DataAmount
+    long size;
+
+}
@@ -0,0 +1,117 @@
+package com.dracoon.sdk.internal.mapper;
+
+import com.dracoon.sdk.internal.model.ApiNode;
+import com.dracoon.sdk.internal.util.DateUtils;
+import com.dracoon.sdk.model.Node;
+import com.dracoon.sdk.model.NodePermissions;
+import com.dracoon.sdk.model.UserInfo;
+
+import java.util.Date;
+
+class LazyNode extends Node {
+
+    private final ApiNode mApiNode;
+
+    private volatile boolean mIsExpireAtMapped;
+    private volatile boolean mIsCreatedAtMapped;
+    private volatile boolean mIsCreatedByMapped;
+    private volatile boolean mIsUpdatedAtMapped;
+    private volatile boolean mIsUpdatedByMapped;
+    private volatile boolean mIsPermissionsMapped;
+
+    LazyNode(ApiNode apiNode) {
+        mApiNode = apiNode;
+    }
+
+    @Override
+    public Date getExpireAt() {
+        if (!mIsExpireAtMapped) {
+            super.setExpireAt(DateUtils.parseDate(mApiNode.expireAt));
+            mIsExpireAtMapped = true;
+        }
+        return super.getExpireAt();
+    }
+
+    @Override
+    public void setExpireAt(Date expireAt) {
+        super.setExpireAt(expireAt);
+        mIsExpireAtMapped = true;
+    }
+
+    @Override
+    public Date getCreatedAt() {
+        if (!mIsCreatedAtMapped) {
+            super.setCreatedAt(DateUtils.parseDate(mApiNode.createdAt));
+            mIsCreatedAtMapped = true;
+        }
+        return super.getCreatedAt();
+    }
+
+    @Override
+    public void setCreatedAt(Date createdAt) {
+        super.setCreatedAt(createdAt);
+        mIsCreatedAtMapped = true;
+    }
+
+    @Override
+    public UserInfo getCreatedBy() {
+        if (!mIsCreatedByMapped) {
+            super.setCreatedBy(UserMapper.fromApiUserInfo(mApiNode.createdBy));
+            mIsCreatedByMapped = true;
+        }
+        return super.getCreatedBy();
+    }
+
+    @Override
+    public void setCreatedBy(UserInfo createdBy) {
+        super.setCreatedBy(createdBy);
+        mIsCreatedByMapped = true;
+    }
+
+    @Override
+    public Date getUpdatedAt() {
+        if (!mIsUpdatedAtMapped) {
+            super.setUpdatedAt(DateUtils.parseDate(mApiNode.updatedAt));
+            mIsUpdatedAtMapped = true;
+        }
+        return super.getUpdatedAt();
+    }
+
+    @Override
+    public void setUpdatedAt(Date updatedAt) {
+        super.setUpdatedAt(updatedAt);
+        mIsUpdatedAtMapped = true;
+    }
+
+    @Override
+    public UserInfo getUpdatedBy() {
+        if (!mIsUpdatedByMapped) {
+            super.setUpdatedBy(UserMapper.fromApiUserInfo(mApiNode.updatedBy));
+            mIsUpdatedByMapped = true;
+        }
+        return super.getUpdatedBy();
+    }
+
+    @Override
+    public void setUpdatedBy(UserInfo updatedBy) {
+        super.setUpdatedBy(updatedBy);
+        mIsUpdatedByMapped = true;
+    }
+
+    @Override
+    public NodePermissions getPermissions() {
+        if (!mIsPermissionsMapped) {
+            super.setPermissions(NodePermissionsMapper.fromApiNodePermissions(
+                    mApiNode.permissions));
+            mIsPermissionsMapped = true;
+        }
+        return super.getPermissions();
+    }
+
+    @Override
+    public void setPermissions(NodePermissions permissions) {
+        super.setPermissions(permissions);
+        mIsPermissionsMapped = true;
+    }
+
+}
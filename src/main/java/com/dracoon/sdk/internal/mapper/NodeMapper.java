@@ -5,7 +5,6 @@ import com.dracoon.sdk.internal.model.ApiDeleteNodesRequest;
 import com.dracoon.sdk.internal.model.ApiMoveNodesRequest;
 import com.dracoon.sdk.internal.model.ApiNode;
 import com.dracoon.sdk.internal.model.ApiNodeList;
-import com.dracoon.sdk.internal.util.DateUtils;
 import com.dracoon.sdk.model.Classification;
 import com.dracoon.sdk.model.CopyNodesRequest;
 import com.dracoon.sdk.model.DeleteNodesRequest;
@@ -27,7 +26,7 @@ public class NodeMapper {
         nodeList.setOffset(apiNodeList.range.offset);
         nodeList.setLimit(apiNodeList.range.limit);
         nodeList.setTotal(apiNodeList.range.total);
-        ArrayList<Node> items = new ArrayList<>();
+        ArrayList<Node> items = new ArrayList<>(apiNodeList.items.length);
         for (ApiNode apiNode : apiNodeList.items) {
             items.add(NodeMapper.fromApiNode(apiNode));
         }
@@ -40,7 +39,7 @@ public class NodeMapper {
             return null;
         }
 
-        Node node = new Node();
+        Node node = new LazyNode(apiNode);
 
         node.setId(apiNode.id);
         if (apiNode.type != null) {
@@ -59,15 +58,10 @@ public class NodeMapper {
         }
         node.setNotes(apiNode.notes);
         node.setHash(apiNode.hash);
-        node.setExpireAt(DateUtils.parseDate(apiNode.expireAt));
 
-        node.setCreatedAt(DateUtils.parseDate(apiNode.createdAt));
-        node.setCreatedBy(UserMapper.fromApiUserInfo(apiNode.createdBy));
-        node.setUpdatedAt(DateUtils.parseDate(apiNode.updatedAt));
-        node.setUpdatedBy(UserMapper.fromApiUserInfo(apiNode.updatedBy));
+        // Expire date, creation/update dates and users and permissions are mapped on first access
 
         node.setHasInheritPermissions(apiNode.inheritPermissions);
-        node.setPermissions(NodePermissionsMapper.fromApiNodePermissions(apiNode.permissions));
 
         node.setIsFavorite(apiNode.isFavorite);
         node.setIsEncrypted(apiNode.isEncrypted);
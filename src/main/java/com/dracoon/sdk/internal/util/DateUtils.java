@@ -1,19 +1,20 @@
 package com.dracoon.sdk.internal.util;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
 import java.util.Date;
-import java.util.Locale;
-import java.util.TimeZone;
 
 public class DateUtils {
 
-    private static SimpleDateFormat sDateFormat;
-
-    static {
-        sDateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.getDefault());
-        sDateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
-    }
+    private static final DateTimeFormatter PARSE_FORMATTER = DateTimeFormatter.ISO_DATE_TIME;
+    private static final DateTimeFormatter FORMAT_FORMATTER = DateTimeFormatter
+            .ofPattern("yyyy-MM-dd'T'HH:mm:ss")
+            .withZone(ZoneOffset.UTC);
 
     private DateUtils() {
 
@@ -25,9 +26,16 @@ public class DateUtils {
         }
 
         try {
-            return sDateFormat.parse(value);
-        } catch (ParseException e) {
-            e.printStackTrace();
+            TemporalAccessor temporal = PARSE_FORMATTER.parseBest(value, OffsetDateTime::from,
+                    LocalDateTime::from);
+            Instant instant;
+            if (temporal instanceof OffsetDateTime) {
+                instant = ((OffsetDateTime) temporal).toInstant();
+            } else {
+                instant = ((LocalDateTime) temporal).toInstant(ZoneOffset.UTC);
+            }
+            return Date.from(instant);
+        } catch (DateTimeParseException e) {
             return null;
         }
     }
@@ -37,7 +45,7 @@ public class DateUtils {
             return null;
         }
 
-        return sDateFormat.format(value);
+        return FORMAT_FORMATTER.format(value.toInstant());
     }
 
 }
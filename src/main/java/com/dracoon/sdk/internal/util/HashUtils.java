@@ -0,0 +1,51 @@
+package com.dracoon.sdk.internal.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public class HashUtils {
+
+    public static final String ALGORITHM_MD5 = "MD5";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+
+    private HashUtils() {
+
+    }
+
+    public static MessageDigest createDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Hash algorithm '" + algorithm + "' is not " +
+                    "available.", e);
+        }
+    }
+
+    public static String computeHash(String algorithm, File file) throws IOException {
+        MessageDigest digest = createDigest(algorithm);
+        try (InputStream is = new FileInputStream(file)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int count;
+            while ((count = is.read(buffer)) != -1) {
+                digest.update(buffer, 0, count);
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    public static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX_CHARS[(bytes[i] >> 4) & 0x0F];
+            chars[i * 2 + 1] = HEX_CHARS[bytes[i] & 0x0F];
+        }
+        return new String(chars);
+    }
+
+}
@@ -1,18 +1,100 @@
 package com.dracoon.sdk.internal.validator;
 
 import com.dracoon.sdk.model.FileUploadRequest;
+import com.dracoon.sdk.model.Node;
+import com.dracoon.sdk.model.NodeType;
+import com.dracoon.sdk.model.ResolutionStrategy;
 import com.dracoon.sdk.model.UpdateFileRequest;
 
 import java.io.File;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
 
 public class FileValidator extends BaseValidator {
 
     public static void validateUploadRequest(String id, FileUploadRequest request, File file) {
+        validateUploadRequest(id, request);
+        ValidatorUtils.validateNotNull("Upload file", file);
+    }
+
+    public static void validateUploadRequest(String id, FileUploadRequest request,
+            InputStream is, long length) {
+        validateUploadRequest(id, request);
+        ValidatorUtils.validateNotNull("Upload stream", is);
+        if (length < -1L) {
+            throw new IllegalArgumentException("Upload length cannot be negative.");
+        }
+    }
+
+    public static void validateUploadRequest(String id, FileUploadRequest request, byte[] data) {
+        validateUploadRequest(id, request);
+        ValidatorUtils.validateNotNull("Upload data", data);
+    }
+
+    public static void validateUploadRequest(String id, FileUploadRequest request,
+            ByteBuffer buffer) {
+        validateUploadRequest(id, request);
+        ValidatorUtils.validateNotNull("Upload buffer", buffer);
+    }
+
+    private static void validateUploadRequest(String id, FileUploadRequest request) {
         ValidatorUtils.validateString("Upload ID", id, false);
         ValidatorUtils.validateNotNull("Upload request", request);
         validateParentNodeId(request.getParentId());
         validateName(request.getName());
-        ValidatorUtils.validateNotNull("Upload file", file);
+    }
+
+    public static void validateBatchUploadRequest(String id,
+            Map<File, FileUploadRequest> files) {
+        ValidatorUtils.validateString("Upload ID", id, false);
+        ValidatorUtils.validateNotNull("Upload files", files);
+        for (Map.Entry<File, FileUploadRequest> entry : files.entrySet()) {
+            ValidatorUtils.validateNotNull("Upload file", entry.getKey());
+            ValidatorUtils.validateNotNull("Upload request", entry.getValue());
+            validateParentNodeId(entry.getValue().getParentId());
+            validateName(entry.getValue().getName());
+        }
+    }
+
+    public static void validateDirectoryUploadRequest(String id, long parentId, File directory,
+            ResolutionStrategy resolutionStrategy) {
+        ValidatorUtils.validateString("Upload ID", id, false);
+        validateParentNodeId(parentId);
+        ValidatorUtils.validateNotNull("Directory", directory);
+        if (!directory.isDirectory()) {
+            throw new IllegalArgumentException("Directory must be an existing directory.");
+        }
+        ValidatorUtils.validateNotNull("Resolution strategy", resolutionStrategy);
+    }
+
+    public static void validateDownloadRequest(String id, Node node, File file) {
+        ValidatorUtils.validateString("Download ID", id, false);
+        ValidatorUtils.validateNotNull("Node", node);
+        validateNodeId(node.getId());
+        if (node.getType() != null && node.getType() != NodeType.FILE) {
+            throw new IllegalArgumentException("Node must be a file.");
+        }
+        ValidatorUtils.validateNotNull("Download file", file);
+    }
+
+    public static void validateDirectoryDownloadRequest(String id, long nodeId, File directory) {
+        ValidatorUtils.validateString("Download ID", id, false);
+        validateNodeId(nodeId);
+        ValidatorUtils.validateNotNull("Directory", directory);
+        if (directory.exists() && !directory.isDirectory()) {
+            throw new IllegalArgumentException("Directory must be a directory.");
+        }
+    }
+
+    public static void validateByteChannelRequest(int blockSize, int cacheSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive.");
+        }
+        if (cacheSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive.");
+        }
     }
 
     public static void validateUpdateRequest(UpdateFileRequest request) {
@@ -23,4 +105,9 @@ public class FileValidator extends BaseValidator {
         }
     }
 
+    public static void validateUpdateRequests(List<UpdateFileRequest> requests) {
+        ValidatorUtils.validateNotNull("File update requests", requests);
+        requests.forEach(FileValidator::validateUpdateRequest);
+    }
+
 }
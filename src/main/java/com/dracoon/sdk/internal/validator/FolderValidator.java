@@ -3,6 +3,8 @@ package com.dracoon.sdk.internal.validator;
 import com.dracoon.sdk.model.CreateFolderRequest;
 import com.dracoon.sdk.model.UpdateFolderRequest;
 
+import java.util.List;
+
 public class FolderValidator extends BaseValidator {
 
     public static void validateCreateRequest(CreateFolderRequest request) {
@@ -11,6 +13,24 @@ public class FolderValidator extends BaseValidator {
         validateName(request.getName());
     }
 
+    public static void validateCreateFoldersRequest(long parentId, List<String> paths) {
+        validateParentNodeId(parentId);
+        ValidatorUtils.validateNotNull("Folder paths", paths);
+        for (String path : paths) {
+            ValidatorUtils.validateString("Folder path", path, false);
+            boolean hasName = false;
+            for (String name : path.split("/")) {
+                if (!name.isEmpty()) {
+                    validateName(name);
+                    hasName = true;
+                }
+            }
+            if (!hasName) {
+                throw new IllegalArgumentException("Folder path cannot be empty.");
+            }
+        }
+    }
+
     public static void validateUpdateRequest(UpdateFolderRequest request) {
         ValidatorUtils.validateNotNull("Folder update request", request);
         validateFolderId(request.getId());
@@ -19,4 +39,9 @@ public class FolderValidator extends BaseValidator {
         }
     }
 
+    public static void validateUpdateRequests(List<UpdateFolderRequest> requests) {
+        ValidatorUtils.validateNotNull("Folder update requests", requests);
+        requests.forEach(FolderValidator::validateUpdateRequest);
+    }
+
 }
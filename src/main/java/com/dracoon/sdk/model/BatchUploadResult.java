@@ -0,0 +1,65 @@
+package com.dracoon.sdk.model;
+
+import com.dracoon.sdk.error.DracoonException;
+
+import java.io.File;
+import java.util.Map;
+
+/**
+ * Batch upload result model.<br>
+ * <br>
+ * This model stores the result of a batch upload. Files are identified by the local file which
+ * was passed to the upload.
+ */
+@SuppressWarnings("unused")
+public class BatchUploadResult {
+
+    private Map<File, Node> mUploadedFiles;
+    private Map<File, DracoonException> mFailedFiles;
+
+    /**
+     * Returns the files which were uploaded and the new nodes.
+     *
+     * @return map of local files and nodes
+     */
+    public Map<File, Node> getUploadedFiles() {
+        return mUploadedFiles;
+    }
+
+    /**
+     * Sets the files which were uploaded.
+     *
+     * @param uploadedFiles Map of local files and nodes.
+     */
+    public void setUploadedFiles(Map<File, Node> uploadedFiles) {
+        mUploadedFiles = uploadedFiles;
+    }
+
+    /**
+     * Returns the files which could not be uploaded and the causes of the errors.
+     *
+     * @return map of local files and errors
+     */
+    public Map<File, DracoonException> getFailedFiles() {
+        return mFailedFiles;
+    }
+
+    /**
+     * Sets the files which could not be uploaded.
+     *
+     * @param failedFiles Map of local files and errors.
+     */
+    public void setFailedFiles(Map<File, DracoonException> failedFiles) {
+        mFailedFiles = failedFiles;
+    }
+
+    /**
+     * Returns <code>true</code> if all files were uploaded.
+     *
+     * @return <code>true</code> if no file failed; <code>false</code> otherwise
+     */
+    public boolean isSuccessful() {
+        return mFailedFiles.isEmpty();
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.dracoon.sdk.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk operation result model.<br>
+ * <br>
+ * This model stores the results of a bulk operation. It contains one result per requested node
+ * in the order of the request.
+ *
+ * @see com.dracoon.sdk.model.NodeOperationResult
+ */
+@SuppressWarnings("unused")
+public class BulkOperationResult {
+
+    private List<NodeOperationResult> mResults;
+
+    /**
+     * Returns the results of all nodes.
+     *
+     * @return list of results
+     */
+    public List<NodeOperationResult> getResults() {
+        return mResults;
+    }
+
+    /**
+     * Sets the results of all nodes.
+     *
+     * @param results List of results.
+     */
+    public void setResults(List<NodeOperationResult> results) {
+        mResults = results;
+    }
+
+    /**
+     * Returns <code>true</code> if the operation succeeded for all nodes.
+     *
+     * @return <code>true</code> if the operation succeeded for all nodes; <code>false</code>
+     *         otherwise
+     */
+    public boolean isSuccessful() {
+        for (NodeOperationResult result : mResults) {
+            if (result.getStatus() != NodeOperationResult.Status.SUCCEEDED) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the results with a specific status.
+     *
+     * @param status The status.
+     *
+     * @return list of results
+     */
+    public List<NodeOperationResult> getResults(NodeOperationResult.Status status) {
+        List<NodeOperationResult> results = new ArrayList<>();
+        for (NodeOperationResult result : mResults) {
+            if (result.getStatus() == status) {
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+}
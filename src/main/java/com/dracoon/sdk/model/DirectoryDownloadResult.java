@@ -0,0 +1,84 @@
+package com.dracoon.sdk.model;
+
+import com.dracoon.sdk.error.DracoonException;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Directory download result model.<br>
+ * <br>
+ * This model stores the result of a directory download. Files are identified by their path
+ * relative to the downloaded folder. (Separator is "/".)
+ */
+@SuppressWarnings("unused")
+public class DirectoryDownloadResult {
+
+    private List<String> mDownloadedFiles;
+    private List<String> mSkippedFiles;
+    private Map<String, DracoonException> mFailedFiles;
+
+    /**
+     * Returns the files which were downloaded because they were missing or changed.
+     *
+     * @return list of relative file paths
+     */
+    public List<String> getDownloadedFiles() {
+        return mDownloadedFiles;
+    }
+
+    /**
+     * Sets the files which were downloaded.
+     *
+     * @param downloadedFiles List of relative file paths.
+     */
+    public void setDownloadedFiles(List<String> downloadedFiles) {
+        mDownloadedFiles = downloadedFiles;
+    }
+
+    /**
+     * Returns the files which were skipped because they were unchanged.
+     *
+     * @return list of relative file paths
+     */
+    public List<String> getSkippedFiles() {
+        return mSkippedFiles;
+    }
+
+    /**
+     * Sets the files which were skipped.
+     *
+     * @param skippedFiles List of relative file paths.
+     */
+    public void setSkippedFiles(List<String> skippedFiles) {
+        mSkippedFiles = skippedFiles;
+    }
+
+    /**
+     * Returns the files which could not be downloaded and the causes of the errors.
+     *
+     * @return map of relative file paths and errors
+     */
+    public Map<String, DracoonException> getFailedFiles() {
+        return mFailedFiles;
+    }
+
+    /**
+     * Sets the files which could not be downloaded.
+     *
+     * @param failedFiles Map of relative file paths and errors.
+     */
+    public void setFailedFiles(Map<String, DracoonException> failedFiles) {
+        mFailedFiles = failedFiles;
+    }
+
+    /**
+     * Returns <code>true</code> if all files were downloaded or skipped.
+     *
+     * @return <code>true</code> if no file failed; <code>false</code> otherwise
+     */
+    public boolean isSuccessful() {
+        return mFailedFiles.isEmpty();
+    }
+
+}
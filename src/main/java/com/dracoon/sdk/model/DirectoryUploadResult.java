@@ -0,0 +1,84 @@
+package com.dracoon.sdk.model;
+
+import com.dracoon.sdk.error.DracoonException;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Directory upload result model.<br>
+ * <br>
+ * This model stores the result of a directory upload. Files are identified by their path
+ * relative to the uploaded directory. (Separator is "/".)
+ */
+@SuppressWarnings("unused")
+public class DirectoryUploadResult {
+
+    private List<String> mUploadedFiles;
+    private List<String> mSkippedFiles;
+    private Map<String, DracoonException> mFailedFiles;
+
+    /**
+     * Returns the files which were uploaded because they were new or changed.
+     *
+     * @return list of relative file paths
+     */
+    public List<String> getUploadedFiles() {
+        return mUploadedFiles;
+    }
+
+    /**
+     * Sets the files which were uploaded.
+     *
+     * @param uploadedFiles List of relative file paths.
+     */
+    public void setUploadedFiles(List<String> uploadedFiles) {
+        mUploadedFiles = uploadedFiles;
+    }
+
+    /**
+     * Returns the files which were skipped because they were unchanged.
+     *
+     * @return list of relative file paths
+     */
+    public List<String> getSkippedFiles() {
+        return mSkippedFiles;
+    }
+
+    /**
+     * Sets the files which were skipped.
+     *
+     * @param skippedFiles List of relative file paths.
+     */
+    public void setSkippedFiles(List<String> skippedFiles) {
+        mSkippedFiles = skippedFiles;
+    }
+
+    /**
+     * Returns the files which could not be uploaded and the causes of the errors.
+     *
+     * @return map of relative file paths and errors
+     */
+    public Map<String, DracoonException> getFailedFiles() {
+        return mFailedFiles;
+    }
+
+    /**
+     * Sets the files which could not be uploaded.
+     *
+     * @param failedFiles Map of relative file paths and errors.
+     */
+    public void setFailedFiles(Map<String, DracoonException> failedFiles) {
+        mFailedFiles = failedFiles;
+    }
+
+    /**
+     * Returns <code>true</code> if all files were uploaded or skipped.
+     *
+     * @return <code>true</code> if no file failed; <code>false</code> otherwise
+     */
+    public boolean isSuccessful() {
+        return mFailedFiles.isEmpty();
+    }
+
+}
@@ -3,7 +3,11 @@ package com.dracoon.sdk.model;
 import com.dracoon.sdk.error.DracoonException;
 
 /**
- * A listener for receiving file upload progress events.
+ * A listener for receiving file upload progress events.<br>
+ * <br>
+ * The methods are called by the callback executor of the client (see
+ * {@link com.dracoon.sdk.DracoonClient.Builder#callbackExecutor(java.util.concurrent.Executor)
+ * DracoonClient.Builder.callbackExecutor}) and not by the transfer thread.
  */
 public interface FileUploadCallback {
 
@@ -15,11 +19,12 @@ public interface FileUploadCallback {
     void onStarted(String id);
 
     /**
-     * This method gets called at every progress update (every 100ms).
+     * This method gets called at every progress update (at most every 100ms). If a progress
+     * update could not be delivered before the next one, only the newer one is delivered.
      *
      * @param id         The ID of the upload.
      * @param bytesSend  The number of bytes which have been send.
-     * @param bytesTotal The total number of bytes.
+     * @param bytesTotal The total number of bytes. (-1, if unknown.)
      */
     void onRunning(String id, long bytesSend, long bytesTotal);
 
@@ -8,7 +8,8 @@ import java.util.Date;
  * Node is generic term for all file system objects in Dracoon. Rooms, folders and files are
  * nodes.<br>
  * <br>
- * This model stores information about a node.
+ * This model stores information about a node. Nodes returned by the SDK decode dates, user
+ * information and permissions on first access.
  */
 @SuppressWarnings("unused")
 public class Node {
@@ -0,0 +1,163 @@
+package com.dracoon.sdk.model;
+
+import com.dracoon.sdk.error.DracoonException;
+
+/**
+ * Node operation result model.<br>
+ * <br>
+ * This model stores the result of a bulk operation for a single node.
+ *
+ * @see com.dracoon.sdk.model.BulkOperationResult
+ */
+@SuppressWarnings("unused")
+public class NodeOperationResult {
+
+    /**
+     * Enumeration of node operation states.
+     */
+    public enum Status {
+        /** Operation succeeded. */
+        SUCCEEDED,
+        /** Operation was rejected because of a name conflict at the target. */
+        CONFLICT,
+        /** Operation failed. */
+        FAILED
+    }
+
+    private Long mNodeId;
+    private Status mStatus;
+    private Node mNode;
+    private String mConflictName;
+    private Integer mConflictErrorCode;
+    private String mConflictErrorMessage;
+    private DracoonException mException;
+
+    /**
+     * Returns the ID of the node.
+     *
+     * @return the ID
+     */
+    public Long getNodeId() {
+        return mNodeId;
+    }
+
+    /**
+     * Sets the ID of the node.
+     *
+     * @param nodeId The ID.
+     */
+    public void setNodeId(Long nodeId) {
+        mNodeId = nodeId;
+    }
+
+    /**
+     * Returns the status of the operation.
+     *
+     * @return the status
+     */
+    public Status getStatus() {
+        return mStatus;
+    }
+
+    /**
+     * Sets the status of the operation.
+     *
+     * @param status The status.
+     */
+    public void setStatus(Status status) {
+        mStatus = status;
+    }
+
+    /**
+     * Returns the updated node, if operation was a succeeded update.
+     *
+     * @return the updated node, or <code>null</code>
+     */
+    public Node getNode() {
+        return mNode;
+    }
+
+    /**
+     * Sets the updated node.
+     *
+     * @param node The updated node.
+     */
+    public void setNode(Node node) {
+        mNode = node;
+    }
+
+    /**
+     * Returns the name of the conflicting node, if operation was rejected because of a conflict.
+     *
+     * @return the name, or <code>null</code>
+     */
+    public String getConflictName() {
+        return mConflictName;
+    }
+
+    /**
+     * Sets the name of the conflicting node.
+     *
+     * @param conflictName The name.
+     */
+    public void setConflictName(String conflictName) {
+        mConflictName = conflictName;
+    }
+
+    /**
+     * Returns the error code which the server reported for the conflict, if operation was
+     * rejected because of a conflict.
+     *
+     * @return the error code, or <code>null</code>
+     */
+    public Integer getConflictErrorCode() {
+        return mConflictErrorCode;
+    }
+
+    /**
+     * Sets the error code which the server reported for the conflict.
+     *
+     * @param conflictErrorCode The error code.
+     */
+    public void setConflictErrorCode(Integer conflictErrorCode) {
+        mConflictErrorCode = conflictErrorCode;
+    }
+
+    /**
+     * Returns the error message which the server reported for the conflict, if operation was
+     * rejected because of a conflict.
+     *
+     * @return the error message, or <code>null</code>
+     */
+    public String getConflictErrorMessage() {
+        return mConflictErrorMessage;
+    }
+
+    /**
+     * Sets the error message which the server reported for the conflict.
+     *
+     * @param conflictErrorMessage The error message.
+     */
+    public void setConflictErrorMessage(String conflictErrorMessage) {
+        mConflictErrorMessage = conflictErrorMessage;
+    }
+
+    /**
+     * Returns the exception which caused the failure, if operation failed.
+     *
+     * @return the exception, or <code>null</code>
+     */
+    public DracoonException getException() {
+        return mException;
+    }
+
+    /**
+     * Sets the exception which caused the failure.
+     *
+     * @param exception The exception.
+     */
+    public void setException(DracoonException exception) {
+        mException = exception;
+    }
+
+}
@@ -0,0 +1,305 @@
+package com.dracoon.sdk.model;
+
+/**
+ * Request timings model.<br>
+ * <br>
+ * This model stores the network timing breakdown of a HTTP request. Durations of phases which did
+ * not take place (e.g. DNS lookup and connect if a pooled connection was reused) are
+ * <code>0</code>.
+ */
+@SuppressWarnings("unused")
+public class RequestTimings {
+
+    private String mMethod;
+    private String mPath;
+    private String mTransferId;
+    private Long mNodeId;
+    private String mUploadId;
+    private Long mChunkOffset;
+    private long mDnsDuration;
+    private long mConnectDuration;
+    private long mTlsDuration;
+    private long mRequestDuration;
+    private long mServerDuration;
+    private long mResponseDuration;
+    private long mTotalDuration;
+    private boolean mIsConnectionReused;
+    private boolean mIsFailed;
+
+    /**
+     * Returns the HTTP method of the request.
+     *
+     * @return the HTTP method
+     */
+    public String getMethod() {
+        return mMethod;
+    }
+
+    /**
+     * Sets the HTTP method of the request.
+     *
+     * @param method The HTTP method.
+     */
+    public void setMethod(String method) {
+        mMethod = method;
+    }
+
+    /**
+     * Returns the path of the request (e.g. <code>/api/v4/nodes</code>), if request is not part
+     * of a transfer. (Transfer URLs can contain tokens and are therefore not provided. Transfer
+     * requests can be identified via the transfer ID.)
+     *
+     * @return the path, or <code>null</code>
+     */
+    public String getPath() {
+        return mPath;
+    }
+
+    /**
+     * Sets the path of the request.
+     *
+     * @param path The path.
+     */
+    public void setPath(String path) {
+        mPath = path;
+    }
+
+    /**
+     * Returns the ID of the upload or download, if request belongs to a
+     * transfer.
+     *
+     * @return the ID, or <code>null</code>
+     */
+    public String getTransferId() {
+        return mTransferId;
+    }
+
+    /**
+     * Sets the ID of the upload or download.
+     *
+     * @param transferId The ID.
+     */
+    public void setTransferId(String transferId) {
+        mTransferId = transferId;
+    }
+
+    /**
+     * Returns the ID of the node, if request belongs to a download.
+     *
+     * @return the ID, or <code>null</code>
+     */
+    public Long getNodeId() {
+        return mNodeId;
+    }
+
+    /**
+     * Sets the ID of the node.
+     *
+     * @param nodeId The ID.
+     */
+    public void setNodeId(Long nodeId) {
+        mNodeId = nodeId;
+    }
+
+    /**
+     * Returns the server-side ID of the upload, if request belongs to an upload.
+     *
+     * @return the ID, or <code>null</code>
+     */
+    public String getUploadId() {
+        return mUploadId;
+    }
+
+    /**
+     * Sets the server-side ID of the upload.
+     *
+     * @param uploadId The ID.
+     */
+    public void setUploadId(String uploadId) {
+        mUploadId = uploadId;
+    }
+
+    /**
+     * Returns the offset of the transferred chunk, if request belongs to a
+     * transfer.
+     *
+     * @return the offset in bytes, or <code>null</code>
+     */
+    public Long getChunkOffset() {
+        return mChunkOffset;
+    }
+
+    /**
+     * Sets the offset of the transferred chunk.
+     *
+     * @param chunkOffset The offset in bytes.
+     */
+    public void setChunkOffset(Long chunkOffset) {
+        mChunkOffset = chunkOffset;
+    }
+
+    /**
+     * Returns the duration of the DNS lookup.
+     *
+     * @return the duration in nanoseconds
+     */
+    public long getDnsDuration() {
+        return mDnsDuration;
+    }
+
+    /**
+     * Sets the duration of the DNS lookup.
+     *
+     * @param dnsDuration The duration in nanoseconds.
+     */
+    public void setDnsDuration(long dnsDuration) {
+        mDnsDuration = dnsDuration;
+    }
+
+    /**
+     * Returns the duration of the connect (including the TLS handshake).
+     *
+     * @return the duration in nanoseconds
+     */
+    public long getConnectDuration() {
+        return mConnectDuration;
+    }
+
+    /**
+     * Sets the duration of the connect.
+     *
+     * @param connectDuration The duration in nanoseconds.
+     */
+    public void setConnectDuration(long connectDuration) {
+        mConnectDuration = connectDuration;
+    }
+
+    /**
+     * Returns the duration of the TLS handshake.
+     *
+     * @return the duration in nanoseconds
+     */
+    public long getTlsDuration() {
+        return mTlsDuration;
+    }
+
+    /**
+     * Sets the duration of the TLS handshake.
+     *
+     * @param tlsDuration The duration in nanoseconds.
+     */
+    public void setTlsDuration(long tlsDuration) {
+        mTlsDuration = tlsDuration;
+    }
+
+    /**
+     * Returns the duration of writing the request headers and body.
+     *
+     * @return the duration in nanoseconds
+     */
+    public long getRequestDuration() {
+        return mRequestDuration;
+    }
+
+    /**
+     * Sets the duration of writing the request.
+     *
+     * @param requestDuration The duration in nanoseconds.
+     */
+    public void setRequestDuration(long requestDuration) {
+        mRequestDuration = requestDuration;
+    }
+
+    /**
+     * Returns the time between the end of the request and the start of the response
+     * (time to first byte).
+     *
+     * @return the duration in nanoseconds
+     */
+    public long getServerDuration() {
+        return mServerDuration;
+    }
+
+    /**
+     * Sets the time to first byte.
+     *
+     * @param serverDuration The duration in nanoseconds.
+     */
+    public void setServerDuration(long serverDuration) {
+        mServerDuration = serverDuration;
+    }
+
+    /**
+     * Returns the duration of reading the response headers and body.
+     *
+     * @return the duration in nanoseconds
+     */
+    public long getResponseDuration() {
+        return mResponseDuration;
+    }
+
+    /**
+     * Sets the duration of reading the response.
+     *
+     * @param responseDuration The duration in nanoseconds.
+     */
+    public void setResponseDuration(long responseDuration) {
+        mResponseDuration = responseDuration;
+    }
+
+    /**
+     * Returns the total duration of the request.
+     *
+     * @return the duration in nanoseconds
+     */
+    public long getTotalDuration() {
+        return mTotalDuration;
+    }
+
+    /**
+     * Sets the total duration of the request.
+     *
+     * @param totalDuration The duration in nanoseconds.
+     */
+    public void setTotalDuration(long totalDuration) {
+        mTotalDuration = totalDuration;
+    }
+
+    /**
+     * Returns <code>true</code> if a pooled connection was reused.
+     *
+     * @return <code>true</code> if a pooled connection was reused; <code>false</code> otherwise
+     */
+    public boolean isConnectionReused() {
+        return mIsConnectionReused;
+    }
+
+    /**
+     * Sets if a pooled connection was reused.
+     *
+     * @param isConnectionReused <code>true</code> if a pooled connection was reused;
+     *                           <code>false</code> otherwise.
+     */
+    public void setIsConnectionReused(boolean isConnectionReused) {
+        mIsConnectionReused = isConnectionReused;
+    }
+
+    /**
+     * Returns <code>true</code> if the request failed.
+     *
+     * @return <code>true</code> if the request failed; <code>false</code> otherwise
+     */
+    public boolean isFailed() {
+        return mIsFailed;
+    }
+
+    /**
+     * Sets if the request failed.
+     *
+     * @param isFailed <code>true</code> if the request failed; <code>false</code> otherwise.
+     */
+    public void setIsFailed(boolean isFailed) {
+        mIsFailed = isFailed;
+    }
+
+}
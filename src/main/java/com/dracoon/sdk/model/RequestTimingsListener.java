@@ -0,0 +1,18 @@
+package com.dracoon.sdk.model;
+
+/**
+ * A listener for receiving network timings of HTTP requests.
+ */
+public interface RequestTimingsListener {
+
+    /**
+     * This method gets called when a request was finished or failed.<br>
+     * <br>
+     * The method is called on the thread which executed the request. Implementations should
+     * therefore return quickly.
+     *
+     * @param timings The timings of the request.
+     */
+    void onRequestFinished(RequestTimings timings);
+
+}
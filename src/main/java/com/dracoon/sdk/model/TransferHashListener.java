@@ -0,0 +1,22 @@
+package com.dracoon.sdk.model;
+
+/**
+ * A listener for receiving the content hashes of uploads and downloads.
+ */
+public interface TransferHashListener {
+
+    /**
+     * This method gets called when the content of an upload or download was transferred
+     * completely.<br>
+     * <br>
+     * The hash is computed over the plain content. (For encrypted files, the content before
+     * encryption or after decryption.) The method is called on the thread which executed the
+     * transfer. Implementations should therefore return quickly.
+     *
+     * @param id        The ID of the upload or download.
+     * @param algorithm The hash algorithm.
+     * @param hash      The hash as lowercase hex string.
+     */
+    void onHashComputed(String id, HashAlgorithm algorithm, String hash);
+
+}